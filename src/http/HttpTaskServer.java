@@ -2,40 +2,71 @@ package http;
 
 import com.sun.net.httpserver.HttpServer;
 import http.handler.*;
+import http.log.AsyncAppender;
+import http.log.LogLevel;
+import http.log.RequestLogger;
+import http.utils.JsonCache;
+import http.utils.VersionWatcher;
 import manager.Manager;
 import manager.TaskManager;
 
+import java.io.File;
 import java.io.IOException;
 import java.net.InetSocketAddress;
+import java.util.Arrays;
 
 public class HttpTaskServer {
 
     private static final int PORT = 8080;
+    private static final long JSON_CACHE_MAX_BYTES = 16 * 1024 * 1024;
+    private static final String ACCESS_LOG_FILE = "access.log";
+    private static final String CONSOLE_LOG_OPTION = "--console-log";
     private final HttpServer httpServer;
+    private final RequestLogger logger;
+    private final EventsHandler eventsHandler;
+    private final VersionWatcher versionWatcher;
 
     public HttpTaskServer(TaskManager taskManager) throws IOException {
+        this(taskManager, new RequestLogger(LogLevel.INFO, AsyncAppender.toFile(new File(ACCESS_LOG_FILE))));
+    }
+
+    public HttpTaskServer(TaskManager taskManager, RequestLogger logger) throws IOException {
+        this.logger = logger;
         httpServer = HttpServer.create(new InetSocketAddress("localhost", PORT), 0);
-        httpServer.createContext("/tasks", new TaskHandler(taskManager));
-        httpServer.createContext("/subtasks", new SubTaskHandler(taskManager));
-        httpServer.createContext("/epics", new EpicHandler(taskManager));
-        httpServer.createContext("/history", new HistoryHandler(taskManager));
-        httpServer.createContext("/prioritized", new PrioritizedHandler(taskManager));
+        JsonCache jsonCache = new JsonCache(JSON_CACHE_MAX_BYTES);
+        versionWatcher = new VersionWatcher(taskManager);
+        RequestDispatcher dispatcher = new RequestDispatcher(taskManager, jsonCache, logger);
+        new TaskHandler(taskManager, jsonCache, logger, versionWatcher).registerRoutes(dispatcher);
+        new SubTaskHandler(taskManager, jsonCache, logger, versionWatcher).registerRoutes(dispatcher);
+        new EpicHandler(taskManager, jsonCache, logger, versionWatcher).registerRoutes(dispatcher);
+        new HistoryHandler(taskManager, jsonCache, logger).registerRoutes(dispatcher);
+        new PrioritizedHandler(taskManager, jsonCache, logger).registerRoutes(dispatcher);
+        new StatsHandler(taskManager, jsonCache, logger).registerRoutes(dispatcher);
+        new SearchHandler(taskManager, jsonCache, logger).registerRoutes(dispatcher);
+        new ChangesHandler(taskManager, jsonCache, logger).registerRoutes(dispatcher);
+        eventsHandler = new EventsHandler(taskManager, jsonCache, logger);
+        eventsHandler.registerRoutes(dispatcher);
+        httpServer.createContext("/", dispatcher);
     }
 
     public void start() {
-        System.out.println("Запускаем HTTP-сервер на " + PORT + " порту!");
         httpServer.start();
+        logger.info("HTTP-сервер запущен на " + PORT + " порту!");
     }
 
     public void stop(int delay) {
+        eventsHandler.close();
+        versionWatcher.close();
         httpServer.stop(delay);
-        System.out.println("HTTP-сервер остановлен на " + PORT + " порту!");
+        logger.info("HTTP-сервер остановлен на " + PORT + " порту!");
+        logger.close();
     }
 
     public static void main(String[] args) throws IOException {
         TaskManager taskManager = Manager.getDefault();
-        HttpTaskServer taskServer = new HttpTaskServer(taskManager);
+        HttpTaskServer taskServer = Arrays.asList(args).contains(CONSOLE_LOG_OPTION)
+                ? new HttpTaskServer(taskManager, new RequestLogger(LogLevel.INFO, AsyncAppender.toConsole()))
+                : new HttpTaskServer(taskManager);
         taskServer.start();
-        System.out.println("HTTP-сервер запущен на " + PORT + " порту!");
     }
 }
\ No newline at end of file
@@ -0,0 +1,154 @@
+package http.adapter;
+
+import com.google.gson.Gson;
+import com.google.gson.TypeAdapter;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+import com.google.gson.stream.JsonWriter;
+import tasks.Epic;
+import tasks.Status;
+import tasks.SubTask;
+import tasks.Task;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+public class TaskAdapter extends TypeAdapter<Task> {
+
+    public static final Set<String> FIELD_NAMES = Set.of("epicId", "subTaskIdList", "endTime", "id", "name",
+            "description", "status", "startTime", "duration");
+
+    private final Class<? extends Task> taskClass;
+    private final TypeAdapter<LocalDateTime> localDateTimeAdapter;
+    private final TypeAdapter<Duration> durationAdapter;
+    private final TypeAdapter<Status> statusAdapter;
+
+    public TaskAdapter(Gson gson, Class<? extends Task> taskClass) {
+        this.taskClass = taskClass;
+        this.localDateTimeAdapter = gson.getAdapter(LocalDateTime.class);
+        this.durationAdapter = gson.getAdapter(Duration.class);
+        this.statusAdapter = gson.getAdapter(Status.class);
+    }
+
+    @Override
+    public void write(JsonWriter jsonWriter, Task task) throws IOException {
+        write(jsonWriter, task, FIELD_NAMES);
+    }
+
+    public void write(JsonWriter jsonWriter, Task task, Set<String> fields) throws IOException {
+        if (task == null) {
+            jsonWriter.nullValue();
+            return;
+        }
+
+        jsonWriter.beginObject();
+        if (task instanceof SubTask subTask) {
+            if (fields.contains("epicId")) {
+                jsonWriter.name("epicId").value(subTask.getEpicId());
+            }
+        } else if (task instanceof Epic epic) {
+            if (fields.contains("subTaskIdList")) {
+                jsonWriter.name("subTaskIdList").beginArray();
+                for (Integer subTaskId : epic.getSubTaskIds()) {
+                    jsonWriter.value(subTaskId);
+                }
+                jsonWriter.endArray();
+            }
+            if (fields.contains("endTime")) {
+                jsonWriter.name("endTime");
+                localDateTimeAdapter.write(jsonWriter, epic.getEndTime());
+            }
+        }
+        if (fields.contains("id")) {
+            jsonWriter.name("id").value(task.getId());
+        }
+        if (fields.contains("name")) {
+            jsonWriter.name("name").value(task.getName());
+        }
+        if (fields.contains("description")) {
+            jsonWriter.name("description").value(task.getDescription());
+        }
+        if (fields.contains("status")) {
+            jsonWriter.name("status");
+            statusAdapter.write(jsonWriter, task.getStatus());
+        }
+        if (fields.contains("startTime")) {
+            jsonWriter.name("startTime");
+            localDateTimeAdapter.write(jsonWriter, task.getStartTime());
+        }
+        if (fields.contains("duration")) {
+            jsonWriter.name("duration");
+            durationAdapter.write(jsonWriter, task.getDuration());
+        }
+        jsonWriter.endObject();
+    }
+
+    @Override
+    public Task read(JsonReader jsonReader) throws IOException {
+        if (jsonReader.peek() == JsonToken.NULL) {
+            jsonReader.nextNull();
+            return null;
+        }
+
+        int id = 0;
+        int epicId = 0;
+        String name = null;
+        String description = null;
+        Status status = null;
+        LocalDateTime startTime = null;
+        LocalDateTime endTime = null;
+        Duration duration = null;
+        List<Integer> subTaskIdList = new ArrayList<>();
+
+        jsonReader.beginObject();
+        while (jsonReader.hasNext()) {
+            String fieldName = jsonReader.nextName();
+            if (jsonReader.peek() == JsonToken.NULL) {
+                jsonReader.nextNull();
+                continue;
+            }
+            switch (fieldName) {
+                case "id" -> id = jsonReader.nextInt();
+                case "epicId" -> epicId = jsonReader.nextInt();
+                case "name" -> name = jsonReader.nextString();
+                case "description" -> description = jsonReader.nextString();
+                case "status" -> status = statusAdapter.read(jsonReader);
+                case "startTime" -> startTime = localDateTimeAdapter.read(jsonReader);
+                case "endTime" -> endTime = localDateTimeAdapter.read(jsonReader);
+                case "duration" -> duration = durationAdapter.read(jsonReader);
+                case "subTaskIdList" -> {
+                    jsonReader.beginArray();
+                    while (jsonReader.hasNext()) {
+                        subTaskIdList.add(jsonReader.nextInt());
+                    }
+                    jsonReader.endArray();
+                }
+                default -> jsonReader.skipValue();
+            }
+        }
+        jsonReader.endObject();
+
+        Task task;
+        if (SubTask.class.isAssignableFrom(taskClass)) {
+            task = new SubTask(name, description, status, epicId, startTime, duration);
+        } else if (Epic.class.isAssignableFrom(taskClass)) {
+            Epic epic = new Epic();
+            epic.setName(name);
+            epic.setDescription(description);
+            epic.setStatus(status);
+            epic.setStartTime(startTime);
+            epic.setDuration(duration);
+            epic.setEndTime(endTime);
+            subTaskIdList.forEach(epic::addSubTaskId);
+            task = epic;
+        } else {
+            task = new Task(name, description, status, startTime, duration);
+        }
+        task.setId(id);
+        return task;
+    }
+}
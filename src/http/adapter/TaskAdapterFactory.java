@@ -0,0 +1,20 @@
+package http.adapter;
+
+import com.google.gson.Gson;
+import com.google.gson.TypeAdapter;
+import com.google.gson.TypeAdapterFactory;
+import com.google.gson.reflect.TypeToken;
+import tasks.Task;
+
+public class TaskAdapterFactory implements TypeAdapterFactory {
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> TypeAdapter<T> create(Gson gson, TypeToken<T> typeToken) {
+        Class<? super T> rawType = typeToken.getRawType();
+        if (!Task.class.isAssignableFrom(rawType)) {
+            return null;
+        }
+        return (TypeAdapter<T>) new TaskAdapter(gson, (Class<? extends Task>) rawType);
+    }
+}
@@ -2,45 +2,554 @@ package http.handler;
 
 import com.google.gson.Gson;
 import com.google.gson.GsonBuilder;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParseException;
+import com.google.gson.JsonParser;
+import com.google.gson.stream.JsonWriter;
 import com.sun.net.httpserver.HttpExchange;
+import exceptions.EntityIntersectionException;
+import exceptions.EntityNotFoundException;
 import http.adapter.DurationAdapter;
 import http.adapter.LocalDateTimeAdapter;
+import http.adapter.TaskAdapter;
+import http.adapter.TaskAdapterFactory;
+import http.log.LogLevel;
+import http.log.RequestLogger;
 import http.model.ErrorMessage;
+import http.utils.CompressionUtils;
+import http.utils.JsonCache;
+import http.utils.JsonValidator;
+import http.utils.ResponseBodyStream;
+import http.utils.VersionWatcher;
+import manager.Change;
+import manager.Mutation;
+import manager.Page;
 import manager.TaskManager;
+import tasks.Status;
+import tasks.SubTask;
+import tasks.Task;
+import tasks.Type;
 
+import java.io.BufferedWriter;
+import java.io.ByteArrayOutputStream;
+import java.io.EOFException;
 import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.net.URLDecoder;
 import java.nio.charset.StandardCharsets;
 import java.time.Duration;
 import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.function.BiFunction;
+import java.util.zip.ZipException;
 
 public class BaseHttpHandler {
 
+    private static final int DEFAULT_PAGE_LIMIT = 50;
+    private static final String NEXT_CURSOR_HEADER = "X-Next-Cursor";
+    private static final int COMPRESSION_THRESHOLD = 1024;
+    private static final int MAX_REQUEST_BODY_BYTES = 1024 * 1024;
+    private static final String ENTITY_VERSION_HEADER = "X-Entity-Version";
+    private static final Duration DEFAULT_WAIT_TIMEOUT = Duration.ofSeconds(30);
+    private static final Duration MAX_WAIT_TIMEOUT = Duration.ofMinutes(5);
+    private static final String REQUEST_START_ATTRIBUTE = "requestStartNanos";
+
     protected final TaskManager taskManager;
     protected final Gson gson;
+    protected final RequestLogger logger;
+    private final TaskAdapter taskAdapter;
+    private final JsonCache jsonCache;
 
-    BaseHttpHandler(TaskManager taskManager) {
+    BaseHttpHandler(TaskManager taskManager, JsonCache jsonCache, RequestLogger logger) {
         this.taskManager = taskManager;
+        this.jsonCache = jsonCache;
+        this.logger = logger;
         gson = new GsonBuilder()
                 .registerTypeAdapter(LocalDateTime.class, new LocalDateTimeAdapter())
                 .registerTypeAdapter(Duration.class, new DurationAdapter())
+                .registerTypeAdapterFactory(new TaskAdapterFactory())
                 .serializeNulls()
                 .create();
+        taskAdapter = new TaskAdapter(gson, Task.class);
     }
 
     protected void sendResponse(HttpExchange exchange, int responseCode, String responseText) throws IOException {
         byte[] response = responseText.getBytes(StandardCharsets.UTF_8);
+        try (OutputStream responseBody = openResponseBody(exchange, responseCode)) {
+            responseBody.write(response);
+        }
+        exchange.close();
+        if (logger.isBodyLoggingEnabled()) {
+            logger.debug("Отправлен ответ " + responseCode + " " + responseText);
+        } else if (logger.isEnabled(LogLevel.DEBUG)) {
+            logger.debug("Отправлен ответ " + responseCode + ", байт: " + response.length);
+        }
+    }
+
+    protected void sendStreamingResponse(HttpExchange exchange, int responseCode, JsonBodyWriter bodyWriter)
+            throws IOException {
+        try (JsonWriter jsonWriter = gson.newJsonWriter(new BufferedWriter(
+                new OutputStreamWriter(openResponseBody(exchange, responseCode), StandardCharsets.UTF_8)))) {
+            bodyWriter.write(jsonWriter);
+        }
+        exchange.close();
+    }
+
+    private OutputStream openResponseBody(HttpExchange exchange, int responseCode) {
         exchange.getResponseHeaders().add("Content-Type", "application/json;charset=utf-8");
-        exchange.sendResponseHeaders(responseCode, response.length);
-        exchange.getResponseBody().write(response);
+        exchange.getResponseHeaders().add("Vary", "Accept-Encoding");
+        String encoding = CompressionUtils.negotiateEncoding(exchange.getRequestHeaders().getFirst("Accept-Encoding"));
+        return new ResponseBodyStream(exchange, responseCode, encoding, COMPRESSION_THRESHOLD);
+    }
+
+    protected String readRequestBody(HttpExchange exchange) throws IOException {
+        String contentEncoding = exchange.getRequestHeaders().getFirst("Content-Encoding");
+        if (!CompressionUtils.isSupported(contentEncoding)) {
+            sendErrorResponse(exchange, 415, "Неподдерживаемое сжатие тела запроса: " + contentEncoding);
+            return null;
+        }
+        try (InputStream requestBody = CompressionUtils.decompress(exchange.getRequestBody(), contentEncoding)) {
+            byte[] body = requestBody.readNBytes(MAX_REQUEST_BODY_BYTES + 1);
+            if (body.length > MAX_REQUEST_BODY_BYTES) {
+                sendErrorResponse(exchange, 413, "Размер тела запроса превышает " + MAX_REQUEST_BODY_BYTES + " байт");
+                return null;
+            }
+            return new String(body, StandardCharsets.UTF_8);
+        } catch (ZipException | EOFException e) {
+            sendErrorResponse(exchange, 400, "Некорректное сжатое тело запроса: " + e.getMessage());
+            return null;
+        }
+    }
+
+    protected boolean isNotModified(HttpExchange exchange, long version) throws IOException {
+        String query = exchange.getRequestURI().getRawQuery();
+        String etag = "W/\"" + Long.toHexString(version) + "-"
+                + Integer.toHexString(query == null ? 0 : query.hashCode()) + "\"";
+        exchange.getResponseHeaders().set("ETag", etag);
+        String ifNoneMatch = exchange.getRequestHeaders().getFirst("If-None-Match");
+        if (ifNoneMatch == null) {
+            return false;
+        }
+        for (String candidate : ifNoneMatch.split(",")) {
+            String value = candidate.trim();
+            if (value.equals("*") || value.equals(etag) || ("W/" + value).equals(etag)) {
+                exchange.sendResponseHeaders(304, -1);
+                exchange.close();
+                return true;
+            }
+        }
+        return false;
+    }
+
+    protected Map<String, String> getQueryParameters(HttpExchange exchange) {
+        Map<String, String> queryParameters = new HashMap<>();
+        String query = exchange.getRequestURI().getRawQuery();
+        if (query == null || query.isEmpty()) {
+            return queryParameters;
+        }
+        for (String parameter : query.split("&")) {
+            int separatorIndex = parameter.indexOf('=');
+            if (separatorIndex > 0) {
+                queryParameters.put(
+                        URLDecoder.decode(parameter.substring(0, separatorIndex), StandardCharsets.UTF_8),
+                        URLDecoder.decode(parameter.substring(separatorIndex + 1), StandardCharsets.UTF_8)
+                );
+            } else if (!parameter.isEmpty()) {
+                queryParameters.put(URLDecoder.decode(parameter, StandardCharsets.UTF_8), "");
+            }
+        }
+        return queryParameters;
+    }
+
+    protected List<Integer> parseIds(HttpExchange exchange, String value) throws IOException {
+        List<Integer> ids = new ArrayList<>();
+        try {
+            for (String id : value.split(",")) {
+                if (!id.isBlank()) {
+                    ids.add(Integer.parseInt(id.strip()));
+                }
+            }
+        } catch (NumberFormatException e) {
+            sendErrorResponse(exchange, 400, "Некорректный список id: " + value);
+            return null;
+        }
+        return ids;
+    }
+
+    protected Boolean parseHistoryFlag(HttpExchange exchange, Map<String, String> queryParameters) throws IOException {
+        String value = queryParameters.getOrDefault("history", "false");
+        if (!value.equals("true") && !value.equals("false")) {
+            sendErrorResponse(exchange, 400, "Параметр history должен быть true или false");
+            return null;
+        }
+        return Boolean.parseBoolean(value);
+    }
+
+    protected void sendJsonArray(HttpExchange exchange, List<? extends Task> entities) throws IOException {
+        Set<String> fields = parseFields(exchange);
+        if (fields != null) {
+            sendJsonArray(exchange, entities, fields);
+        }
+    }
+
+    private void sendJsonArray(HttpExchange exchange, List<? extends Task> entities, Set<String> fields)
+            throws IOException {
+        sendStreamingResponse(exchange, 200, jsonWriter -> {
+            jsonWriter.beginArray();
+            for (Task entity : entities) {
+                taskAdapter.write(jsonWriter, entity, fields);
+            }
+            jsonWriter.endArray();
+        });
+    }
+
+    protected void sendJsonArray(HttpExchange exchange, long version,
+                                 EntityLoader<? extends List<? extends Task>> loader) throws IOException {
+        Set<String> fields = parseFields(exchange);
+        if (fields != null) {
+            sendJsonArray(exchange, fields, version, loader);
+        }
+    }
+
+    protected void sendJsonArray(HttpExchange exchange, Set<String> fields, long version,
+                                 EntityLoader<? extends List<? extends Task>> loader) throws IOException {
+        if (isNotModified(exchange, version)) {
+            return;
+        }
+        String key = exchange.getRequestURI().getPath() + "?" + exchange.getRequestURI().getRawQuery();
+        byte[] body = jsonCache.get(key, version);
+        if (body == null) {
+            List<? extends Task> entities = loader.load();
+            if (entities == null) {
+                return;
+            }
+            ByteArrayOutputStream buffer = new ByteArrayOutputStream();
+            buffer.write('[');
+            for (int i = 0; i < entities.size(); i++) {
+                if (i > 0) {
+                    buffer.write(',');
+                }
+                buffer.write(encodeTask(entities.get(i), fields, version));
+            }
+            buffer.write(']');
+            body = buffer.toByteArray();
+            jsonCache.put(key, version, body);
+        }
+        sendCachedResponse(exchange, body);
+    }
+
+    private void sendJsonObject(HttpExchange exchange, Task entity, Set<String> fields, long readVersion,
+                                boolean isViewRecorded) throws IOException {
+        long version = Math.min(taskManager.getEntityVersion(entity.getId()), readVersion);
+        if (isNotModified(exchange, version)) {
+            return;
+        }
+        if (isViewRecorded) {
+            recordView(entity);
+        }
+        exchange.getResponseHeaders().set(ENTITY_VERSION_HEADER, String.valueOf(version));
+        sendCachedResponse(exchange, encodeTask(entity, fields, readVersion));
+    }
+
+    protected void sendJsonObjectWhenChanged(HttpExchange exchange, ViewLoader<? extends Task> loader,
+                                             VersionWatcher versionWatcher) throws IOException {
+        Set<String> fields = parseFields(exchange);
+        if (fields == null) {
+            return;
+        }
+        Map<String, String> queryParameters = getQueryParameters(exchange);
+        if (!queryParameters.containsKey("waitForVersion")) {
+            long readVersion = taskManager.getChangeSequence();
+            Task entity = loader.load(true);
+            if (entity != null) {
+                sendJsonObject(exchange, entity, fields, readVersion, false);
+            }
+            return;
+        }
+        long waitForVersion;
+        Duration timeout;
+        try {
+            waitForVersion = Long.parseLong(queryParameters.get("waitForVersion"));
+            timeout = queryParameters.containsKey("timeout")
+                    ? parseTimeout(queryParameters.get("timeout"))
+                    : DEFAULT_WAIT_TIMEOUT;
+        } catch (NumberFormatException | DateTimeParseException e) {
+            sendErrorResponse(exchange, 400, "Некорректный запрос: " + e.getMessage());
+            return;
+        }
+        if (timeout.isNegative() || timeout.compareTo(MAX_WAIT_TIMEOUT) > 0) {
+            sendErrorResponse(exchange, 400, "Параметр timeout должен быть от 0 до " + MAX_WAIT_TIMEOUT.toSeconds() + "s");
+            return;
+        }
+        long readVersion = taskManager.getChangeSequence();
+        Task entity = loader.load(false);
+        if (entity == null) {
+            return;
+        }
+        if (taskManager.getEntityVersion(entity.getId()) != waitForVersion) {
+            sendJsonObject(exchange, entity, fields, readVersion, true);
+            return;
+        }
+
+        logger.debug("Запрос ожидает изменения сущности с id: " + entity.getId());
+        versionWatcher.watch(entity.getId(), timeout, change -> {
+            try {
+                if (change.getAction() == Change.Action.DELETED) {
+                    sendErrorResponse(exchange, 404, "Сущность с id: " + change.getId() + " удалена");
+                    return;
+                }
+                recordView(change.getTask());
+                exchange.getResponseHeaders().set(ENTITY_VERSION_HEADER, String.valueOf(change.getSequence()));
+                sendStreamingResponse(exchange, 200, jsonWriter -> taskAdapter.write(jsonWriter, change.getTask(), fields));
+            } catch (IOException e) {
+                logger.warn("Не удалось отправить ответ ожидающему запросу: " + e.getMessage());
+                exchange.close();
+            } finally {
+                logAccess(exchange);
+            }
+        }, () -> {
+            try {
+                exchange.getResponseHeaders().set(ENTITY_VERSION_HEADER, String.valueOf(waitForVersion));
+                exchange.sendResponseHeaders(304, -1);
+            } catch (IOException e) {
+                logger.warn("Не удалось отправить ответ ожидающему запросу: " + e.getMessage());
+            }
+            exchange.close();
+            logAccess(exchange);
+        });
+    }
+
+    private void recordView(Task entity) {
+        List<Integer> ids = List.of(entity.getId());
+        switch (entity.getType()) {
+            case TASK -> taskManager.getTasksByIds(ids, true);
+            case EPIC -> taskManager.getEpicsByIds(ids, true);
+            case SUBTASK -> taskManager.getSubTasksByIds(ids, true);
+        }
+    }
+
+    private static Duration parseTimeout(String value) {
+        if (value.endsWith("ms")) {
+            return Duration.ofMillis(Long.parseLong(value.substring(0, value.length() - 2)));
+        }
+        if (value.endsWith("s")) {
+            return Duration.ofSeconds(Long.parseLong(value.substring(0, value.length() - 1)));
+        }
+        if (value.endsWith("m")) {
+            return Duration.ofMinutes(Long.parseLong(value.substring(0, value.length() - 1)));
+        }
+        return Duration.parse(value);
+    }
+
+    private byte[] encodeTask(Task entity, Set<String> fields, long readVersion) throws IOException {
+        long version = taskManager.getEntityVersion(entity.getId());
+        if (version > readVersion) {
+            return renderTask(entity, fields);
+        }
+        String fieldsKey = fields == TaskAdapter.FIELD_NAMES ? "" : String.join(",", new TreeSet<>(fields));
+        String key = entity.getId() + "?" + fieldsKey;
+        byte[] body = jsonCache.get(key, version);
+        if (body == null) {
+            body = renderTask(entity, fields);
+            jsonCache.put(key, version, body);
+        }
+        return body;
+    }
+
+    private byte[] renderTask(Task entity, Set<String> fields) throws IOException {
+        ByteArrayOutputStream buffer = new ByteArrayOutputStream();
+        try (JsonWriter jsonWriter = gson.newJsonWriter(new OutputStreamWriter(buffer, StandardCharsets.UTF_8))) {
+            taskAdapter.write(jsonWriter, entity, fields);
+        }
+        return buffer.toByteArray();
+    }
+
+    private void sendCachedResponse(HttpExchange exchange, byte[] body) throws IOException {
+        try (OutputStream responseBody = openResponseBody(exchange, 200)) {
+            responseBody.write(body);
+        }
         exchange.close();
-        System.out.println("Отправлен ответ " + responseCode + " " + responseText);
     }
 
-    protected boolean isPathValid(String[] pathParts, String pathName, int expectedLength) {
-        return pathParts.length == expectedLength && pathParts[1].equals(pathName);
+    protected void markRequestStart(HttpExchange exchange) {
+        exchange.setAttribute(REQUEST_START_ATTRIBUTE, System.nanoTime());
+    }
+
+    protected void logAccess(HttpExchange exchange) {
+        if (exchange.getResponseCode() == -1 || !(exchange.getAttribute(REQUEST_START_ATTRIBUTE) instanceof Long start)) {
+            return;
+        }
+        logger.access(exchange.getRequestMethod(), exchange.getRequestURI().getRawPath(), exchange.getResponseCode(),
+                System.nanoTime() - start);
+    }
+
+    protected void writeTask(JsonWriter jsonWriter, Task entity, Set<String> fields) throws IOException {
+        taskAdapter.write(jsonWriter, entity, fields);
+    }
+
+    protected void writeChange(JsonWriter jsonWriter, Change change) throws IOException {
+        jsonWriter.beginObject();
+        jsonWriter.name("sequence").value(change.getSequence());
+        jsonWriter.name("action").value(change.getAction().name());
+        jsonWriter.name("type").value(change.getType().name());
+        jsonWriter.name("id").value(change.getId());
+        if (change.getAction() != Change.Action.DELETED) {
+            jsonWriter.name("task");
+            taskAdapter.write(jsonWriter, change.getTask(), TaskAdapter.FIELD_NAMES);
+        }
+        jsonWriter.endObject();
+    }
+
+    protected Set<String> parseFields(HttpExchange exchange) throws IOException {
+        String value = getQueryParameters(exchange).get("fields");
+        if (value == null) {
+            return TaskAdapter.FIELD_NAMES;
+        }
+        Set<String> fields = new HashSet<>();
+        for (String field : value.split(",")) {
+            String fieldName = field.strip();
+            if (!TaskAdapter.FIELD_NAMES.contains(fieldName)) {
+                sendErrorResponse(exchange, 400, "Неизвестное поле: " + fieldName);
+                return null;
+            }
+            fields.add(fieldName);
+        }
+        return fields;
+    }
+
+    protected boolean isPageRequested(Map<String, String> queryParameters) {
+        return queryParameters.containsKey("limit") || queryParameters.containsKey("cursor");
+    }
+
+    protected <T extends Task> void sendPage(HttpExchange exchange, Map<String, String> queryParameters,
+                                             BiFunction<Long, Integer, Page<T>> pageLoader) throws IOException {
+        Set<String> fields = parseFields(exchange);
+        if (fields == null) {
+            return;
+        }
+        int limit;
+        try {
+            limit = Integer.parseInt(queryParameters.getOrDefault("limit", String.valueOf(DEFAULT_PAGE_LIMIT)));
+        } catch (NumberFormatException e) {
+            sendErrorResponse(exchange, 400, "Некорректный запрос: " + e.getMessage());
+            return;
+        }
+        if (limit <= 0) {
+            sendErrorResponse(exchange, 400, "Параметр limit должен быть положительным");
+            return;
+        }
+        Long cursor = null;
+        if (queryParameters.containsKey("cursor")) {
+            try {
+                cursor = decodeCursor(queryParameters.get("cursor"));
+            } catch (IllegalArgumentException e) {
+                sendErrorResponse(exchange, 400, "Некорректный курсор: " + queryParameters.get("cursor"));
+                return;
+            }
+        }
+
+        Page<T> page = pageLoader.apply(cursor, limit);
+        if (page.hasNext()) {
+            exchange.getResponseHeaders().add(NEXT_CURSOR_HEADER, encodeCursor(page.getNextCursor()));
+        }
+        sendJsonArray(exchange, page.getItems(), fields);
+    }
+
+    private static String encodeCursor(long cursor) {
+        return Base64.getUrlEncoder().withoutPadding()
+                .encodeToString(Long.toString(cursor).getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static long decodeCursor(String cursor) {
+        return Long.parseLong(new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8));
+    }
+
+    protected Status parseStatus(HttpExchange exchange, String value) throws IOException {
+        try {
+            return Status.valueOf(value);
+        } catch (IllegalArgumentException e) {
+            sendErrorResponse(exchange, 400, "Некорректный статус: " + value);
+        }
+        return null;
+    }
+
+    protected void handleBatchRequest(HttpExchange exchange, String requestBody, Type type) throws IOException {
+        List<Mutation> mutations = parseMutationsFromJson(exchange, requestBody, type);
+        if (mutations == null) {
+            return;
+        }
+        try {
+            List<Integer> ids = taskManager.applyBatch(mutations);
+            sendResponse(exchange, 200, gson.toJson(ids));
+        } catch (EntityNotFoundException e) {
+            sendErrorResponse(exchange, 404, e.getMessage());
+        } catch (EntityIntersectionException e) {
+            sendErrorResponse(exchange, 406, e.getMessage());
+        } catch (IllegalArgumentException e) {
+            sendErrorResponse(exchange, 400, e.getMessage());
+        }
+    }
+
+    private List<Mutation> parseMutationsFromJson(HttpExchange exchange, String requestBody, Type type) throws IOException {
+        Class<? extends Task> taskClass = type == Type.SUBTASK ? SubTask.class : Task.class;
+        try {
+            JsonElement jsonElement = JsonParser.parseString(requestBody);
+            if (!jsonElement.isJsonArray()) {
+                sendErrorResponse(exchange, 400, "Тело запроса должно быть массивом изменений");
+                return null;
+            }
+            List<Mutation> mutations = new ArrayList<>();
+            for (JsonElement mutationElement : jsonElement.getAsJsonArray()) {
+                if (!JsonValidator.isMutationJsonValid(mutationElement, type)) {
+                    sendErrorResponse(exchange, 400, "Некорректное изменение в пакете: " + mutationElement);
+                    return null;
+                }
+                JsonObject mutationObject = mutationElement.getAsJsonObject();
+                switch (Mutation.Action.valueOf(mutationObject.get("action").getAsString())) {
+                    case CREATE:
+                        mutations.add(Mutation.create(gson.fromJson(mutationObject.get("task"), taskClass)));
+                        break;
+                    case UPDATE:
+                        mutations.add(Mutation.update(gson.fromJson(mutationObject.get("task"), taskClass)));
+                        break;
+                    case DELETE:
+                        mutations.add(Mutation.delete(type, mutationObject.get("id").getAsInt()));
+                        break;
+                }
+            }
+            return mutations;
+        } catch (JsonParseException | IllegalArgumentException e) {
+            sendErrorResponse(exchange, 400, "Некорректное тело запроса: " + e.getMessage());
+        } catch (DateTimeParseException e) {
+            sendErrorResponse(exchange, 400, "Некорректный формат даты: " + e.getMessage());
+        }
+        return null;
     }
 
     protected void sendErrorResponse(HttpExchange exchange, int responseCode, String responseText) throws IOException {
         sendResponse(exchange, responseCode, gson.toJson(new ErrorMessage(responseText)));
     }
-}
\ No newline at end of file
+
+    protected interface JsonBodyWriter {
+        void write(JsonWriter jsonWriter) throws IOException;
+    }
+
+    protected interface ViewLoader<T> {
+        T load(boolean addToHistory) throws IOException;
+    }
+
+    protected interface EntityLoader<T> {
+        T load() throws IOException;
+    }
+}
@@ -0,0 +1,62 @@
+package http.handler;
+
+import com.sun.net.httpserver.HttpExchange;
+import http.log.RequestLogger;
+import http.router.PathParameters;
+import http.utils.JsonCache;
+import manager.Change;
+import manager.TaskManager;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+public class ChangesHandler extends BaseHttpHandler {
+
+    public ChangesHandler(TaskManager taskManager, JsonCache jsonCache, RequestLogger logger) {
+        super(taskManager, jsonCache, logger);
+    }
+
+    public void registerRoutes(RequestDispatcher dispatcher) {
+        dispatcher.get("/changes", this::getChanges);
+    }
+
+    private void getChanges(HttpExchange exchange, PathParameters parameters) throws IOException {
+        Map<String, String> queryParameters = getQueryParameters(exchange);
+        if (!queryParameters.containsKey("since")) {
+            sendErrorResponse(exchange, 400, "Не указан параметр since");
+            return;
+        }
+        long since;
+        try {
+            since = Long.parseLong(queryParameters.get("since"));
+        } catch (NumberFormatException e) {
+            sendErrorResponse(exchange, 400, "Некорректный запрос: " + e.getMessage());
+            return;
+        }
+
+        long sequence = taskManager.getChangeSequence();
+        Optional<List<Change>> changes = taskManager.getChangesSince(since);
+        if (changes.isEmpty()) {
+            sendStreamingResponse(exchange, 410, jsonWriter -> {
+                jsonWriter.beginObject();
+                jsonWriter.name("resyncRequired").value(true);
+                jsonWriter.name("sequence").value(sequence);
+                jsonWriter.endObject();
+            });
+            return;
+        }
+        sendStreamingResponse(exchange, 200, jsonWriter -> {
+            jsonWriter.beginObject();
+            jsonWriter.name("sequence").value(sequence);
+            jsonWriter.name("changes");
+            jsonWriter.beginArray();
+            for (Change change : changes.get()) {
+                writeChange(jsonWriter, change);
+            }
+            jsonWriter.endArray();
+            jsonWriter.endObject();
+        });
+    }
+}
@@ -4,107 +4,175 @@ import com.google.gson.JsonElement;
 import com.google.gson.JsonParser;
 import com.google.gson.JsonSyntaxException;
 import com.sun.net.httpserver.HttpExchange;
-import com.sun.net.httpserver.HttpHandler;
 import exceptions.EntityNotFoundException;
+import http.log.RequestLogger;
+import http.router.PathParameters;
+import http.utils.JsonCache;
 import http.utils.JsonValidator;
+import http.utils.VersionWatcher;
 import manager.TaskManager;
 import tasks.Epic;
+import tasks.Status;
 import tasks.SubTask;
+import tasks.Type;
 
 import java.io.IOException;
-import java.nio.charset.StandardCharsets;
 import java.time.format.DateTimeParseException;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 
-public class EpicHandler extends BaseHttpHandler implements HttpHandler {
+public class EpicHandler extends BaseHttpHandler {
 
-    private static final String PATH_NAME = "epics";
+    private final VersionWatcher versionWatcher;
 
-    public EpicHandler(TaskManager taskManager) {
-        super(taskManager);
+    public EpicHandler(TaskManager taskManager, JsonCache jsonCache, RequestLogger logger, VersionWatcher versionWatcher) {
+        super(taskManager, jsonCache, logger);
+        this.versionWatcher = versionWatcher;
     }
 
-    @Override
-    public void handle(HttpExchange exchange) throws IOException {
-        System.out.print("Начинается обработка запроса: ");
+    public void registerRoutes(RequestDispatcher dispatcher) {
+        dispatcher.get("/epics", this::getEpics)
+                .get("/epics/{id}", this::getEpic)
+                .get("/epics/{id}/subtasks", this::getEpicSubTasks)
+                .post("/epics", this::saveEpic)
+                .post("/epics/{id}/status", this::setStatusForEpicSubTasks)
+                .delete("/epics/{id}", this::deleteEpic);
+    }
 
-        String requestMethod = exchange.getRequestMethod();
-        String requestPath = exchange.getRequestURI().getPath();
-        String[] pathParts = requestPath.split("/");
-        String requestBody = new String(exchange.getRequestBody().readAllBytes(), StandardCharsets.UTF_8);
+    private void getEpics(HttpExchange exchange, PathParameters parameters) throws IOException {
+        Map<String, String> queryParameters = getQueryParameters(exchange);
+        if (queryParameters.containsKey("ids")) {
+            List<Integer> ids = parseIds(exchange, queryParameters.get("ids"));
+            if (ids == null) {
+                return;
+            }
+            Boolean addToHistory = parseHistoryFlag(exchange, queryParameters);
+            Set<String> fields = addToHistory == null ? null : parseFields(exchange);
+            if (fields == null) {
+                return;
+            }
+            long version = taskManager.getVersion(Type.EPIC);
+            if (addToHistory) {
+                List<Epic> epics = taskManager.getEpicsByIds(ids, true);
+                sendJsonArray(exchange, fields, version, () -> epics);
+            } else {
+                sendJsonArray(exchange, fields, version, () -> taskManager.getEpicsByIds(ids, false));
+            }
+            return;
+        }
+        if (isPageRequested(queryParameters)) {
+            if (queryParameters.containsKey("status")) {
+                sendErrorResponse(exchange, 400, "Параметр status не поддерживает постраничную выдачу");
+                return;
+            }
+            if (!isNotModified(exchange, taskManager.getVersion(Type.EPIC))) {
+                sendPage(exchange, queryParameters, taskManager::getEpicsPage);
+            }
+            return;
+        }
+        if (queryParameters.containsKey("status")) {
+            Status status = parseStatus(exchange, queryParameters.get("status"));
+            if (status != null) {
+                sendJsonArray(exchange, taskManager.getVersion(Type.EPIC), () -> taskManager.getEpicsByStatus(status));
+            }
+            return;
+        }
+        sendJsonArray(exchange, taskManager.getVersion(Type.EPIC), taskManager::getEpics);
+    }
 
-        System.out.println(requestMethod.toUpperCase() + " " + requestPath);
+    private void getEpic(HttpExchange exchange, PathParameters parameters) throws IOException {
+        if (getQueryParameters(exchange).containsKey("expand")) {
+            sendEpicWithSubTasks(exchange, parameters);
+            return;
+        }
+        sendJsonObjectWhenChanged(exchange, addToHistory -> getEpicById(exchange, parameters, addToHistory),
+                versionWatcher);
+    }
 
-        switch (requestMethod) {
-            case "GET":
-                handleGetRequest(exchange, pathParts, PATH_NAME);
-                break;
-            case "POST":
-                handlePostRequest(exchange, pathParts, PATH_NAME, requestBody);
-                break;
-            case "DELETE":
-                handleDeleteRequest(exchange, pathParts, PATH_NAME);
-                break;
-            default:
-                sendErrorResponse(exchange, 405, "Метод не поддерживается");
+    private void getEpicSubTasks(HttpExchange exchange, PathParameters parameters) throws IOException {
+        Set<String> fields = parseFields(exchange);
+        if (fields == null) {
+            return;
+        }
+        Epic epic = getEpicById(exchange, parameters);
+        if (epic != null) {
+            sendJsonArray(exchange, fields, getEpicWithSubTasksVersion(epic),
+                    () -> getSubTasksByEpic(exchange, epic.getId()));
         }
     }
 
-    private void handleGetRequest(HttpExchange exchange, String[] pathParts, String pathName) throws IOException {
-        if (isPathValid(pathParts, pathName, 2)) {
-            List<Epic> epics = taskManager.getEpics();
-            String responseBody = gson.toJson(epics);
-            sendResponse(exchange, 200, responseBody);
-        } else if (isPathValid(pathParts, pathName, 3)) {
-            Epic epic = getEpicById(exchange, pathParts);
-            if (epic != null) {
-                String responseBody = gson.toJson(epic);
-                sendResponse(exchange, 200, responseBody);
-            }
-        } else if (isPathValid(pathParts, pathName, 4) && pathParts[3].equals("subtasks")) {
-            Epic epic = getEpicById(exchange, pathParts);
-            if (epic != null) {
-                List<SubTask> subTasks = getSubTasksByEpic(exchange, epic.getId());
-                String responseBody = gson.toJson(subTasks);
-                sendResponse(exchange, 200, responseBody);
+    private void saveEpic(HttpExchange exchange, PathParameters parameters) throws IOException {
+        String requestBody = readRequestBody(exchange);
+        if (requestBody == null) {
+            return;
+        }
+        Epic epic = parseEpicFromJson(exchange, requestBody);
+        if (epic != null) {
+            JsonElement jsonElement = JsonParser.parseString(requestBody);
+            if (jsonElement.getAsJsonObject().has("id")) {
+                updateEpic(exchange, epic);
+            } else {
+                createEpic(exchange, epic);
             }
-        } else {
-            sendErrorResponse(exchange, 400, "Ошибка в запросе");
         }
     }
 
-    private void handlePostRequest(HttpExchange exchange, String[] pathParts, String pathName, String requestBody) throws IOException {
-        if (isPathValid(pathParts, pathName, 2)) {
-            Epic epic = parseEpicFromJson(exchange, requestBody);
-            if (epic != null) {
-                JsonElement jsonElement = JsonParser.parseString(requestBody);
-                if (jsonElement.getAsJsonObject().has("id")) {
-                    updateEpic(exchange, epic);
-                } else {
-                    createEpic(exchange, epic);
-                }
-            }
-        } else {
-            sendErrorResponse(exchange, 400, "Некорректный запрос");
+    private void deleteEpic(HttpExchange exchange, PathParameters parameters) throws IOException {
+        Epic epic = getEpicById(exchange, parameters);
+        if (epic != null) {
+            taskManager.deleteEpic(epic.getId());
+            sendResponse(exchange, 201, "{}");
         }
     }
 
-    private void handleDeleteRequest(HttpExchange exchange, String[] pathParts, String pathName) throws IOException {
-        if (isPathValid(pathParts, pathName, 3)) {
-            Epic epic = getEpicById(exchange, pathParts);
-            if (epic != null) {
-                taskManager.deleteEpic(epic.getId());
-                sendResponse(exchange, 201, "{}");
-            }
-        } else {
-            sendErrorResponse(exchange, 400, "Некорректный запрос");
+    private void setStatusForEpicSubTasks(HttpExchange exchange, PathParameters parameters) throws IOException {
+        String requestBody = readRequestBody(exchange);
+        if (requestBody == null) {
+            return;
+        }
+        int epicId;
+        JsonElement jsonElement;
+        try {
+            epicId = parameters.getInt("id");
+            jsonElement = JsonParser.parseString(requestBody);
+        } catch (NumberFormatException | JsonSyntaxException e) {
+            sendErrorResponse(exchange, 400, "Некорректный запрос: " + e.getMessage());
+            return;
+        }
+        if (!JsonValidator.isStatusJsonValid(jsonElement)
+                || !jsonElement.getAsJsonObject().get("status").isJsonPrimitive()) {
+            sendErrorResponse(exchange, 400, "Некорректное тело запроса");
+            return;
+        }
+        Status status = parseStatus(exchange, jsonElement.getAsJsonObject().get("status").getAsString());
+        if (status == null) {
+            return;
+        }
+        try {
+            taskManager.setStatusForEpicSubTasks(epicId, status);
+            sendResponse(exchange, 201, "{}");
+        } catch (EntityNotFoundException e) {
+            sendErrorResponse(exchange, 404, e.getMessage());
         }
     }
 
-    private Epic getEpicById(HttpExchange exchange, String[] pathParts) throws IOException {
+    private Epic getEpicById(HttpExchange exchange, PathParameters parameters) throws IOException {
+        return getEpicById(exchange, parameters, true);
+    }
+
+    private Epic getEpicById(HttpExchange exchange, PathParameters parameters, boolean addToHistory)
+            throws IOException {
         try {
-            int epicId = Integer.parseInt(pathParts[2]);
-            return taskManager.getEpic(epicId);
+            int epicId = parameters.getInt("id");
+            if (addToHistory) {
+                return taskManager.getEpic(epicId);
+            }
+            List<Epic> found = taskManager.getEpicsByIds(List.of(epicId), false);
+            if (found.isEmpty()) {
+                throw new EntityNotFoundException("Не найден эпик с id: " + epicId);
+            }
+            return found.getFirst();
         } catch (NumberFormatException e) {
             sendErrorResponse(exchange, 400, "Некорректный запрос: " + e.getMessage());
         } catch (EntityNotFoundException e) {
@@ -113,6 +181,65 @@ public class EpicHandler extends BaseHttpHandler implements HttpHandler {
         return null;
     }
 
+    private long getEpicWithSubTasksVersion(Epic epic) {
+        return Math.max(taskManager.getEntityVersion(epic.getId()), taskManager.getVersion(Type.SUBTASK));
+    }
+
+    private void sendEpicWithSubTasks(HttpExchange exchange, PathParameters parameters) throws IOException {
+        Map<String, String> queryParameters = getQueryParameters(exchange);
+        String expand = queryParameters.get("expand");
+        if (!expand.equals("subtasks")) {
+            sendErrorResponse(exchange, 400, "Неизвестное значение параметра expand: " + expand);
+            return;
+        }
+        int offset;
+        int limit;
+        try {
+            offset = Integer.parseInt(queryParameters.getOrDefault("offset", "0"));
+            limit = Integer.parseInt(queryParameters.getOrDefault("limit", String.valueOf(Integer.MAX_VALUE)));
+        } catch (NumberFormatException e) {
+            sendErrorResponse(exchange, 400, "Некорректный запрос: " + e.getMessage());
+            return;
+        }
+        if (offset < 0) {
+            sendErrorResponse(exchange, 400, "Параметр offset не может быть отрицательным");
+            return;
+        }
+        if (limit <= 0) {
+            sendErrorResponse(exchange, 400, "Параметр limit должен быть положительным");
+            return;
+        }
+
+        Set<String> fields = parseFields(exchange);
+        if (fields == null) {
+            return;
+        }
+
+        long readVersion = taskManager.getChangeSequence();
+        Epic epic = getEpicById(exchange, parameters);
+        if (epic == null) {
+            return;
+        }
+        if (isNotModified(exchange, Math.min(getEpicWithSubTasksVersion(epic), readVersion))) {
+            return;
+        }
+        List<SubTask> subTasks = taskManager.getSubTasksByEpic(epic.getId(), offset, limit);
+        sendStreamingResponse(exchange, 200, jsonWriter -> {
+            jsonWriter.beginObject();
+            jsonWriter.name("epic");
+            writeTask(jsonWriter, epic, fields);
+            jsonWriter.name("subTasks");
+            jsonWriter.beginArray();
+            for (SubTask subTask : subTasks) {
+                writeTask(jsonWriter, subTask, fields);
+            }
+            jsonWriter.endArray();
+            jsonWriter.name("offset").value(offset);
+            jsonWriter.name("total").value(epic.getSubTaskIds().size());
+            jsonWriter.endObject();
+        });
+    }
+
     private List<SubTask> getSubTasksByEpic(HttpExchange exchange, int epicId) throws IOException {
         try {
             return taskManager.getSubTasksByEpic(epicId);
@@ -0,0 +1,122 @@
+package http.handler;
+
+import com.google.gson.stream.JsonWriter;
+import com.sun.net.httpserver.HttpExchange;
+import http.log.RequestLogger;
+import http.router.PathParameters;
+import http.utils.EventSubscriber;
+import http.utils.JsonCache;
+import manager.Change;
+import manager.TaskManager;
+
+import java.io.IOException;
+import java.io.StringWriter;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+public class EventsHandler extends BaseHttpHandler {
+
+    private static final int MAX_QUEUED_BYTES = 256 * 1024;
+    private static final long HEARTBEAT_PERIOD_SECONDS = 15;
+    private static final byte[] HEARTBEAT = ": ping\n\n".getBytes(StandardCharsets.UTF_8);
+
+    private final List<EventSubscriber> subscribers = new CopyOnWriteArrayList<>();
+    private final Consumer<Change> changeListener = this::broadcast;
+    private final ScheduledExecutorService heartbeat;
+    private final ExecutorService senders;
+
+    public EventsHandler(TaskManager taskManager, JsonCache jsonCache, RequestLogger logger) {
+        super(taskManager, jsonCache, logger);
+        heartbeat = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "events-heartbeat");
+            thread.setDaemon(true);
+            return thread;
+        });
+        senders = Executors.newCachedThreadPool(runnable -> {
+            Thread thread = new Thread(runnable, "events-sender");
+            thread.setDaemon(true);
+            return thread;
+        });
+        heartbeat.scheduleAtFixedRate(() -> publish(HEARTBEAT), HEARTBEAT_PERIOD_SECONDS, HEARTBEAT_PERIOD_SECONDS,
+                TimeUnit.SECONDS);
+        taskManager.addChangeListener(changeListener);
+    }
+
+    public void registerRoutes(RequestDispatcher dispatcher) {
+        dispatcher.get("/events", this::subscribe);
+    }
+
+    public void close() {
+        taskManager.removeChangeListener(changeListener);
+        subscribers.forEach(EventSubscriber::close);
+        subscribers.clear();
+        heartbeat.shutdownNow();
+        senders.shutdown();
+    }
+
+    private void subscribe(HttpExchange exchange, PathParameters parameters) throws IOException {
+        List<Change> missedChanges = List.of();
+        String lastEventId = exchange.getRequestHeaders().getFirst("Last-Event-ID");
+        boolean isResyncRequired = false;
+        if (lastEventId != null) {
+            try {
+                Optional<List<Change>> changes = taskManager.getChangesSince(Long.parseLong(lastEventId.strip()));
+                isResyncRequired = changes.isEmpty();
+                missedChanges = changes.orElse(List.of());
+            } catch (NumberFormatException e) {
+                sendErrorResponse(exchange, 400, "Некорректный заголовок Last-Event-ID: " + lastEventId);
+                return;
+            }
+        }
+
+        exchange.getResponseHeaders().add("Content-Type", "text/event-stream;charset=utf-8");
+        exchange.getResponseHeaders().add("Cache-Control", "no-cache");
+        exchange.sendResponseHeaders(200, 0);
+        EventSubscriber subscriber = new EventSubscriber(exchange, senders, MAX_QUEUED_BYTES, logger);
+        subscriber.offer(": connected\n\n".getBytes(StandardCharsets.UTF_8));
+        if (isResyncRequired) {
+            subscriber.offer(("event: resync\ndata: {\"sequence\":" + taskManager.getChangeSequence() + "}\n\n")
+                    .getBytes(StandardCharsets.UTF_8));
+        }
+        for (Change change : missedChanges) {
+            subscriber.offer(encodeEvent(change));
+        }
+        subscribers.add(subscriber);
+        logger.debug("Подключён подписчик событий, всего подписчиков: " + subscribers.size());
+    }
+
+    private void broadcast(Change change) {
+        if (subscribers.isEmpty()) {
+            return;
+        }
+        try {
+            publish(encodeEvent(change));
+        } catch (IOException e) {
+            logger.error("Не удалось сериализовать событие: " + e.getMessage());
+        }
+    }
+
+    private void publish(byte[] event) {
+        for (EventSubscriber subscriber : subscribers) {
+            if (!subscriber.offer(event)) {
+                subscribers.remove(subscriber);
+            }
+        }
+    }
+
+    private byte[] encodeEvent(Change change) throws IOException {
+        StringWriter data = new StringWriter();
+        try (JsonWriter jsonWriter = gson.newJsonWriter(data)) {
+            writeChange(jsonWriter, change);
+        }
+        return ("id: " + change.getSequence() + "\nevent: change\ndata: " + data + "\n\n")
+                .getBytes(StandardCharsets.UTF_8);
+    }
+}
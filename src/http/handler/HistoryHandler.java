@@ -1,47 +1,38 @@
 package http.handler;
 
 import com.sun.net.httpserver.HttpExchange;
-import com.sun.net.httpserver.HttpHandler;
+import http.log.RequestLogger;
+import http.router.PathParameters;
+import http.utils.JsonCache;
 import manager.TaskManager;
-import tasks.Task;
+import tasks.Type;
 
 import java.io.IOException;
-import java.util.List;
+import java.util.Map;
 
-public class HistoryHandler extends BaseHttpHandler implements HttpHandler {
+public class HistoryHandler extends BaseHttpHandler {
 
-    private static final String PATH_NAME = "history";
-
-    public HistoryHandler(TaskManager taskManager) {
-        super(taskManager);
+    public HistoryHandler(TaskManager taskManager, JsonCache jsonCache, RequestLogger logger) {
+        super(taskManager, jsonCache, logger);
     }
 
-    @Override
-    public void handle(HttpExchange exchange) throws IOException {
-        System.out.print("Начинается обработка запроса: ");
-
-        String requestMethod = exchange.getRequestMethod();
-        String requestPath = exchange.getRequestURI().getPath();
-        String[] pathParts = requestPath.split("/");
-
-        System.out.println(requestMethod.toUpperCase() + " " + requestPath);
+    public void registerRoutes(RequestDispatcher dispatcher) {
+        dispatcher.get("/history", this::getHistory);
+    }
 
-        switch (requestMethod) {
-            case "GET":
-                handleGetRequest(exchange, pathParts, PATH_NAME);
-                break;
-            default:
-                sendErrorResponse(exchange, 405, "Метод не поддерживается");
+    private void getHistory(HttpExchange exchange, PathParameters parameters) throws IOException {
+        Map<String, String> queryParameters = getQueryParameters(exchange);
+        if (isPageRequested(queryParameters)) {
+            if (!isNotModified(exchange, getHistoryVersion())) {
+                sendPage(exchange, queryParameters, taskManager::getHistoryPage);
+            }
+            return;
         }
+        sendJsonArray(exchange, getHistoryVersion(), taskManager::getHistory);
     }
 
-    private void handleGetRequest(HttpExchange exchange, String[] pathParts, String pathName) throws IOException {
-        if (isPathValid(pathParts, pathName, 2)) {
-            List<Task> history = taskManager.getHistory();
-            String responseBody = gson.toJson(history);
-            sendResponse(exchange, 200, responseBody);
-        } else {
-            sendErrorResponse(exchange, 400, "Ошибка в запросе");
-        }
+    private long getHistoryVersion() {
+        long version = Math.max(taskManager.getHistoryVersion(), taskManager.getVersion(Type.TASK));
+        return Math.max(version, Math.max(taskManager.getVersion(Type.SUBTASK), taskManager.getVersion(Type.EPIC)));
     }
 }
\ No newline at end of file
@@ -1,47 +1,117 @@
 package http.handler;
 
 import com.sun.net.httpserver.HttpExchange;
-import com.sun.net.httpserver.HttpHandler;
+import http.log.RequestLogger;
+import http.router.PathParameters;
+import http.utils.JsonCache;
 import manager.TaskManager;
+import manager.TimeSlot;
 import tasks.Task;
+import tasks.Type;
 
 import java.io.IOException;
+import java.time.DateTimeException;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
 import java.util.List;
+import java.util.Map;
 
-public class PrioritizedHandler extends BaseHttpHandler implements HttpHandler {
+public class PrioritizedHandler extends BaseHttpHandler {
 
-    private static final String PATH_NAME = "prioritized";
+    private static final int DEFAULT_FREE_SLOTS_LIMIT = 10;
+    private static final int DEFAULT_UPCOMING_LIMIT = 20;
 
-    public PrioritizedHandler(TaskManager taskManager) {
-        super(taskManager);
+    public PrioritizedHandler(TaskManager taskManager, JsonCache jsonCache, RequestLogger logger) {
+        super(taskManager, jsonCache, logger);
     }
 
-    @Override
-    public void handle(HttpExchange exchange) throws IOException {
-        System.out.print("Начинается обработка запроса: ");
+    public void registerRoutes(RequestDispatcher dispatcher) {
+        dispatcher.get("/prioritized", this::getPrioritizedTasks)
+                .get("/prioritized/free-slots", this::getFreeSlots)
+                .get("/prioritized/upcoming", this::getUpcomingTasks);
+    }
 
-        String requestMethod = exchange.getRequestMethod();
-        String requestPath = exchange.getRequestURI().getPath();
-        String[] pathParts = requestPath.split("/");
+    private void getPrioritizedTasks(HttpExchange exchange, PathParameters parameters) throws IOException {
+        Map<String, String> queryParameters = getQueryParameters(exchange);
+        if (isPageRequested(queryParameters)) {
+            if (queryParameters.containsKey("from") || queryParameters.containsKey("to")) {
+                sendErrorResponse(exchange, 400, "Параметры from и to не поддерживают постраничную выдачу");
+                return;
+            }
+            if (isNotModified(exchange, getPrioritizedVersion())) {
+                return;
+            }
+            try {
+                sendPage(exchange, queryParameters, taskManager::getPrioritizedTasksPage);
+            } catch (DateTimeException e) {
+                sendErrorResponse(exchange, 400, "Некорректный курсор: " + queryParameters.get("cursor"));
+            }
+            return;
+        }
+        LocalDateTime from;
+        LocalDateTime to;
+        try {
+            from = queryParameters.containsKey("from") ? LocalDateTime.parse(queryParameters.get("from")) : null;
+            to = queryParameters.containsKey("to") ? LocalDateTime.parse(queryParameters.get("to")) : null;
+        } catch (DateTimeParseException e) {
+            sendErrorResponse(exchange, 400, "Некорректный формат даты: " + e.getMessage());
+            return;
+        }
+        sendJsonArray(exchange, getPrioritizedVersion(), () -> taskManager.getPrioritizedTasks(from, to));
+    }
 
-        System.out.println(requestMethod.toUpperCase() + " " + requestPath);
+    private void getUpcomingTasks(HttpExchange exchange, PathParameters parameters) throws IOException {
+        Map<String, String> queryParameters = getQueryParameters(exchange);
+        try {
+            LocalDateTime after = queryParameters.containsKey("after")
+                    ? LocalDateTime.parse(queryParameters.get("after"))
+                    : LocalDateTime.now();
+            int limit = Integer.parseInt(queryParameters.getOrDefault("limit", String.valueOf(DEFAULT_UPCOMING_LIMIT)));
+            if (limit <= 0) {
+                sendErrorResponse(exchange, 400, "Параметр limit должен быть положительным");
+                return;
+            }
 
-        switch (requestMethod) {
-            case "GET":
-                handleGetRequest(exchange, pathParts, PATH_NAME);
-                break;
-            default:
-                sendErrorResponse(exchange, 405, "Метод не поддерживается");
+            List<Task> upcomingTasks = taskManager.getUpcoming(after, limit);
+            sendJsonArray(exchange, upcomingTasks);
+        } catch (DateTimeParseException e) {
+            sendErrorResponse(exchange, 400, "Некорректный формат даты: " + e.getMessage());
+        } catch (NumberFormatException e) {
+            sendErrorResponse(exchange, 400, "Некорректный запрос: " + e.getMessage());
         }
     }
 
-    private void handleGetRequest(HttpExchange exchange, String[] pathParts, String pathName) throws IOException {
-        if (isPathValid(pathParts, pathName, 2)) {
-            List<Task> prioritizedTasks = taskManager.getPrioritizedTasks();
-            String responseBody = gson.toJson(prioritizedTasks);
-            sendResponse(exchange, 200, responseBody);
-        } else {
-            sendErrorResponse(exchange, 400, "Ошибка в запросе");
+    private void getFreeSlots(HttpExchange exchange, PathParameters parameters) throws IOException {
+        Map<String, String> queryParameters = getQueryParameters(exchange);
+        if (!queryParameters.containsKey("duration") || !queryParameters.containsKey("from")
+                || !queryParameters.containsKey("to")) {
+            sendErrorResponse(exchange, 400, "Обязательные параметры: duration, from, to");
+            return;
         }
+
+        try {
+            Duration duration = Duration.parse(queryParameters.get("duration"));
+            LocalDateTime notBefore = LocalDateTime.parse(queryParameters.get("from"));
+            LocalDateTime notAfter = LocalDateTime.parse(queryParameters.get("to"));
+            int limit = Integer.parseInt(queryParameters.getOrDefault("limit", String.valueOf(DEFAULT_FREE_SLOTS_LIMIT)));
+            if (duration.isNegative() || notAfter.isBefore(notBefore) || limit <= 0) {
+                sendErrorResponse(exchange, 400, "Некорректные параметры поиска свободного времени");
+                return;
+            }
+
+            if (!isNotModified(exchange, getPrioritizedVersion())) {
+                List<TimeSlot> freeSlots = taskManager.findFreeSlots(duration, notBefore, notAfter, limit);
+                sendResponse(exchange, 200, gson.toJson(freeSlots));
+            }
+        } catch (DateTimeParseException e) {
+            sendErrorResponse(exchange, 400, "Некорректный формат даты: " + e.getMessage());
+        } catch (NumberFormatException e) {
+            sendErrorResponse(exchange, 400, "Некорректный запрос: " + e.getMessage());
+        }
+    }
+
+    private long getPrioritizedVersion() {
+        return Math.max(taskManager.getVersion(Type.TASK), taskManager.getVersion(Type.SUBTASK));
     }
 }
\ No newline at end of file
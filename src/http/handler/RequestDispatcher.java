@@ -0,0 +1,77 @@
+package http.handler;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpHandler;
+import http.log.RequestLogger;
+import http.router.PathParameters;
+import http.router.RouteTrie;
+import http.utils.JsonCache;
+import manager.TaskManager;
+
+import java.io.IOException;
+import java.util.Map;
+
+public class RequestDispatcher extends BaseHttpHandler implements HttpHandler {
+
+    private final RouteTrie<Route> routes = new RouteTrie<>();
+
+    public RequestDispatcher(TaskManager taskManager, JsonCache jsonCache, RequestLogger logger) {
+        super(taskManager, jsonCache, logger);
+    }
+
+    public RequestDispatcher get(String pattern, Route route) {
+        routes.add("GET", pattern, route);
+        return this;
+    }
+
+    public RequestDispatcher post(String pattern, Route route) {
+        routes.add("POST", pattern, route);
+        return this;
+    }
+
+    public RequestDispatcher delete(String pattern, Route route) {
+        routes.add("DELETE", pattern, route);
+        return this;
+    }
+
+    @Override
+    public void handle(HttpExchange exchange) throws IOException {
+        String requestMethod = exchange.getRequestMethod();
+        String requestPath = exchange.getRequestURI().getPath();
+
+        markRequestStart(exchange);
+        try {
+            PathParameters parameters = new PathParameters(requestPath);
+            Map<String, Route> methodRoutes = routes.find(requestPath, parameters);
+            if (methodRoutes == null) {
+                sendErrorResponse(exchange, 400, "Ошибка в запросе");
+                return;
+            }
+            Route route = methodRoutes.get(requestMethod);
+            if (route == null) {
+                sendErrorResponse(exchange, 405, "Метод не поддерживается");
+                return;
+            }
+            route.handle(exchange, parameters);
+        } catch (RuntimeException e) {
+            logger.error("Ошибка обработки запроса " + requestMethod + " " + requestPath + ": " + e);
+            if (exchange.getResponseCode() == -1) {
+                try {
+                    sendErrorResponse(exchange, 500, "Внутренняя ошибка сервера");
+                } catch (IOException sendException) {
+                    e.addSuppressed(sendException);
+                }
+            }
+            throw e;
+        } catch (IOException e) {
+            logger.error("Ошибка обработки запроса " + requestMethod + " " + requestPath + ": " + e);
+            throw e;
+        } finally {
+            logAccess(exchange);
+        }
+    }
+
+    public interface Route {
+        void handle(HttpExchange exchange, PathParameters parameters) throws IOException;
+    }
+}
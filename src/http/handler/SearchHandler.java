@@ -0,0 +1,54 @@
+package http.handler;
+
+import com.sun.net.httpserver.HttpExchange;
+import http.log.RequestLogger;
+import http.router.PathParameters;
+import http.utils.JsonCache;
+import manager.TaskManager;
+import tasks.Type;
+
+import java.io.IOException;
+import java.util.Map;
+
+public class SearchHandler extends BaseHttpHandler {
+
+    private static final int DEFAULT_LIMIT = 20;
+
+    public SearchHandler(TaskManager taskManager, JsonCache jsonCache, RequestLogger logger) {
+        super(taskManager, jsonCache, logger);
+    }
+
+    public void registerRoutes(RequestDispatcher dispatcher) {
+        dispatcher.get("/search", this::search);
+    }
+
+    private void search(HttpExchange exchange, PathParameters parameters) throws IOException {
+        Map<String, String> queryParameters = getQueryParameters(exchange);
+        String query = queryParameters.get("q");
+        if (query == null || query.isBlank()) {
+            sendErrorResponse(exchange, 400, "Не указан поисковый запрос");
+            return;
+        }
+        int offset;
+        int limit;
+        try {
+            offset = Integer.parseInt(queryParameters.getOrDefault("offset", "0"));
+            limit = Integer.parseInt(queryParameters.getOrDefault("limit", String.valueOf(DEFAULT_LIMIT)));
+        } catch (NumberFormatException e) {
+            sendErrorResponse(exchange, 400, "Некорректный запрос: " + e.getMessage());
+            return;
+        }
+        if (offset < 0) {
+            sendErrorResponse(exchange, 400, "Параметр offset не может быть отрицательным");
+            return;
+        }
+        if (limit <= 0) {
+            sendErrorResponse(exchange, 400, "Параметр limit должен быть положительным");
+            return;
+        }
+
+        long version = Math.max(taskManager.getVersion(Type.TASK),
+                Math.max(taskManager.getVersion(Type.SUBTASK), taskManager.getVersion(Type.EPIC)));
+        sendJsonArray(exchange, version, () -> taskManager.search(query, offset, limit));
+    }
+}
@@ -0,0 +1,55 @@
+package http.handler;
+
+import com.sun.net.httpserver.HttpExchange;
+import http.log.RequestLogger;
+import http.router.PathParameters;
+import http.utils.JsonCache;
+import manager.TaskAccessCount;
+import manager.TaskManager;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.Map;
+
+public class StatsHandler extends BaseHttpHandler {
+
+    private static final int DEFAULT_LIMIT = 10;
+
+    public StatsHandler(TaskManager taskManager, JsonCache jsonCache, RequestLogger logger) {
+        super(taskManager, jsonCache, logger);
+    }
+
+    public void registerRoutes(RequestDispatcher dispatcher) {
+        dispatcher.get("/stats/hot", this::getHotTasks);
+    }
+
+    private void getHotTasks(HttpExchange exchange, PathParameters parameters) throws IOException {
+        Map<String, String> queryParameters = getQueryParameters(exchange);
+        int limit;
+        try {
+            limit = Integer.parseInt(queryParameters.getOrDefault("limit", String.valueOf(DEFAULT_LIMIT)));
+        } catch (NumberFormatException e) {
+            sendErrorResponse(exchange, 400, "Некорректный запрос: " + e.getMessage());
+            return;
+        }
+        if (limit <= 0) {
+            sendErrorResponse(exchange, 400, "Параметр limit должен быть положительным");
+            return;
+        }
+
+        String window = queryParameters.getOrDefault("window", "all");
+        List<TaskAccessCount> hotTasks;
+        switch (window) {
+            case "all":
+                hotTasks = taskManager.getHotTasks(limit);
+                break;
+            case "hour":
+                hotTasks = taskManager.getHotTasksForCurrentHour(limit);
+                break;
+            default:
+                sendErrorResponse(exchange, 400, "Неизвестное окно статистики: " + window);
+                return;
+        }
+        sendResponse(exchange, 200, gson.toJson(hotTasks));
+    }
+}
@@ -4,93 +4,115 @@ import com.google.gson.JsonElement;
 import com.google.gson.JsonParser;
 import com.google.gson.JsonSyntaxException;
 import com.sun.net.httpserver.HttpExchange;
-import com.sun.net.httpserver.HttpHandler;
 import exceptions.EntityIntersectionException;
 import exceptions.EntityNotFoundException;
+import http.log.RequestLogger;
+import http.router.PathParameters;
+import http.utils.JsonCache;
 import http.utils.JsonValidator;
+import http.utils.VersionWatcher;
 import manager.TaskManager;
+import tasks.Status;
 import tasks.SubTask;
+import tasks.Type;
 
 import java.io.IOException;
-import java.nio.charset.StandardCharsets;
 import java.time.format.DateTimeParseException;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 
-public class SubTaskHandler extends BaseHttpHandler implements HttpHandler {
+public class SubTaskHandler extends BaseHttpHandler {
 
-    private static final String PATH_NAME = "subtasks";
+    private final VersionWatcher versionWatcher;
 
-    public SubTaskHandler(TaskManager taskManager) {
-        super(taskManager);
+    public SubTaskHandler(TaskManager taskManager, JsonCache jsonCache, RequestLogger logger, VersionWatcher versionWatcher) {
+        super(taskManager, jsonCache, logger);
+        this.versionWatcher = versionWatcher;
     }
 
-    @Override
-    public void handle(HttpExchange exchange) throws IOException {
-        System.out.print("Начинается обработка запроса: ");
-
-        String requestMethod = exchange.getRequestMethod();
-        String requestPath = exchange.getRequestURI().getPath();
-        String[] pathParts = requestPath.split("/");
-        String requestBody = new String(exchange.getRequestBody().readAllBytes(), StandardCharsets.UTF_8);
-
-        System.out.println(requestMethod.toUpperCase() + " " + requestPath);
-
-        switch (requestMethod) {
-            case "GET":
-                handleGetRequest(exchange, pathParts, PATH_NAME);
-                break;
-            case "POST":
-                handlePostRequest(exchange, pathParts, PATH_NAME, requestBody);
-                break;
-            case "DELETE":
-                handleDeleteRequest(exchange, pathParts, PATH_NAME);
-                break;
-            default:
-                sendErrorResponse(exchange, 405, "Метод не поддерживается");
-        }
+    public void registerRoutes(RequestDispatcher dispatcher) {
+        dispatcher.get("/subtasks", this::getSubTasks)
+                .get("/subtasks/{id}", this::getSubTask)
+                .post("/subtasks", this::saveSubTask)
+                .post("/subtasks/batch", this::applyBatch)
+                .delete("/subtasks/{id}", this::deleteSubTask);
     }
 
-    private void handleGetRequest(HttpExchange exchange, String[] pathParts, String pathName) throws IOException {
-        if (isPathValid(pathParts, pathName, 2)) {
-            List<SubTask> subTasks = taskManager.getSubTasks();
-            String responseBody = gson.toJson(subTasks);
-            sendResponse(exchange, 200, responseBody);
-        } else if (isPathValid(pathParts, pathName, 3)) {
-            SubTask subTask = getSubTaskById(exchange, pathParts);
-            if (subTask != null) {
-                String responseBody = gson.toJson(subTask);
-                sendResponse(exchange, 200, responseBody);
+    private void getSubTasks(HttpExchange exchange, PathParameters parameters) throws IOException {
+        Map<String, String> queryParameters = getQueryParameters(exchange);
+        if (queryParameters.containsKey("ids")) {
+            List<Integer> ids = parseIds(exchange, queryParameters.get("ids"));
+            if (ids == null) {
+                return;
+            }
+            Boolean addToHistory = parseHistoryFlag(exchange, queryParameters);
+            Set<String> fields = addToHistory == null ? null : parseFields(exchange);
+            if (fields == null) {
+                return;
             }
-        } else {
-            sendErrorResponse(exchange, 400, "Ошибка в запросе");
+            long version = taskManager.getVersion(Type.SUBTASK);
+            if (addToHistory) {
+                List<SubTask> subTasks = taskManager.getSubTasksByIds(ids, true);
+                sendJsonArray(exchange, fields, version, () -> subTasks);
+            } else {
+                sendJsonArray(exchange, fields, version, () -> taskManager.getSubTasksByIds(ids, false));
+            }
+            return;
         }
+        if (isPageRequested(queryParameters)) {
+            if (queryParameters.containsKey("status")) {
+                sendErrorResponse(exchange, 400, "Параметр status не поддерживает постраничную выдачу");
+                return;
+            }
+            if (!isNotModified(exchange, taskManager.getVersion(Type.SUBTASK))) {
+                sendPage(exchange, queryParameters, taskManager::getSubTasksPage);
+            }
+            return;
+        }
+        if (queryParameters.containsKey("status")) {
+            Status status = parseStatus(exchange, queryParameters.get("status"));
+            if (status != null) {
+                sendJsonArray(exchange, taskManager.getVersion(Type.SUBTASK), () -> taskManager.getSubTasksByStatus(status));
+            }
+            return;
+        }
+        sendJsonArray(exchange, taskManager.getVersion(Type.SUBTASK), taskManager::getSubTasks);
+    }
+
+    private void getSubTask(HttpExchange exchange, PathParameters parameters) throws IOException {
+        sendJsonObjectWhenChanged(exchange, addToHistory -> getSubTaskById(exchange, parameters, addToHistory),
+                versionWatcher);
     }
 
-    private void handlePostRequest(HttpExchange exchange, String[] pathParts, String pathName, String requestBody) throws IOException {
-        if (isPathValid(pathParts, pathName, 2)) {
-            SubTask subTask = parseSubTaskFromJson(exchange, requestBody);
-            if (subTask != null) {
-                JsonElement jsonElement = JsonParser.parseString(requestBody);
-                if (jsonElement.getAsJsonObject().has("id")) {
-                    updateSubTask(exchange, subTask);
-                } else {
-                    createSubTask(exchange, subTask);
-                }
+    private void saveSubTask(HttpExchange exchange, PathParameters parameters) throws IOException {
+        String requestBody = readRequestBody(exchange);
+        if (requestBody == null) {
+            return;
+        }
+        SubTask subTask = parseSubTaskFromJson(exchange, requestBody);
+        if (subTask != null) {
+            JsonElement jsonElement = JsonParser.parseString(requestBody);
+            if (jsonElement.getAsJsonObject().has("id")) {
+                updateSubTask(exchange, subTask);
+            } else {
+                createSubTask(exchange, subTask);
             }
-        } else {
-            sendErrorResponse(exchange, 400, "Некорректный запрос");
         }
     }
 
-    private void handleDeleteRequest(HttpExchange exchange, String[] pathParts, String pathName) throws IOException {
-        if (isPathValid(pathParts, pathName, 3)) {
-            SubTask subTask = getSubTaskById(exchange, pathParts);
-            if (subTask != null) {
-                taskManager.deleteSubTask(subTask.getId());
-                sendResponse(exchange, 201, "{}");
-            }
-        } else {
-            sendErrorResponse(exchange, 400, "Некорректный запрос");
+    private void applyBatch(HttpExchange exchange, PathParameters parameters) throws IOException {
+        String requestBody = readRequestBody(exchange);
+        if (requestBody != null) {
+            handleBatchRequest(exchange, requestBody, Type.SUBTASK);
+        }
+    }
+
+    private void deleteSubTask(HttpExchange exchange, PathParameters parameters) throws IOException {
+        SubTask subTask = getSubTaskById(exchange, parameters);
+        if (subTask != null) {
+            taskManager.deleteSubTask(subTask.getId());
+            sendResponse(exchange, 201, "{}");
         }
     }
 
@@ -135,10 +157,22 @@ public class SubTaskHandler extends BaseHttpHandler implements HttpHandler {
         }
     }
 
-    private SubTask getSubTaskById(HttpExchange exchange, String[] pathParts) throws IOException {
+    private SubTask getSubTaskById(HttpExchange exchange, PathParameters parameters) throws IOException {
+        return getSubTaskById(exchange, parameters, true);
+    }
+
+    private SubTask getSubTaskById(HttpExchange exchange, PathParameters parameters, boolean addToHistory)
+            throws IOException {
         try {
-            int subTaskId = Integer.parseInt(pathParts[2]);
-            return taskManager.getSubTask(subTaskId);
+            int subTaskId = parameters.getInt("id");
+            if (addToHistory) {
+                return taskManager.getSubTask(subTaskId);
+            }
+            List<SubTask> found = taskManager.getSubTasksByIds(List.of(subTaskId), false);
+            if (found.isEmpty()) {
+                throw new EntityNotFoundException("Не найдена подзадача с id: " + subTaskId);
+            }
+            return found.getFirst();
         } catch (NumberFormatException e) {
             sendErrorResponse(exchange, 400, "Некорректный запрос: " + e.getMessage());
         } catch (EntityNotFoundException e) {
@@ -4,100 +4,158 @@ import com.google.gson.JsonElement;
 import com.google.gson.JsonParser;
 import com.google.gson.JsonSyntaxException;
 import com.sun.net.httpserver.HttpExchange;
-import com.sun.net.httpserver.HttpHandler;
 import exceptions.EntityIntersectionException;
 import exceptions.EntityNotFoundException;
+import http.log.RequestLogger;
+import http.router.PathParameters;
+import http.utils.JsonCache;
 import http.utils.JsonValidator;
+import http.utils.VersionWatcher;
 import manager.TaskManager;
+import tasks.Status;
 import tasks.Task;
+import tasks.Type;
 
 import java.io.IOException;
-import java.nio.charset.StandardCharsets;
 import java.time.format.DateTimeParseException;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 
-public class TaskHandler extends BaseHttpHandler implements HttpHandler {
+public class TaskHandler extends BaseHttpHandler {
 
-    private static final String PATH_NAME = "tasks";
+    private static final int DEFAULT_SUGGEST_LIMIT = 10;
 
-    public TaskHandler(TaskManager taskManager) {
-        super(taskManager);
+    private final VersionWatcher versionWatcher;
+
+    public TaskHandler(TaskManager taskManager, JsonCache jsonCache, RequestLogger logger, VersionWatcher versionWatcher) {
+        super(taskManager, jsonCache, logger);
+        this.versionWatcher = versionWatcher;
     }
 
-    @Override
-    public void handle(HttpExchange exchange) throws IOException {
-        System.out.print("Начинается обработка запроса: ");
-
-        String requestMethod = exchange.getRequestMethod();
-        String requestPath = exchange.getRequestURI().getPath();
-        String[] pathParts = requestPath.split("/");
-        String requestBody = new String(exchange.getRequestBody().readAllBytes(), StandardCharsets.UTF_8);
-
-        System.out.println(requestMethod.toUpperCase() + " " + requestPath);
-
-        switch (requestMethod) {
-            case "GET":
-                handleGetRequest(exchange, pathParts, PATH_NAME);
-                break;
-            case "POST":
-                handlePostRequest(exchange, pathParts, PATH_NAME, requestBody);
-                break;
-            case "DELETE":
-                handleDeleteRequest(exchange, pathParts, PATH_NAME);
-                break;
-            default:
-                sendErrorResponse(exchange, 405, "Метод не поддерживается");
-        }
+    public void registerRoutes(RequestDispatcher dispatcher) {
+        dispatcher.get("/tasks", this::getTasks)
+                .get("/tasks/suggest", this::suggestTasks)
+                .get("/tasks/{id}", this::getTask)
+                .post("/tasks", this::saveTask)
+                .post("/tasks/batch", this::applyBatch)
+                .delete("/tasks/{id}", this::deleteTask);
     }
 
-    private void handleGetRequest(HttpExchange exchange, String[] pathParts, String pathName) throws IOException {
-        if (isPathValid(pathParts, pathName, 2)) {
-            List<Task> tasks = taskManager.getTasks();
-            String responseBody = gson.toJson(tasks);
-            sendResponse(exchange, 200, responseBody);
-        } else if (isPathValid(pathParts, pathName, 3)) {
-            Task task = getTaskById(exchange, pathParts);
-            if (task != null) {
-                String responseBody = gson.toJson(task);
-                sendResponse(exchange, 200, responseBody);
+    private void getTasks(HttpExchange exchange, PathParameters parameters) throws IOException {
+        Map<String, String> queryParameters = getQueryParameters(exchange);
+        if (queryParameters.containsKey("ids")) {
+            List<Integer> ids = parseIds(exchange, queryParameters.get("ids"));
+            if (ids == null) {
+                return;
+            }
+            Boolean addToHistory = parseHistoryFlag(exchange, queryParameters);
+            Set<String> fields = addToHistory == null ? null : parseFields(exchange);
+            if (fields == null) {
+                return;
+            }
+            long version = taskManager.getVersion(Type.TASK);
+            if (addToHistory) {
+                List<Task> tasks = taskManager.getTasksByIds(ids, true);
+                sendJsonArray(exchange, fields, version, () -> tasks);
+            } else {
+                sendJsonArray(exchange, fields, version, () -> taskManager.getTasksByIds(ids, false));
+            }
+            return;
+        }
+        if (isPageRequested(queryParameters)) {
+            if (queryParameters.containsKey("status")) {
+                sendErrorResponse(exchange, 400, "Параметр status не поддерживает постраничную выдачу");
+                return;
+            }
+            if (!isNotModified(exchange, taskManager.getVersion(Type.TASK))) {
+                sendPage(exchange, queryParameters, taskManager::getTasksPage);
             }
-        } else {
-            sendErrorResponse(exchange, 400, "Ошибка в запросе");
+            return;
         }
+        if (queryParameters.containsKey("status")) {
+            Status status = parseStatus(exchange, queryParameters.get("status"));
+            if (status != null) {
+                sendJsonArray(exchange, taskManager.getVersion(Type.TASK), () -> taskManager.getTasksByStatus(status));
+            }
+            return;
+        }
+        sendJsonArray(exchange, taskManager.getVersion(Type.TASK), taskManager::getTasks);
+    }
+
+    private void getTask(HttpExchange exchange, PathParameters parameters) throws IOException {
+        sendJsonObjectWhenChanged(exchange, addToHistory -> getTaskById(exchange, parameters, addToHistory),
+                versionWatcher);
     }
 
-    private void handlePostRequest(HttpExchange exchange, String[] pathParts, String pathName, String requestBody) throws IOException {
-        if (isPathValid(pathParts, pathName, 2)) {
-            Task task = parseTaskFromJson(exchange, requestBody);
-            if (task != null) {
-                JsonElement jsonElement = JsonParser.parseString(requestBody);
-                if (jsonElement.getAsJsonObject().has("id")) {
-                    updateTask(exchange, task);
-                } else {
-                    createTask(exchange, task);
-                }
+    private void saveTask(HttpExchange exchange, PathParameters parameters) throws IOException {
+        String requestBody = readRequestBody(exchange);
+        if (requestBody == null) {
+            return;
+        }
+        Task task = parseTaskFromJson(exchange, requestBody);
+        if (task != null) {
+            JsonElement jsonElement = JsonParser.parseString(requestBody);
+            if (jsonElement.getAsJsonObject().has("id")) {
+                updateTask(exchange, task);
+            } else {
+                createTask(exchange, task);
             }
-        } else {
-            sendErrorResponse(exchange, 400, "Некорректный запрос");
         }
     }
 
-    private void handleDeleteRequest(HttpExchange exchange, String[] pathParts, String pathName) throws IOException {
-        if (isPathValid(pathParts, pathName, 3)) {
-            Task task = getTaskById(exchange, pathParts);
-            if (task != null) {
-                taskManager.deleteTask(task.getId());
-                sendResponse(exchange, 201, "{}");
-            }
-        } else {
-            sendErrorResponse(exchange, 400, "Некорректный запрос");
+    private void applyBatch(HttpExchange exchange, PathParameters parameters) throws IOException {
+        String requestBody = readRequestBody(exchange);
+        if (requestBody != null) {
+            handleBatchRequest(exchange, requestBody, Type.TASK);
         }
     }
 
-    private Task getTaskById(HttpExchange exchange, String[] pathParts) throws IOException {
+    private void deleteTask(HttpExchange exchange, PathParameters parameters) throws IOException {
+        Task task = getTaskById(exchange, parameters);
+        if (task != null) {
+            taskManager.deleteTask(task.getId());
+            sendResponse(exchange, 201, "{}");
+        }
+    }
+
+    private void suggestTasks(HttpExchange exchange, PathParameters parameters) throws IOException {
+        Map<String, String> queryParameters = getQueryParameters(exchange);
+        String prefix = queryParameters.get("prefix");
+        if (prefix == null || prefix.isBlank()) {
+            sendErrorResponse(exchange, 400, "Не указан префикс названия задачи");
+            return;
+        }
+        int limit;
         try {
-            int taskId = Integer.parseInt(pathParts[2]);
-            return taskManager.getTask(taskId);
+            limit = Integer.parseInt(queryParameters.getOrDefault("limit", String.valueOf(DEFAULT_SUGGEST_LIMIT)));
+        } catch (NumberFormatException e) {
+            sendErrorResponse(exchange, 400, "Некорректный запрос: " + e.getMessage());
+            return;
+        }
+        if (limit <= 0) {
+            sendErrorResponse(exchange, 400, "Параметр limit должен быть положительным");
+            return;
+        }
+        sendJsonArray(exchange, taskManager.getVersion(Type.TASK), () -> taskManager.suggestTasks(prefix, limit));
+    }
+
+    private Task getTaskById(HttpExchange exchange, PathParameters parameters) throws IOException {
+        return getTaskById(exchange, parameters, true);
+    }
+
+    private Task getTaskById(HttpExchange exchange, PathParameters parameters, boolean addToHistory)
+            throws IOException {
+        try {
+            int taskId = parameters.getInt("id");
+            if (addToHistory) {
+                return taskManager.getTask(taskId);
+            }
+            List<Task> found = taskManager.getTasksByIds(List.of(taskId), false);
+            if (found.isEmpty()) {
+                throw new EntityNotFoundException("Не найдена задача с id: " + taskId);
+            }
+            return found.getFirst();
         } catch (NumberFormatException e) {
             sendErrorResponse(exchange, 400, "Некорректный запрос: " + e.getMessage());
         } catch (EntityNotFoundException e) {
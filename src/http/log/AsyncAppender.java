@@ -0,0 +1,112 @@
+package http.log;
+
+import java.io.BufferedWriter;
+import java.io.File;
+import java.io.FileWriter;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.atomic.AtomicLong;
+
+public class AsyncAppender implements LogAppender {
+
+    private static final int DEFAULT_CAPACITY = 8192;
+    private static final int MAX_BATCH_SIZE = 512;
+
+    private final Writer writer;
+    private final boolean isWriterOwned;
+    private final BlockingQueue<LogEntry> queue;
+    private final AtomicLong droppedEntries = new AtomicLong();
+    private final Thread worker;
+    private volatile boolean isClosed = false;
+    private long reportedDroppedEntries = 0;
+
+    public AsyncAppender(Writer writer, boolean isWriterOwned, int capacity) {
+        this.writer = writer;
+        this.isWriterOwned = isWriterOwned;
+        queue = new ArrayBlockingQueue<>(capacity);
+        worker = new Thread(this::run, "log-appender");
+        worker.setDaemon(true);
+        worker.start();
+    }
+
+    public static AsyncAppender toFile(File file) throws IOException {
+        return new AsyncAppender(new BufferedWriter(new FileWriter(file, StandardCharsets.UTF_8, true)), true,
+                DEFAULT_CAPACITY);
+    }
+
+    public static AsyncAppender toConsole() {
+        return new AsyncAppender(new BufferedWriter(new OutputStreamWriter(System.out, StandardCharsets.UTF_8)), false,
+                DEFAULT_CAPACITY);
+    }
+
+    @Override
+    public void append(LogEntry entry) {
+        if (isClosed || !queue.offer(entry)) {
+            droppedEntries.incrementAndGet();
+        }
+    }
+
+    public long getDroppedEntries() {
+        return droppedEntries.get();
+    }
+
+    @Override
+    public void close() {
+        isClosed = true;
+        worker.interrupt();
+        try {
+            worker.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void run() {
+        List<LogEntry> batch = new ArrayList<>(MAX_BATCH_SIZE);
+        try {
+            while (!isClosed) {
+                try {
+                    batch.add(queue.take());
+                } catch (InterruptedException e) {
+                    break;
+                }
+                queue.drainTo(batch, MAX_BATCH_SIZE - 1);
+                write(batch);
+            }
+            queue.drainTo(batch);
+            write(batch);
+        } catch (IOException e) {
+            isClosed = true;
+        } finally {
+            try {
+                if (isWriterOwned) {
+                    writer.close();
+                }
+            } catch (IOException ignored) {
+                isClosed = true;
+            }
+        }
+    }
+
+    private void write(List<LogEntry> batch) throws IOException {
+        for (LogEntry entry : batch) {
+            writer.write(entry.format());
+            writer.write(System.lineSeparator());
+        }
+        batch.clear();
+        long dropped = droppedEntries.get();
+        if (dropped > reportedDroppedEntries) {
+            writer.write(new LogEntry(System.currentTimeMillis(), LogLevel.WARN,
+                    "message=\"Очередь журнала переполнена\" dropped=" + (dropped - reportedDroppedEntries)).format());
+            writer.write(System.lineSeparator());
+            reportedDroppedEntries = dropped;
+        }
+        writer.flush();
+    }
+}
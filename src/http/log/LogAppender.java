@@ -0,0 +1,8 @@
+package http.log;
+
+public interface LogAppender {
+
+    void append(LogEntry entry);
+
+    void close();
+}
@@ -0,0 +1,32 @@
+package http.log;
+
+import java.time.Instant;
+
+public class LogEntry {
+
+    private final long timestamp;
+    private final LogLevel level;
+    private final String message;
+
+    public LogEntry(long timestamp, LogLevel level, String message) {
+        this.timestamp = timestamp;
+        this.level = level;
+        this.message = message;
+    }
+
+    public long getTimestamp() {
+        return timestamp;
+    }
+
+    public LogLevel getLevel() {
+        return level;
+    }
+
+    public String getMessage() {
+        return message;
+    }
+
+    public String format() {
+        return Instant.ofEpochMilli(timestamp) + " level=" + level + " " + message;
+    }
+}
@@ -0,0 +1,63 @@
+package http.log;
+
+public class RequestLogger {
+
+    private final LogLevel level;
+    private final LogAppender appender;
+    private final boolean isBodyLoggingEnabled;
+
+    public RequestLogger(LogLevel level, LogAppender appender) {
+        this(level, appender, false);
+    }
+
+    public RequestLogger(LogLevel level, LogAppender appender, boolean isBodyLoggingEnabled) {
+        this.level = level;
+        this.appender = appender;
+        this.isBodyLoggingEnabled = isBodyLoggingEnabled;
+    }
+
+    public boolean isEnabled(LogLevel entryLevel) {
+        return entryLevel != LogLevel.OFF && entryLevel.compareTo(level) >= 0;
+    }
+
+    public boolean isBodyLoggingEnabled() {
+        return isBodyLoggingEnabled && isEnabled(LogLevel.DEBUG);
+    }
+
+    public void debug(String message) {
+        log(LogLevel.DEBUG, message);
+    }
+
+    public void info(String message) {
+        log(LogLevel.INFO, message);
+    }
+
+    public void warn(String message) {
+        log(LogLevel.WARN, message);
+    }
+
+    public void error(String message) {
+        log(LogLevel.ERROR, message);
+    }
+
+    public void access(String method, String path, int status, long durationNanos) {
+        if (isEnabled(LogLevel.INFO)) {
+            appender.append(new LogEntry(System.currentTimeMillis(), LogLevel.INFO, "method=" + escape(method) + " path=" + escape(path)
+                    + " status=" + status + " durationMicros=" + durationNanos / 1000));
+        }
+    }
+
+    public void close() {
+        appender.close();
+    }
+
+    private void log(LogLevel entryLevel, String message) {
+        if (isEnabled(entryLevel)) {
+            appender.append(new LogEntry(System.currentTimeMillis(), entryLevel, "message=\"" + escape(message) + "\""));
+        }
+    }
+
+    private static String escape(String message) {
+        return message.replace("\\", "\\\\").replace("\"", "\\\"").replace("\n", "\\n").replace("\r", "\\r");
+    }
+}
@@ -0,0 +1,68 @@
+package http.router;
+
+public class PathParameters {
+
+    private static final int MAX_PARAMETERS = 8;
+
+    private static final String[] NO_NAMES = new String[0];
+
+    private final String path;
+    private int firstStart;
+    private int firstEnd;
+    private int[] otherStarts;
+    private int[] otherEnds;
+    private String[] names = NO_NAMES;
+
+    public PathParameters(String path) {
+        this.path = path;
+    }
+
+    public String get(String name) {
+        int index = indexOf(name);
+        return path.substring(getStart(index), getEnd(index));
+    }
+
+    public int getInt(String name) {
+        int index = indexOf(name);
+        return Integer.parseInt(path, getStart(index), getEnd(index), 10);
+    }
+
+    void set(int index, int start, int end) {
+        if (index == 0) {
+            firstStart = start;
+            firstEnd = end;
+            return;
+        }
+        if (otherStarts == null) {
+            otherStarts = new int[MAX_PARAMETERS - 1];
+            otherEnds = new int[MAX_PARAMETERS - 1];
+        }
+        otherStarts[index - 1] = start;
+        otherEnds[index - 1] = end;
+    }
+
+    void setNames(String[] names) {
+        this.names = names;
+    }
+
+    static int getMaxParameters() {
+        return MAX_PARAMETERS;
+    }
+
+    private int getStart(int index) {
+        return index == 0 ? firstStart : otherStarts[index - 1];
+    }
+
+    private int getEnd(int index) {
+        return index == 0 ? firstEnd : otherEnds[index - 1];
+    }
+
+    private int indexOf(String name) {
+        for (int i = 0; i < names.length; i++) {
+            if (names[i].equals(name)) {
+                return i;
+            }
+        }
+        throw new IllegalArgumentException("Неизвестный параметр пути: " + name);
+    }
+}
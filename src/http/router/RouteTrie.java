@@ -0,0 +1,107 @@
+package http.router;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+public class RouteTrie<T> {
+
+    private final Node<T> root = new Node<>();
+
+    public void add(String method, String pattern, T route) {
+        Node<T> node = root;
+        List<String> parameterNames = new ArrayList<>();
+        for (String segment : pattern.split("/")) {
+            if (segment.isEmpty()) {
+                continue;
+            }
+            if (segment.startsWith("{") && segment.endsWith("}")) {
+                String name = segment.substring(1, segment.length() - 1);
+                if (node.parameterChild == null) {
+                    node.parameterChild = new Node<>();
+                    node.parameterName = name;
+                } else if (!node.parameterName.equals(name)) {
+                    throw new IllegalArgumentException("Конфликт параметров пути в шаблоне: " + pattern);
+                }
+                parameterNames.add(name);
+                node = node.parameterChild;
+            } else {
+                node = node.getOrAddStaticChild(segment);
+            }
+        }
+        if (parameterNames.size() > PathParameters.getMaxParameters()) {
+            throw new IllegalArgumentException("Слишком много параметров пути в шаблоне: " + pattern);
+        }
+        if (node.routes.putIfAbsent(method, route) != null) {
+            throw new IllegalArgumentException("Маршрут уже зарегистрирован: " + method + " " + pattern);
+        }
+        node.parameterNames = parameterNames.toArray(new String[0]);
+    }
+
+    public Map<String, T> find(String path, PathParameters parameters) {
+        int end = path.length();
+        while (end > 0 && path.charAt(end - 1) == '/') {
+            end--;
+        }
+        Node<T> node = match(root, path, 1, end, 0, parameters);
+        if (node == null || node.routes.isEmpty()) {
+            return null;
+        }
+        parameters.setNames(node.parameterNames);
+        return node.routesView;
+    }
+
+    private Node<T> match(Node<T> node, String path, int start, int end, int parameterIndex,
+                          PathParameters parameters) {
+        if (start >= end) {
+            return node;
+        }
+        int segmentEnd = path.indexOf('/', start);
+        if (segmentEnd < 0 || segmentEnd > end) {
+            segmentEnd = end;
+        }
+        int length = segmentEnd - start;
+        if (length == 0) {
+            return null;
+        }
+        for (int i = 0; i < node.staticSegments.size(); i++) {
+            String segment = node.staticSegments.get(i);
+            if (segment.length() == length && path.regionMatches(start, segment, 0, length)) {
+                Node<T> result = match(node.staticChildren.get(i), path, segmentEnd + 1, end, parameterIndex,
+                        parameters);
+                if (result != null) {
+                    return result;
+                }
+            }
+        }
+        if (node.parameterChild != null && parameterIndex < PathParameters.getMaxParameters()) {
+            parameters.set(parameterIndex, start, segmentEnd);
+            return match(node.parameterChild, path, segmentEnd + 1, end, parameterIndex + 1, parameters);
+        }
+        return null;
+    }
+
+    private static class Node<T> {
+
+        private final List<String> staticSegments = new ArrayList<>();
+        private final List<Node<T>> staticChildren = new ArrayList<>();
+        private final Map<String, T> routes = new HashMap<>();
+        private final Map<String, T> routesView = Collections.unmodifiableMap(routes);
+        private Node<T> parameterChild;
+        private String parameterName;
+        private String[] parameterNames = new String[0];
+
+        private Node<T> getOrAddStaticChild(String segment) {
+            int index = staticSegments.indexOf(segment);
+            if (index >= 0) {
+                return staticChildren.get(index);
+            }
+            Node<T> child = new Node<>();
+            staticSegments.add(segment);
+            staticChildren.add(child);
+            return child;
+        }
+    }
+}
@@ -0,0 +1,97 @@
+package http.utils;
+
+import com.sun.net.httpserver.HttpExchange;
+import http.log.RequestLogger;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+
+public class EventSubscriber {
+
+    private final HttpExchange exchange;
+    private final OutputStream body;
+    private final Executor executor;
+    private final int maxQueuedBytes;
+    private final RequestLogger logger;
+    private final Deque<byte[]> queue = new ArrayDeque<>();
+    private int queuedBytes = 0;
+    private boolean isScheduled = false;
+    private boolean isClosed = false;
+
+    public EventSubscriber(HttpExchange exchange, Executor executor, int maxQueuedBytes, RequestLogger logger) {
+        this.exchange = exchange;
+        this.body = exchange.getResponseBody();
+        this.executor = executor;
+        this.maxQueuedBytes = maxQueuedBytes;
+        this.logger = logger;
+    }
+
+    public boolean offer(byte[] event) {
+        synchronized (this) {
+            if (isClosed) {
+                return false;
+            }
+            if (queuedBytes + event.length <= maxQueuedBytes) {
+                queue.addLast(event);
+                queuedBytes += event.length;
+                if (!isScheduled) {
+                    isScheduled = true;
+                    executor.execute(this::drain);
+                }
+                return true;
+            }
+        }
+        logger.warn("Подписчик событий не успевает читать поток и будет отключён");
+        close();
+        return false;
+    }
+
+    public void close() {
+        synchronized (this) {
+            if (isClosed) {
+                return;
+            }
+            isClosed = true;
+            queue.clear();
+            queuedBytes = 0;
+        }
+        try {
+            executor.execute(exchange::close);
+        } catch (RejectedExecutionException e) {
+            exchange.close();
+        }
+    }
+
+    private void drain() {
+        try {
+            byte[] event;
+            while ((event = poll()) != null) {
+                body.write(event);
+                if (written(event)) {
+                    body.flush();
+                }
+            }
+        } catch (IOException e) {
+            close();
+        }
+    }
+
+    private synchronized byte[] poll() {
+        byte[] event = queue.pollFirst();
+        if (event == null) {
+            isScheduled = false;
+        }
+        return event;
+    }
+
+    private synchronized boolean written(byte[] event) {
+        if (!isClosed) {
+            queuedBytes -= event.length;
+        }
+        return queue.isEmpty();
+    }
+}
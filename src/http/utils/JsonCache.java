@@ -0,0 +1,60 @@
+package http.utils;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+public class JsonCache {
+
+    private final long maxBytes;
+    private final Map<String, Entry> entries = new LinkedHashMap<>(16, 0.75f, true);
+    private long totalBytes = 0;
+
+    public JsonCache(long maxBytes) {
+        this.maxBytes = maxBytes;
+    }
+
+    public synchronized byte[] get(String key, long version) {
+        Entry entry = entries.get(key);
+        if (entry == null || entry.version != version) {
+            return null;
+        }
+        return entry.body;
+    }
+
+    public synchronized void put(String key, long version, byte[] body) {
+        Entry oldEntry = entries.remove(key);
+        if (oldEntry != null) {
+            totalBytes -= oldEntry.body.length;
+        }
+        if (body.length > maxBytes) {
+            return;
+        }
+        entries.put(key, new Entry(version, body));
+        totalBytes += body.length;
+        Iterator<Entry> iterator = entries.values().iterator();
+        while (totalBytes > maxBytes) {
+            totalBytes -= iterator.next().body.length;
+            iterator.remove();
+        }
+    }
+
+    public synchronized int size() {
+        return entries.size();
+    }
+
+    public synchronized long getTotalBytes() {
+        return totalBytes;
+    }
+
+    private static class Entry {
+
+        private final long version;
+        private final byte[] body;
+
+        private Entry(long version, byte[] body) {
+            this.version = version;
+            this.body = body;
+        }
+    }
+}
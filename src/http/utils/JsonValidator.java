@@ -2,6 +2,7 @@ package http.utils;
 
 import com.google.gson.JsonElement;
 import com.google.gson.JsonObject;
+import tasks.Type;
 
 import java.util.HashSet;
 import java.util.Set;
@@ -43,9 +44,42 @@ public final class JsonValidator {
         return isJsonValid(jsonElement, requiredFields);
     }
 
+    public static boolean isStatusJsonValid(JsonElement jsonElement) {
+        Set<String> requiredFields = new HashSet<>();
+        requiredFields.add("status");
+
+        return isJsonValid(jsonElement, requiredFields);
+    }
+
+    public static boolean isMutationJsonValid(JsonElement jsonElement, Type type) {
+        Set<String> requiredFields = new HashSet<>();
+        requiredFields.add("action");
+        if (!isJsonValid(jsonElement, requiredFields)) {
+            return false;
+        }
+
+        JsonElement action = jsonElement.getAsJsonObject().get("action");
+        if (!action.isJsonPrimitive()) {
+            return false;
+        }
+        if (action.getAsString().equals("DELETE")) {
+            requiredFields.add("id");
+            return isJsonValid(jsonElement, requiredFields);
+        }
+
+        requiredFields.add("task");
+        if (!isJsonValid(jsonElement, requiredFields)) {
+            return false;
+        }
+        JsonElement task = jsonElement.getAsJsonObject().get("task");
+        if (action.getAsString().equals("UPDATE") && !(task.isJsonObject() && task.getAsJsonObject().has("id"))) {
+            return false;
+        }
+        return type == Type.SUBTASK ? isSubTaskJsonValid(task) : isTaskJsonValid(task);
+    }
+
     private static boolean isJsonValid(JsonElement jsonElement, Set<String> requiredFields) {
         if (!jsonElement.isJsonObject()) {
-            System.out.println("Тело запроса не является объектом JSON");
             return false;
         }
 
@@ -53,16 +87,13 @@ public final class JsonValidator {
 
         for (String field : requiredFields) {
             if (!jsonObject.has(field)) {
-                System.out.println("Отсутствует обязательное поле: " + field);
                 return false;
             }
             if (jsonObject.get(field).isJsonNull()) {
-                System.out.println("Обязательное поле '" + field + "' имеет значение null");
                 return false;
             }
         }
 
-        System.out.println("JSON корректен: все обязательные поля присутствуют.");
         return true;
     }
 }
\ No newline at end of file
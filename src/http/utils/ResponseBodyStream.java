@@ -0,0 +1,63 @@
+package http.utils;
+
+import com.sun.net.httpserver.HttpExchange;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+
+public class ResponseBodyStream extends OutputStream {
+
+    private final HttpExchange exchange;
+    private final int responseCode;
+    private final String encoding;
+    private final int compressionThreshold;
+    private ByteArrayOutputStream buffer = new ByteArrayOutputStream();
+    private OutputStream body;
+
+    public ResponseBodyStream(HttpExchange exchange, int responseCode, String encoding, int compressionThreshold) {
+        this.exchange = exchange;
+        this.responseCode = responseCode;
+        this.encoding = encoding;
+        this.compressionThreshold = compressionThreshold;
+    }
+
+    @Override
+    public void write(int b) throws IOException {
+        write(new byte[]{(byte) b}, 0, 1);
+    }
+
+    @Override
+    public void write(byte[] bytes, int offset, int length) throws IOException {
+        if (body != null) {
+            body.write(bytes, offset, length);
+            return;
+        }
+        buffer.write(bytes, offset, length);
+        if (buffer.size() >= compressionThreshold) {
+            startChunkedBody();
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        if (body == null) {
+            byte[] bytes = buffer.toByteArray();
+            exchange.sendResponseHeaders(responseCode, bytes.length == 0 ? -1 : bytes.length);
+            exchange.getResponseBody().write(bytes);
+            exchange.getResponseBody().close();
+        } else {
+            body.close();
+        }
+    }
+
+    private void startChunkedBody() throws IOException {
+        if (encoding != null) {
+            exchange.getResponseHeaders().set("Content-Encoding", encoding);
+        }
+        exchange.sendResponseHeaders(responseCode, 0);
+        body = CompressionUtils.compress(exchange.getResponseBody(), encoding);
+        buffer.writeTo(body);
+        buffer = null;
+    }
+}
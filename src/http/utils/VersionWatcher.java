@@ -0,0 +1,156 @@
+package http.utils;
+
+import manager.Change;
+import manager.TaskManager;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Consumer;
+
+public class VersionWatcher {
+
+    private static final long CLOSE_TIMEOUT_SECONDS = 1;
+
+    private final TaskManager taskManager;
+    private final Map<Integer, List<Waiter>> waitersById = new HashMap<>();
+    private final Consumer<Change> changeListener = this::notifyWaiters;
+    private final ScheduledThreadPoolExecutor timer;
+    private final ExecutorService responder;
+    private boolean isClosed = false;
+
+    public VersionWatcher(TaskManager taskManager) {
+        this.taskManager = taskManager;
+        timer = new ScheduledThreadPoolExecutor(1, runnable -> {
+            Thread thread = new Thread(runnable, "version-watcher");
+            thread.setDaemon(true);
+            return thread;
+        });
+        timer.setExecuteExistingDelayedTasksAfterShutdownPolicy(false);
+        timer.setRemoveOnCancelPolicy(true);
+        responder = Executors.newCachedThreadPool(runnable -> {
+            Thread thread = new Thread(runnable, "version-watcher-responder");
+            thread.setDaemon(true);
+            return thread;
+        });
+        taskManager.addChangeListener(changeListener);
+    }
+
+    public void watch(int id, Duration timeout, Consumer<Change> onChange, Runnable onTimeout) {
+        Waiter waiter = new Waiter(onChange, onTimeout);
+        boolean isAccepted;
+        synchronized (waitersById) {
+            isAccepted = !isClosed;
+            if (isAccepted) {
+                waitersById.computeIfAbsent(id, key -> new ArrayList<>()).add(waiter);
+            }
+        }
+        if (!isAccepted) {
+            onTimeout.run();
+            return;
+        }
+        try {
+            waiter.timeoutFuture = timer.schedule(() -> {
+                if (waiter.complete()) {
+                    removeWaiter(id, waiter);
+                    respond(onTimeout);
+                }
+            }, timeout.toMillis(), TimeUnit.MILLISECONDS);
+        } catch (RejectedExecutionException e) {
+            if (waiter.complete()) {
+                onTimeout.run();
+            }
+        }
+    }
+
+    public void close() {
+        taskManager.removeChangeListener(changeListener);
+        List<Waiter> pendingWaiters = new ArrayList<>();
+        synchronized (waitersById) {
+            isClosed = true;
+            waitersById.values().forEach(pendingWaiters::addAll);
+            waitersById.clear();
+        }
+        for (Waiter waiter : pendingWaiters) {
+            if (waiter.complete()) {
+                waiter.cancelTimeout();
+                respond(waiter.onTimeout);
+            }
+        }
+        timer.shutdownNow();
+        responder.shutdown();
+        try {
+            if (!responder.awaitTermination(CLOSE_TIMEOUT_SECONDS, TimeUnit.SECONDS)) {
+                responder.shutdownNow();
+            }
+        } catch (InterruptedException e) {
+            responder.shutdownNow();
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void notifyWaiters(Change change) {
+        List<Waiter> waiters;
+        synchronized (waitersById) {
+            waiters = waitersById.remove(change.getId());
+        }
+        if (waiters == null) {
+            return;
+        }
+        for (Waiter waiter : waiters) {
+            if (waiter.complete()) {
+                waiter.cancelTimeout();
+                respond(() -> waiter.onChange.accept(change));
+            }
+        }
+    }
+
+    private void respond(Runnable response) {
+        try {
+            responder.execute(response);
+        } catch (RejectedExecutionException e) {
+            response.run();
+        }
+    }
+
+    private void removeWaiter(int id, Waiter waiter) {
+        synchronized (waitersById) {
+            List<Waiter> waiters = waitersById.get(id);
+            if (waiters != null && waiters.remove(waiter) && waiters.isEmpty()) {
+                waitersById.remove(id);
+            }
+        }
+    }
+
+    private static class Waiter {
+
+        private final Consumer<Change> onChange;
+        private final Runnable onTimeout;
+        private final AtomicBoolean isCompleted = new AtomicBoolean(false);
+        private volatile ScheduledFuture<?> timeoutFuture;
+
+        private Waiter(Consumer<Change> onChange, Runnable onTimeout) {
+            this.onChange = onChange;
+            this.onTimeout = onTimeout;
+        }
+
+        private boolean complete() {
+            return isCompleted.compareAndSet(false, true);
+        }
+
+        private void cancelTimeout() {
+            if (timeoutFuture != null) {
+                timeoutFuture.cancel(false);
+            }
+        }
+    }
+}
@@ -0,0 +1,16 @@
+package manager;
+
+import tasks.Task;
+
+import java.util.List;
+
+public interface AccessStatisticsManager {
+
+    void add(Task task);
+
+    void remove(int id);
+
+    List<TaskAccessCount> getHotTasks(int limit);
+
+    List<TaskAccessCount> getHotTasksForCurrentHour(int limit);
+}
@@ -0,0 +1,43 @@
+package manager;
+
+import tasks.Task;
+import tasks.Type;
+
+public class Change {
+
+    public enum Action {
+        CREATED,
+        UPDATED,
+        DELETED
+    }
+
+    private final long sequence;
+    private final Action action;
+    private final Task task;
+
+    Change(long sequence, Action action, Task task) {
+        this.sequence = sequence;
+        this.action = action;
+        this.task = task;
+    }
+
+    public long getSequence() {
+        return sequence;
+    }
+
+    public Action getAction() {
+        return action;
+    }
+
+    public Type getType() {
+        return task.getType();
+    }
+
+    public int getId() {
+        return task.getId();
+    }
+
+    public Task getTask() {
+        return task;
+    }
+}
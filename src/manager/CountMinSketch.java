@@ -0,0 +1,50 @@
+package manager;
+
+import java.util.Arrays;
+
+class CountMinSketch {
+
+    private static final long[] SEEDS = {
+            0x9E3779B97F4A7C15L, 0xC2B2AE3D27D4EB4FL, 0x165667B19E3779F9L, 0xD6E8FEB86659FD93L
+    };
+
+    private final long[][] counters;
+    private final int mask;
+
+    CountMinSketch(int width) {
+        if (Integer.bitCount(width) != 1) {
+            throw new IllegalArgumentException("Ширина скетча должна быть степенью двойки: " + width);
+        }
+        counters = new long[SEEDS.length][width];
+        mask = width - 1;
+    }
+
+    long add(int key) {
+        long estimate = Long.MAX_VALUE;
+        for (int row = 0; row < SEEDS.length; row++) {
+            int column = index(key, row);
+            estimate = Math.min(estimate, ++counters[row][column]);
+        }
+        return estimate;
+    }
+
+    long estimate(int key) {
+        long estimate = Long.MAX_VALUE;
+        for (int row = 0; row < SEEDS.length; row++) {
+            estimate = Math.min(estimate, counters[row][index(key, row)]);
+        }
+        return estimate;
+    }
+
+    void clear() {
+        for (long[] row : counters) {
+            Arrays.fill(row, 0);
+        }
+    }
+
+    private int index(int key, int row) {
+        long hash = (key + 1) * SEEDS[row];
+        hash ^= hash >>> 32;
+        return (int) hash & mask;
+    }
+}
@@ -0,0 +1,146 @@
+package manager;
+
+import exceptions.ManagerSaveException;
+import tasks.Task;
+
+import java.io.*;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.function.IntFunction;
+
+public class FileBackedHistoryManager implements HistoryManager {
+
+    private static final String ADD_RECORD = "ADD";
+    private static final String REMOVE_RECORD = "REMOVE";
+    private static final int MIN_RECORDS_BEFORE_COMPACTION = 100;
+    private static final String TEMP_FILE_SUFFIX = ".tmp";
+
+    private final File file;
+    private final HistoryManager historyManager;
+    private final Set<Integer> historyIds = new HashSet<>();
+    private int recordsCounter = 0;
+    private boolean isSynced = false;
+    private Writer appender;
+
+    public FileBackedHistoryManager(File file) {
+        this.file = file;
+        this.historyManager = Manager.getDefaultHistory();
+    }
+
+    @Override
+    public synchronized void add(Task task) {
+        historyManager.add(task);
+        historyIds.add(task.getId());
+        append(ADD_RECORD, task.getId());
+    }
+
+    @Override
+    public List<Task> getHistory() {
+        return historyManager.getHistory();
+    }
+
+    @Override
+    public Page<Task> getHistoryPage(Long cursor, int limit) {
+        return historyManager.getHistoryPage(cursor, limit);
+    }
+
+    @Override
+    public synchronized void remove(int id) {
+        if (!historyIds.remove(id)) {
+            return;
+        }
+        historyManager.remove(id);
+        append(REMOVE_RECORD, id);
+    }
+
+    synchronized void restore(IntFunction<Task> taskById) {
+        if (file.exists()) {
+            try (BufferedReader reader = new BufferedReader(new FileReader(file))) {
+                String line;
+                while ((line = reader.readLine()) != null) {
+                    if (!line.isBlank()) {
+                        restoreRecord(line, taskById);
+                    }
+                }
+            } catch (IOException e) {
+                throw new ManagerSaveException("Не удалось прочитать историю просмотров из файла");
+            }
+        }
+        compact();
+    }
+
+    synchronized void compact() {
+        File tempFile = new File(file.getPath() + TEMP_FILE_SUFFIX);
+        try {
+            closeAppender();
+            try (Writer writer = new BufferedWriter(new FileWriter(tempFile))) {
+                for (Task task : historyManager.getHistory()) {
+                    writer.write(ADD_RECORD + "," + task.getId() + "\n");
+                }
+            }
+            Files.move(tempFile.toPath(), file.toPath(), StandardCopyOption.ATOMIC_MOVE,
+                    StandardCopyOption.REPLACE_EXISTING);
+        } catch (IOException e) {
+            tempFile.delete();
+            throw new ManagerSaveException("Ошибка сохранения истории просмотров в файл");
+        }
+        recordsCounter = historyIds.size();
+        isSynced = true;
+    }
+
+    private void restoreRecord(String line, IntFunction<Task> taskById) {
+        String[] fields = line.split(",");
+        if (fields.length < 2) {
+            return;
+        }
+        int id;
+        try {
+            id = Integer.parseInt(fields[1]);
+        } catch (NumberFormatException e) {
+            return;
+        }
+        if (fields[0].equals(ADD_RECORD)) {
+            Task task = taskById.apply(id);
+            if (task != null) {
+                historyManager.add(task);
+                historyIds.add(id);
+            }
+        } else if (fields[0].equals(REMOVE_RECORD) && historyIds.remove(id)) {
+            historyManager.remove(id);
+        }
+    }
+
+    private void append(String recordType, int id) {
+        if (!isSynced || recordsCounter >= Math.max(MIN_RECORDS_BEFORE_COMPACTION, historyIds.size() * 2)) {
+            compact();
+            return;
+        }
+        try {
+            if (appender == null) {
+                appender = new BufferedWriter(new FileWriter(file, true));
+            }
+            appender.write(recordType + "," + id + "\n");
+            appender.flush();
+        } catch (IOException e) {
+            closeAppender();
+            isSynced = false;
+            throw new ManagerSaveException("Ошибка сохранения истории просмотров в файл");
+        }
+        recordsCounter++;
+    }
+
+    private void closeAppender() {
+        if (appender == null) {
+            return;
+        }
+        try {
+            appender.close();
+        } catch (IOException ignored) {
+            isSynced = false;
+        }
+        appender = null;
+    }
+}
@@ -2,6 +2,7 @@ package manager;
 
 import exceptions.ManagerSaveException;
 import tasks.Epic;
+import tasks.Status;
 import tasks.SubTask;
 import tasks.Task;
 import utils.CSVTaskFormatUtils;
@@ -9,14 +10,18 @@ import utils.CSVTaskFormatUtils;
 import java.io.*;
 import java.util.Collections;
 import java.util.HashSet;
+import java.util.List;
 import java.util.Set;
 import java.util.stream.Stream;
 
 public class FileBackedTaskManager extends InMemoryTaskManager {
 
+    private static final String HISTORY_FILE_SUFFIX = ".history";
+
     private final File file;
 
     public FileBackedTaskManager(File file) {
+        super(new FileBackedHistoryManager(new File(file.getPath() + HISTORY_FILE_SUFFIX)));
         this.file = file;
     }
 
@@ -62,6 +67,12 @@ public class FileBackedTaskManager extends InMemoryTaskManager {
         return isUpdated;
     }
 
+    @Override
+    public void setStatusForEpicSubTasks(int epicId, Status status) {
+        super.setStatusForEpicSubTasks(epicId, status);
+        save();
+    }
+
     @Override
     public void deleteTask(int taskId) {
         super.deleteTask(taskId);
@@ -98,6 +109,13 @@ public class FileBackedTaskManager extends InMemoryTaskManager {
         save();
     }
 
+    @Override
+    public List<Integer> applyBatch(List<Mutation> mutations) {
+        List<Integer> ids = super.applyBatch(mutations);
+        save();
+        return ids;
+    }
+
     private void save() {
         try (Writer writer = new BufferedWriter(new FileWriter(file))) {
             writer.write(CSVTaskFormatUtils.getCSVTitle() + "\n");
@@ -153,6 +171,17 @@ public class FileBackedTaskManager extends InMemoryTaskManager {
             taskManager.idCounter = Collections.max(taskIds);
         }
 
+        Stream.concat(Stream.concat(taskManager.tasks.values().stream(), taskManager.epics.values().stream()),
+                        taskManager.subTasks.values().stream())
+                .forEach(task -> {
+                    task.freeze();
+                    taskManager.statusIndex.add(task);
+                    taskManager.searchIndex.add(task);
+                });
+        taskManager.tasks.values().forEach(taskManager.taskNameIndex::add);
+
+        ((FileBackedHistoryManager) taskManager.historyManager).restore(taskManager::findTaskById);
+
         return taskManager;
     }
 
@@ -10,5 +10,7 @@ public interface HistoryManager {
 
     List<Task> getHistory();
 
+    Page<Task> getHistoryPage(Long cursor, int limit);
+
     void remove(int id);
 }
@@ -0,0 +1,106 @@
+package manager;
+
+import tasks.Task;
+
+import java.time.Clock;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.*;
+
+public class InMemoryAccessStatisticsManager implements AccessStatisticsManager {
+
+    private static final int SKETCH_WIDTH = 2048;
+    private static final int TOP_CAPACITY = 100;
+
+    private final Clock clock;
+    private final Window overallWindow = new Window();
+    private final Window hourlyWindow = new Window();
+    private LocalDateTime currentHour;
+
+    public InMemoryAccessStatisticsManager() {
+        this(Clock.systemDefaultZone());
+    }
+
+    InMemoryAccessStatisticsManager(Clock clock) {
+        this.clock = clock;
+        this.currentHour = LocalDateTime.now(clock).truncatedTo(ChronoUnit.HOURS);
+    }
+
+    @Override
+    public synchronized void add(Task task) {
+        rotateHourlyWindow();
+        overallWindow.add(task.getId());
+        hourlyWindow.add(task.getId());
+    }
+
+    @Override
+    public synchronized void remove(int id) {
+        overallWindow.remove(id);
+        hourlyWindow.remove(id);
+    }
+
+    @Override
+    public synchronized List<TaskAccessCount> getHotTasks(int limit) {
+        return overallWindow.getTop(limit);
+    }
+
+    @Override
+    public synchronized List<TaskAccessCount> getHotTasksForCurrentHour(int limit) {
+        rotateHourlyWindow();
+        return hourlyWindow.getTop(limit);
+    }
+
+    private void rotateHourlyWindow() {
+        LocalDateTime hour = LocalDateTime.now(clock).truncatedTo(ChronoUnit.HOURS);
+        if (!hour.equals(currentHour)) {
+            hourlyWindow.clear();
+            currentHour = hour;
+        }
+    }
+
+    private static class Window {
+        private final CountMinSketch sketch = new CountMinSketch(SKETCH_WIDTH);
+        private final Map<Integer, Long> topCounts = new HashMap<>();
+        private final PriorityQueue<Integer> topIds = new PriorityQueue<>(
+                Comparator.comparing((Integer id) -> topCounts.get(id)).thenComparing(Comparator.reverseOrder())
+        );
+
+        private void add(int id) {
+            long estimate = sketch.add(id);
+            if (topCounts.containsKey(id)) {
+                topIds.remove(id);
+                topCounts.put(id, estimate);
+                topIds.add(id);
+            } else if (topCounts.size() < TOP_CAPACITY) {
+                topCounts.put(id, estimate);
+                topIds.add(id);
+            } else if (estimate > topCounts.get(topIds.peek())) {
+                topCounts.remove(topIds.poll());
+                topCounts.put(id, estimate);
+                topIds.add(id);
+            }
+        }
+
+        private void remove(int id) {
+            if (topCounts.containsKey(id)) {
+                topIds.remove(id);
+                topCounts.remove(id);
+            }
+        }
+
+        private List<TaskAccessCount> getTop(int limit) {
+            return topCounts.entrySet().stream()
+                    .sorted(Map.Entry.<Integer, Long>comparingByValue().reversed()
+                            .thenComparing(Map.Entry.comparingByKey()))
+                    .limit(limit)
+                    .map(entry -> new TaskAccessCount(entry.getKey(), entry.getValue()))
+                    .toList();
+        }
+
+        private void clear() {
+            sketch.clear();
+            topCounts.clear();
+            topIds.clear();
+        }
+    }
+}
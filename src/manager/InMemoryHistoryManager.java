@@ -6,15 +6,19 @@ import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.NavigableMap;
+import java.util.TreeMap;
 
 public class InMemoryHistoryManager implements HistoryManager {
 
     private Node head;
     private Node tail;
     private final Map<Integer, Node> nodeMap = new HashMap<>();
+    private final NavigableMap<Long, Node> nodesBySequence = new TreeMap<>();
+    private long sequenceCounter = 0;
 
     @Override
-    public final void add(Task task) {
+    public final synchronized void add(Task task) {
         if (nodeMap.containsKey(task.getId())) {
             remove(task.getId());
         }
@@ -22,7 +26,7 @@ public class InMemoryHistoryManager implements HistoryManager {
     }
 
     @Override
-    public final void remove(int id) {
+    public final synchronized void remove(int id) {
         Node node = nodeMap.remove(id);
         if (node != null) {
             removeNode(node);
@@ -30,12 +34,19 @@ public class InMemoryHistoryManager implements HistoryManager {
     }
 
     @Override
-    public final List<Task> getHistory() {
+    public final synchronized List<Task> getHistory() {
         return getTasks();
     }
 
+    @Override
+    public final synchronized Page<Task> getHistoryPage(Long cursor, int limit) {
+        NavigableMap<Long, Node> nodes = cursor == null ? nodesBySequence : nodesBySequence.tailMap(cursor, false);
+        Page<Node> page = Page.of(nodes.values().iterator(), limit, node -> node.sequence);
+        return new Page<>(page.getItems().stream().map(node -> node.task).toList(), page.getNextCursor());
+    }
+
     private void linkLast(Task task) {
-        Node newNode = new Node(task, tail, null);
+        Node newNode = new Node(task, tail, null, ++sequenceCounter);
         if (tail != null) {
             tail.next = newNode;
         } else {
@@ -43,9 +54,11 @@ public class InMemoryHistoryManager implements HistoryManager {
         }
         tail = newNode;
         nodeMap.put(task.getId(), newNode);
+        nodesBySequence.put(newNode.sequence, newNode);
     }
 
     private void removeNode(Node node) {
+        nodesBySequence.remove(node.sequence);
         if (node.prev != null) {
             node.prev.next = node.next;
         } else {
@@ -73,11 +86,13 @@ public class InMemoryHistoryManager implements HistoryManager {
         Task task;
         Node prev;
         Node next;
+        final long sequence;
 
-        private Node(Task task, Node prev, Node next) {
+        private Node(Task task, Node prev, Node next, long sequence) {
             this.task = task;
             this.prev = prev;
             this.next = next;
+            this.sequence = sequence;
         }
     }
 }
\ No newline at end of file
@@ -6,26 +6,47 @@ import tasks.Epic;
 import tasks.Status;
 import tasks.SubTask;
 import tasks.Task;
+import tasks.Type;
 
 import java.time.Duration;
 import java.time.LocalDateTime;
 import java.util.*;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.ConcurrentSkipListSet;
+import java.util.function.Consumer;
 
 public class InMemoryTaskManager implements TaskManager {
 
+    private static final long FREE_SLOT_GAP_MILLIS = Duration.ofMinutes(1).toMillis();
+    private static final int CHANGE_LOG_CAPACITY = 1000;
+
     protected int idCounter = 0;
-    protected final Map<Integer, Task> tasks;
-    protected final Map<Integer, Epic> epics;
-    protected final Map<Integer, SubTask> subTasks;
+    protected final NavigableMap<Integer, Task> tasks;
+    protected final NavigableMap<Integer, Epic> epics;
+    protected final NavigableMap<Integer, SubTask> subTasks;
     protected final HistoryManager historyManager;
-    protected final Set<Task> prioritizedTasks;
+    protected final AccessStatisticsManager accessStatisticsManager;
+    protected final NavigableSet<Task> prioritizedTasks;
+    protected final TaskStatusIndex statusIndex;
+    protected final TaskSearchIndex searchIndex;
+    protected final TaskNameIndex taskNameIndex;
+    protected final VersionTracker versionTracker;
 
     InMemoryTaskManager() {
-        tasks = new HashMap<>();
-        epics = new HashMap<>();
-        subTasks = new HashMap<>();
-        historyManager = Manager.getDefaultHistory();
-        prioritizedTasks = new TreeSet<>(Comparator.comparing(Task::getStartTime));
+        this(Manager.getDefaultHistory());
+    }
+
+    InMemoryTaskManager(HistoryManager historyManager) {
+        tasks = new ConcurrentSkipListMap<>();
+        epics = new ConcurrentSkipListMap<>();
+        subTasks = new ConcurrentSkipListMap<>();
+        this.historyManager = historyManager;
+        accessStatisticsManager = Manager.getDefaultAccessStatistics();
+        prioritizedTasks = new ConcurrentSkipListSet<>(Comparator.comparingLong(Task::getStartEpochMilli));
+        statusIndex = new TaskStatusIndex();
+        searchIndex = new TaskSearchIndex();
+        taskNameIndex = new TaskNameIndex();
+        versionTracker = new VersionTracker(System.currentTimeMillis() * 1000, CHANGE_LOG_CAPACITY);
     }
 
     @Override
@@ -36,22 +57,26 @@ public class InMemoryTaskManager implements TaskManager {
             throw new EntityIntersectionException("Создаваемая задача пересекается по времени с уже существующими задачами");
         }
 
-        newTask.setId(generateId());
-        tasks.put(newTask.getId(), newTask);
-        if (newTask.getStartTime() != null && newTask.getEndTime() != null) {
-            prioritizedTasks.add(newTask);
-        }
+        Task task = newTask.copy();
+        task.setId(generateId());
+        task.freeze();
+        putTask(task);
 
-        return newTask.getId();
+        return task.getId();
     }
 
     @Override
     public int createEpic(Epic newEpic) {
-        newEpic.setId(generateId());
-        updateEpicStatus(newEpic);
-        epics.put(newEpic.getId(), newEpic);
+        Epic epic = newEpic.copy();
+        epic.setId(generateId());
+        updateEpicStatus(epic);
+        epic.freeze();
+        epics.put(epic.getId(), epic);
+        versionTracker.entityChanged(null, epic);
+        statusIndex.add(epic);
+        searchIndex.add(epic);
 
-        return newEpic.getId();
+        return epic.getId();
     }
 
     @Override
@@ -64,15 +89,14 @@ public class InMemoryTaskManager implements TaskManager {
 
         int epicId = newSubTask.getEpicId();
         if (epics.containsKey(epicId)) {
-            newSubTask.setId(generateId());
-            int subTaskId = newSubTask.getId();
-            epics.get(epicId).addSubTaskId(subTaskId);
-            subTasks.put(subTaskId, newSubTask);
-            if (newSubTask.getStartTime() != null && newSubTask.getEndTime() != null) {
-                prioritizedTasks.add(newSubTask);
-            }
-            updateEpicStatus(epics.get(epicId));
-            updateEpicTime(epics.get(epicId));
+            SubTask subTask = newSubTask.copy();
+            subTask.setId(generateId());
+            int subTaskId = subTask.getId();
+            subTask.freeze();
+            putSubTask(subTask);
+            Epic epic = epics.get(epicId).copy();
+            epic.addSubTaskId(subTaskId);
+            replaceEpic(epic);
 
             return subTaskId;
         } else {
@@ -97,11 +121,9 @@ public class InMemoryTaskManager implements TaskManager {
             throw new EntityIntersectionException("Обновляемая задача пересекается по времени с уже существующими задачами");
         }
 
-        tasks.put(updatedTaskId, updatedTask);
-        prioritizedTasks.remove(existingTask);
-        if (updatedTask.getStartTime() != null && updatedTask.getEndTime() != null) {
-            prioritizedTasks.add(updatedTask);
-        }
+        Task task = updatedTask.copy();
+        task.freeze();
+        putTask(task);
 
         return true;
     }
@@ -111,8 +133,14 @@ public class InMemoryTaskManager implements TaskManager {
         int updatedEpicId = updatedEpic.getId();
         Epic existingEpic = epics.get(updatedEpicId);
         if (existingEpic != null) {
-            existingEpic.setName(updatedEpic.getName());
-            existingEpic.setDescription(updatedEpic.getDescription());
+            Epic epic = existingEpic.copy();
+            epic.setName(updatedEpic.getName());
+            epic.setDescription(updatedEpic.getDescription());
+            epic.freeze();
+            epics.put(updatedEpicId, epic);
+            versionTracker.entityChanged(existingEpic, epic);
+            statusIndex.replace(existingEpic, epic);
+            searchIndex.replace(existingEpic, epic);
             return true;
         } else {
             throw new EntityNotFoundException("Не найден эпик с updatedEpicId: " + updatedEpicId);
@@ -146,24 +174,41 @@ public class InMemoryTaskManager implements TaskManager {
             throw new EntityNotFoundException("epicId новой подзадачи не равен epicId существующей подзадачи");
         }
 
-        subTasks.put(updatedSubTaskId, updatedSubTask);
-        prioritizedTasks.remove(existingSubTask);
-        if (updatedSubTask.getStartTime() != null && updatedSubTask.getEndTime() != null) {
-            prioritizedTasks.add(updatedSubTask);
-        }
-        updateEpicStatus(existingEpic);
-        updateEpicTime(existingEpic);
+        SubTask subTask = updatedSubTask.copy();
+        subTask.freeze();
+        putSubTask(subTask);
+        replaceEpic(existingEpic.copy());
 
         return true;
     }
 
+    @Override
+    public void setStatusForEpicSubTasks(int epicId, Status status) {
+        Epic epic = epics.get(epicId);
+        if (epic == null) {
+            throw new EntityNotFoundException("Не найден эпик с epicId: " + epicId);
+        }
+
+        for (Integer subTaskId : epic.getSubTaskIdList()) {
+            SubTask existingSubTask = subTasks.get(subTaskId);
+            if (existingSubTask.getStatus() == status) {
+                continue;
+            }
+            SubTask subTask = existingSubTask.copy();
+            subTask.setStatus(status);
+            subTask.freeze();
+            putSubTask(subTask);
+        }
+        replaceEpic(epic.copy());
+    }
+
     @Override
     public final Task getTask(int taskId) {
         Task task = tasks.get(taskId);
         if (task == null) {
             throw new EntityNotFoundException("Не найдена задача с id: " + taskId);
         }
-        historyManager.add(task);
+        recordView(task);
         return task;
     }
 
@@ -173,7 +218,7 @@ public class InMemoryTaskManager implements TaskManager {
         if (epic == null) {
             throw new EntityNotFoundException("Не найден эпик с id: " + epicId);
         }
-        historyManager.add(epic);
+        recordView(epic);
         return epic;
     }
 
@@ -183,7 +228,7 @@ public class InMemoryTaskManager implements TaskManager {
         if (subTask == null) {
             throw new EntityNotFoundException("Не найдена подзадача с id: " + subTaskId);
         }
-        historyManager.add(subTask);
+        recordView(subTask);
         return subTask;
     }
 
@@ -202,15 +247,67 @@ public class InMemoryTaskManager implements TaskManager {
         return new ArrayList<>(subTasks.values());
     }
 
+    @Override
+    public final Page<Task> getTasksPage(Long cursor, int limit) {
+        return getEntitiesPage(tasks, cursor, limit);
+    }
+
+    @Override
+    public final Page<Epic> getEpicsPage(Long cursor, int limit) {
+        return getEntitiesPage(epics, cursor, limit);
+    }
+
+    @Override
+    public final Page<SubTask> getSubTasksPage(Long cursor, int limit) {
+        return getEntitiesPage(subTasks, cursor, limit);
+    }
+
+    @Override
+    public final List<Task> getTasksByIds(List<Integer> ids, boolean addToHistory) {
+        return getEntitiesByIds(tasks, ids, addToHistory);
+    }
+
+    @Override
+    public final List<Epic> getEpicsByIds(List<Integer> ids, boolean addToHistory) {
+        return getEntitiesByIds(epics, ids, addToHistory);
+    }
+
+    @Override
+    public final List<SubTask> getSubTasksByIds(List<Integer> ids, boolean addToHistory) {
+        return getEntitiesByIds(subTasks, ids, addToHistory);
+    }
+
+    @Override
+    public final List<Task> getTasksByStatus(Status status) {
+        return statusIndex.getIds(Type.TASK, status).stream()
+                .map(tasks::get)
+                .filter(Objects::nonNull)
+                .toList();
+    }
+
+    @Override
+    public final List<Epic> getEpicsByStatus(Status status) {
+        return statusIndex.getIds(Type.EPIC, status).stream()
+                .map(epics::get)
+                .filter(Objects::nonNull)
+                .toList();
+    }
+
+    @Override
+    public final List<SubTask> getSubTasksByStatus(Status status) {
+        return statusIndex.getIds(Type.SUBTASK, status).stream()
+                .map(subTasks::get)
+                .filter(Objects::nonNull)
+                .toList();
+    }
+
     @Override
     public void deleteTask(int taskId) {
         Task task = tasks.get(taskId);
         if (task == null) {
             throw new EntityNotFoundException("Не найдена задача по указанному id: " + taskId);
         }
-        tasks.remove(taskId);
-        historyManager.remove(taskId);
-        prioritizedTasks.remove(task);
+        removeTaskEntry(task);
     }
 
     @Override
@@ -223,12 +320,20 @@ public class InMemoryTaskManager implements TaskManager {
             SubTask subTask = subTasks.get(subTaskId);
             if (subTask != null) {
                 prioritizedTasks.remove(subTask);
+                statusIndex.remove(subTask);
+                searchIndex.remove(subTask);
+                versionTracker.entityRemoved(subTask);
             }
             subTasks.remove(subTaskId);
             historyManager.remove(subTaskId);
+            accessStatisticsManager.remove(subTaskId);
         });
-        epics.remove(epicId);
+        Epic epic = epics.remove(epicId);
+        statusIndex.remove(epic);
+        searchIndex.remove(epic);
+        versionTracker.entityRemoved(epic);
         historyManager.remove(epicId);
+        accessStatisticsManager.remove(epicId);
     }
 
     @Override
@@ -240,35 +345,49 @@ public class InMemoryTaskManager implements TaskManager {
         int epicId = subTask.getEpicId();
         Epic epic = epics.get(epicId);
         if (epic == null) {
-            System.out.println("Для подзадачи с subTaskId: " + subTaskId + " не найден эпик с subTaskId: " + epicId);
-            subTasks.remove(subTaskId);
+            removeSubTaskEntry(subTask);
             return;
         }
-        epic.deleteSubTaskId(subTaskId);
-        subTasks.remove(subTaskId);
-        updateEpicStatus(epic);
-        updateEpicTime(epic);
-        historyManager.remove(subTaskId);
-        prioritizedTasks.remove(subTask);
+        Epic updatedEpic = epic.copy();
+        updatedEpic.deleteSubTaskId(subTaskId);
+        removeSubTaskEntry(subTask);
+        replaceEpic(updatedEpic);
     }
 
     @Override
     public void deleteAllTasks() {
         tasks.keySet().forEach(id -> {
             historyManager.remove(id);
+            accessStatisticsManager.remove(id);
             prioritizedTasks.remove(tasks.get(id));
         });
+        tasks.values().forEach(searchIndex::remove);
+        tasks.values().forEach(versionTracker::entityRemoved);
         tasks.clear();
+        statusIndex.clear(Type.TASK);
+        taskNameIndex.clear();
     }
 
     @Override
     public void deleteAllEpics() {
-        epics.keySet().forEach(historyManager::remove);
+        epics.keySet().forEach(id -> {
+            historyManager.remove(id);
+            accessStatisticsManager.remove(id);
+        });
+        epics.values().forEach(searchIndex::remove);
+        epics.values().forEach(versionTracker::entityRemoved);
         epics.clear();
+        statusIndex.clear(Type.EPIC);
 
-        subTasks.keySet().forEach(historyManager::remove);
+        subTasks.keySet().forEach(id -> {
+            historyManager.remove(id);
+            accessStatisticsManager.remove(id);
+        });
         subTasks.values().forEach(prioritizedTasks::remove);
+        subTasks.values().forEach(searchIndex::remove);
+        subTasks.values().forEach(versionTracker::entityRemoved);
         subTasks.clear();
+        statusIndex.clear(Type.SUBTASK);
     }
 
     @Override
@@ -282,15 +401,19 @@ public class InMemoryTaskManager implements TaskManager {
                 processedEpics.add(epic);
             }
             historyManager.remove(id);
+            accessStatisticsManager.remove(id);
             prioritizedTasks.remove(subTask);
+            searchIndex.remove(subTask);
+            versionTracker.entityRemoved(subTask);
         });
 
         subTasks.clear();
+        statusIndex.clear(Type.SUBTASK);
 
         processedEpics.forEach(processedEpic -> {
-            processedEpic.deleteAllSubTaskId();
-            updateEpicStatus(processedEpic);
-            updateEpicTime(processedEpic);
+            Epic epic = processedEpic.copy();
+            epic.deleteAllSubTaskId();
+            replaceEpic(epic);
         });
     }
 
@@ -300,16 +423,78 @@ public class InMemoryTaskManager implements TaskManager {
         if (epic == null) {
             throw new EntityNotFoundException("Не существует эпика с epicId: " + epicId);
         }
-        ArrayList<Integer> subTaskIdList = epic.getSubTaskIdList();
-        ArrayList<SubTask> subTasksByEpic = new ArrayList<>();
-        subTaskIdList.forEach(subTaskId -> subTasksByEpic.add(subTasks.get(subTaskId)));
+        List<Integer> subTaskIds = epic.getSubTaskIds();
+        List<SubTask> subTasksByEpic = new ArrayList<>(subTaskIds.size());
+        subTaskIds.forEach(subTaskId -> subTasksByEpic.add(subTasks.get(subTaskId)));
+
+        return subTasksByEpic;
+    }
+
+    @Override
+    public final List<SubTask> getSubTasksByEpic(int epicId, int offset, int limit) {
+        Epic epic = epics.get(epicId);
+        if (epic == null) {
+            throw new EntityNotFoundException("Не существует эпика с epicId: " + epicId);
+        }
+        List<Integer> subTaskIds = epic.getSubTaskIds();
+        int fromIndex = Math.min(Math.max(offset, 0), subTaskIds.size());
+        int toIndex = (int) Math.min(subTaskIds.size(), (long) fromIndex + Math.max(limit, 0));
+        List<SubTask> subTasksByEpic = new ArrayList<>(toIndex - fromIndex);
+        subTaskIds.subList(fromIndex, toIndex).forEach(subTaskId -> subTasksByEpic.add(subTasks.get(subTaskId)));
 
         return subTasksByEpic;
     }
 
+    @Override
+    public final long getVersion(Type type) {
+        return versionTracker.getCollectionVersion(type);
+    }
+
+    @Override
+    public final long getEntityVersion(int id) {
+        return versionTracker.getEntityVersion(id);
+    }
+
+    @Override
+    public final long getHistoryVersion() {
+        return versionTracker.getHistoryVersion();
+    }
+
+    @Override
+    public final long getChangeSequence() {
+        return versionTracker.getVersion();
+    }
+
+    @Override
+    public final Optional<List<Change>> getChangesSince(long sequence) {
+        return versionTracker.getChangesSince(sequence);
+    }
+
+    @Override
+    public final void addChangeListener(Consumer<Change> listener) {
+        versionTracker.addChangeListener(listener);
+    }
+
+    @Override
+    public final void removeChangeListener(Consumer<Change> listener) {
+        versionTracker.removeChangeListener(listener);
+    }
+
     @Override
     public final List<Task> getHistory() {
-        return historyManager.getHistory();
+        return historyManager.getHistory().stream()
+                .map(task -> findTaskById(task.getId()))
+                .filter(Objects::nonNull)
+                .toList();
+    }
+
+    @Override
+    public final Page<Task> getHistoryPage(Long cursor, int limit) {
+        Page<Task> page = historyManager.getHistoryPage(cursor, limit);
+        return new Page<>(page.getItems().stream()
+                .map(task -> findTaskById(task.getId()))
+                .filter(Objects::nonNull)
+                .toList(), page.getNextCursor());
     }
 
     @Override
@@ -317,6 +502,365 @@ public class InMemoryTaskManager implements TaskManager {
         return new ArrayList<>(prioritizedTasks);
     }
 
+    @Override
+    public final Page<Task> getPrioritizedTasksPage(Long cursor, int limit) {
+        NavigableSet<Task> tasksAfterCursor = cursor == null
+                ? prioritizedTasks
+                : prioritizedTasks.tailSet(createTimeProbe(Task.toLocalDateTime(cursor)), false);
+        return Page.of(tasksAfterCursor.iterator(), limit, Task::getStartEpochMilli);
+    }
+
+    @Override
+    public final List<Task> getPrioritizedTasks(LocalDateTime from, LocalDateTime to) {
+        if (from == null && to == null) {
+            return getPrioritizedTasks();
+        }
+        if (from != null && to != null && to.isBefore(from)) {
+            return new ArrayList<>();
+        }
+
+        List<Task> tasksInRange = new ArrayList<>();
+        NavigableSet<Task> tasksStartingInRange = prioritizedTasks;
+        if (from != null) {
+            Task fromProbe = createTimeProbe(from);
+            Task previousTask = prioritizedTasks.lower(fromProbe);
+            if (previousTask != null && previousTask.isScheduled()
+                    && previousTask.getEndEpochMilli() >= fromProbe.getStartEpochMilli()) {
+                tasksInRange.add(previousTask);
+            }
+            tasksStartingInRange = tasksStartingInRange.tailSet(fromProbe, true);
+        }
+        if (to != null) {
+            tasksStartingInRange = tasksStartingInRange.headSet(createTimeProbe(to), true);
+        }
+        tasksInRange.addAll(tasksStartingInRange);
+
+        return tasksInRange;
+    }
+
+    @Override
+    public final List<Task> getUpcoming(LocalDateTime after, int limit) {
+        List<Task> upcomingTasks = new ArrayList<>();
+        if (limit <= 0) {
+            return upcomingTasks;
+        }
+
+        Iterator<Task> iterator = prioritizedTasks.tailSet(createTimeProbe(after), true).iterator();
+        while (iterator.hasNext() && upcomingTasks.size() < limit) {
+            upcomingTasks.add(iterator.next());
+        }
+        return upcomingTasks;
+    }
+
+    @Override
+    public final Optional<TimeSlot> findFreeSlot(Duration duration, LocalDateTime notBefore, LocalDateTime notAfter) {
+        return findFreeSlots(duration, notBefore, notAfter, 1).stream().findFirst();
+    }
+
+    @Override
+    public final List<TimeSlot> findFreeSlots(Duration duration, LocalDateTime notBefore, LocalDateTime notAfter,
+                                              int limit) {
+        List<TimeSlot> freeSlots = new ArrayList<>();
+        if (duration.isNegative() || notAfter.isBefore(notBefore) || limit <= 0) {
+            return freeSlots;
+        }
+
+        long durationMillis = duration.toMillis();
+        long windowEnd = Task.toEpochMilli(notAfter);
+        long candidateStart = Task.toEpochMilli(notBefore);
+        Task probe = createTimeProbe(notBefore);
+
+        Task previousTask = prioritizedTasks.floor(probe);
+        if (previousTask != null && previousTask.isScheduled()) {
+            candidateStart = Math.max(candidateStart, previousTask.getEndEpochMilli() + FREE_SLOT_GAP_MILLIS);
+        }
+
+        for (Task nextTask : prioritizedTasks.tailSet(probe, false)) {
+            if (candidateStart + durationMillis > windowEnd) {
+                return freeSlots;
+            }
+            if (!nextTask.isScheduled()) {
+                continue;
+            }
+            if (candidateStart + durationMillis < nextTask.getStartEpochMilli()) {
+                freeSlots.add(toTimeSlot(candidateStart, durationMillis));
+                if (freeSlots.size() == limit) {
+                    return freeSlots;
+                }
+            }
+            candidateStart = Math.max(candidateStart, nextTask.getEndEpochMilli() + FREE_SLOT_GAP_MILLIS);
+        }
+
+        if (candidateStart + durationMillis <= windowEnd) {
+            freeSlots.add(toTimeSlot(candidateStart, durationMillis));
+        }
+        return freeSlots;
+    }
+
+    @Override
+    public List<Integer> applyBatch(List<Mutation> mutations) {
+        validateBatch(mutations);
+
+        List<Integer> ids = new ArrayList<>(mutations.size());
+        Map<Integer, Epic> changedEpics = new HashMap<>();
+        for (Mutation mutation : mutations) {
+            ids.add(applyMutation(mutation, changedEpics));
+        }
+        changedEpics.values().forEach(this::replaceEpic);
+
+        return ids;
+    }
+
+    @Override
+    public final List<Task> suggestTasks(String prefix, int limit) {
+        return taskNameIndex.findByPrefix(prefix, limit).stream()
+                .map(tasks::get)
+                .filter(Objects::nonNull)
+                .toList();
+    }
+
+    @Override
+    public final List<Task> search(String query, int offset, int limit) {
+        return searchIndex.search(query, offset, limit).stream()
+                .map(this::findTaskById)
+                .filter(Objects::nonNull)
+                .toList();
+    }
+
+    @Override
+    public final List<TaskAccessCount> getHotTasks(int limit) {
+        return accessStatisticsManager.getHotTasks(limit);
+    }
+
+    @Override
+    public final List<TaskAccessCount> getHotTasksForCurrentHour(int limit) {
+        return accessStatisticsManager.getHotTasksForCurrentHour(limit);
+    }
+
+    protected Task findTaskById(int id) {
+        if (tasks.containsKey(id)) {
+            return tasks.get(id);
+        } else if (epics.containsKey(id)) {
+            return epics.get(id);
+        }
+        return subTasks.get(id);
+    }
+
+    private static <T extends Task> Page<T> getEntitiesPage(NavigableMap<Integer, T> entities, Long cursor, int limit) {
+        NavigableMap<Integer, T> entitiesAfterCursor = cursor == null
+                ? entities
+                : entities.tailMap((int) Math.max(Integer.MIN_VALUE, Math.min(Integer.MAX_VALUE, cursor)), false);
+        return Page.of(entitiesAfterCursor.values().iterator(), limit, Task::getId);
+    }
+
+    private <T extends Task> List<T> getEntitiesByIds(Map<Integer, T> entities, List<Integer> ids,
+                                                      boolean addToHistory) {
+        List<T> foundEntities = new ArrayList<>(ids.size());
+        for (Integer id : ids) {
+            T entity = entities.get(id);
+            if (entity == null) {
+                continue;
+            }
+            if (addToHistory) {
+                recordView(entity);
+            }
+            foundEntities.add(entity);
+        }
+        return foundEntities;
+    }
+
+    private void recordView(Task task) {
+        historyManager.add(task);
+        accessStatisticsManager.add(task);
+        versionTracker.historyChanged();
+    }
+
+    private void putTask(Task task) {
+        Task existingTask = tasks.put(task.getId(), task);
+        statusIndex.replace(existingTask, task);
+        searchIndex.replace(existingTask, task);
+        taskNameIndex.replace(existingTask, task);
+        if (existingTask != null) {
+            prioritizedTasks.remove(existingTask);
+        }
+        if (task.isScheduled()) {
+            prioritizedTasks.add(task);
+        }
+        versionTracker.entityChanged(existingTask, task);
+    }
+
+    private void putSubTask(SubTask subTask) {
+        SubTask existingSubTask = subTasks.put(subTask.getId(), subTask);
+        statusIndex.replace(existingSubTask, subTask);
+        searchIndex.replace(existingSubTask, subTask);
+        if (existingSubTask != null) {
+            prioritizedTasks.remove(existingSubTask);
+        }
+        if (subTask.isScheduled()) {
+            prioritizedTasks.add(subTask);
+        }
+        versionTracker.entityChanged(existingSubTask, subTask);
+    }
+
+    private void removeTaskEntry(Task task) {
+        tasks.remove(task.getId());
+        statusIndex.remove(task);
+        searchIndex.remove(task);
+        taskNameIndex.remove(task);
+        historyManager.remove(task.getId());
+        accessStatisticsManager.remove(task.getId());
+        prioritizedTasks.remove(task);
+        versionTracker.entityRemoved(task);
+    }
+
+    private void removeSubTaskEntry(SubTask subTask) {
+        subTasks.remove(subTask.getId());
+        statusIndex.remove(subTask);
+        searchIndex.remove(subTask);
+        historyManager.remove(subTask.getId());
+        accessStatisticsManager.remove(subTask.getId());
+        prioritizedTasks.remove(subTask);
+        versionTracker.entityRemoved(subTask);
+    }
+
+    private void validateBatch(List<Mutation> mutations) {
+        Set<Integer> changedIds = new HashSet<>();
+        List<Task> scheduledTasks = new ArrayList<>();
+
+        for (Mutation mutation : mutations) {
+            Task task = mutation.getTask();
+            if (mutation.getAction() != Mutation.Action.CREATE) {
+                Task existingTask = mutation.getType() == Type.TASK
+                        ? tasks.get(mutation.getId())
+                        : subTasks.get(mutation.getId());
+                if (existingTask == null) {
+                    throw new EntityNotFoundException("Не найдена задача с id: " + mutation.getId());
+                }
+                if (!changedIds.add(mutation.getId())) {
+                    throw new IllegalArgumentException("Задача с id " + mutation.getId()
+                            + " изменяется в пакете несколько раз");
+                }
+                if (mutation.getAction() == Mutation.Action.UPDATE && task instanceof SubTask subTask
+                        && subTask.getEpicId() != ((SubTask) existingTask).getEpicId()) {
+                    throw new EntityNotFoundException("epicId новой подзадачи не равен epicId существующей подзадачи");
+                }
+            } else if (task instanceof SubTask subTask && !epics.containsKey(subTask.getEpicId())) {
+                throw new EntityNotFoundException("Не найден эпик с epicId: " + subTask.getEpicId());
+            }
+            if (mutation.getAction() != Mutation.Action.DELETE && task.isScheduled()) {
+                scheduledTasks.add(task);
+            }
+        }
+
+        if (isBatchIntersectByTime(scheduledTasks, changedIds)) {
+            throw new EntityIntersectionException("Задачи пакета пересекаются по времени друг с другом или с уже существующими задачами");
+        }
+    }
+
+    private boolean isBatchIntersectByTime(List<Task> scheduledTasks, Set<Integer> changedIds) {
+        if (scheduledTasks.isEmpty()) {
+            return false;
+        }
+        scheduledTasks.sort(Comparator.comparingLong(Task::getStartEpochMilli));
+
+        Task firstProbe = createTimeProbe(Task.toLocalDateTime(scheduledTasks.getFirst().getStartEpochMilli()));
+        Task sweepStart = firstProbe;
+        for (Task previousTask : prioritizedTasks.headSet(firstProbe, false).descendingSet()) {
+            if (previousTask.isScheduled() && !changedIds.contains(previousTask.getId())) {
+                sweepStart = previousTask;
+                break;
+            }
+        }
+
+        Iterator<Task> existingTasks = prioritizedTasks.tailSet(sweepStart, true).iterator();
+        Task existingTask = nextUnchangedTask(existingTasks, changedIds);
+        long maxEnd = Long.MIN_VALUE;
+        long maxBatchEnd = Long.MIN_VALUE;
+        int batchIndex = 0;
+        while (batchIndex < scheduledTasks.size()) {
+            Task batchTask = scheduledTasks.get(batchIndex);
+            if (existingTask != null && existingTask.getStartEpochMilli() <= batchTask.getStartEpochMilli()) {
+                if (existingTask.getStartEpochMilli() <= maxBatchEnd) {
+                    return true;
+                }
+                maxEnd = Math.max(maxEnd, existingTask.getEndEpochMilli());
+                existingTask = nextUnchangedTask(existingTasks, changedIds);
+            } else {
+                if (batchTask.getStartEpochMilli() <= maxEnd) {
+                    return true;
+                }
+                maxEnd = Math.max(maxEnd, batchTask.getEndEpochMilli());
+                maxBatchEnd = Math.max(maxBatchEnd, batchTask.getEndEpochMilli());
+                batchIndex++;
+            }
+        }
+
+        return existingTask != null && existingTask.getStartEpochMilli() <= maxBatchEnd;
+    }
+
+    private static Task nextUnchangedTask(Iterator<Task> iterator, Set<Integer> changedIds) {
+        while (iterator.hasNext()) {
+            Task task = iterator.next();
+            if (task.isScheduled() && !changedIds.contains(task.getId())) {
+                return task;
+            }
+        }
+        return null;
+    }
+
+    private int applyMutation(Mutation mutation, Map<Integer, Epic> changedEpics) {
+        if (mutation.getType() == Type.TASK) {
+            if (mutation.getAction() == Mutation.Action.DELETE) {
+                removeTaskEntry(tasks.get(mutation.getId()));
+                return mutation.getId();
+            }
+            Task task = mutation.getTask().copy();
+            if (mutation.getAction() == Mutation.Action.CREATE) {
+                task.setId(generateId());
+            }
+            task.freeze();
+            putTask(task);
+            return task.getId();
+        }
+
+        switch (mutation.getAction()) {
+            case CREATE:
+                SubTask newSubTask = (SubTask) mutation.getTask().copy();
+                newSubTask.setId(generateId());
+                newSubTask.freeze();
+                putSubTask(newSubTask);
+                getChangedEpic(newSubTask.getEpicId(), changedEpics).addSubTaskId(newSubTask.getId());
+                return newSubTask.getId();
+            case UPDATE:
+                SubTask subTask = (SubTask) mutation.getTask().copy();
+                subTask.freeze();
+                putSubTask(subTask);
+                getChangedEpic(subTask.getEpicId(), changedEpics);
+                return subTask.getId();
+            default:
+                SubTask existingSubTask = subTasks.get(mutation.getId());
+                removeSubTaskEntry(existingSubTask);
+                if (epics.containsKey(existingSubTask.getEpicId())) {
+                    getChangedEpic(existingSubTask.getEpicId(), changedEpics).deleteSubTaskId(mutation.getId());
+                }
+                return mutation.getId();
+        }
+    }
+
+    private Epic getChangedEpic(int epicId, Map<Integer, Epic> changedEpics) {
+        return changedEpics.computeIfAbsent(epicId, id -> epics.get(id).copy());
+    }
+
+    private void replaceEpic(Epic epic) {
+        updateEpicStatus(epic);
+        updateEpicTime(epic);
+        epic.freeze();
+        Epic existingEpic = epics.put(epic.getId(), epic);
+        statusIndex.replace(existingEpic, epic);
+        searchIndex.replace(existingEpic, epic);
+        versionTracker.entityChanged(existingEpic, epic);
+    }
+
     private void updateEpicStatus(Epic epic) {
         ArrayList<Integer> subTasksIdList = epic.getSubTaskIdList();
         if (subTasksIdList.isEmpty()) {
@@ -350,49 +894,44 @@ public class InMemoryTaskManager implements TaskManager {
             return;
         }
 
-        Optional<LocalDateTime> minStartTime = subTasksIdList.stream()
-                .map(subTasks::get)
-                .filter(subTask -> subTask.getStartTime() != null)
-                .map(SubTask::getStartTime)
-                .min(LocalDateTime::compareTo);
-
-        Optional<LocalDateTime> maxEndTime = subTasksIdList.stream()
-                .map(subTasks::get)
-                .filter(subTask -> subTask.getEndTime() != null)
-                .map(SubTask::getEndTime)
-                .max(LocalDateTime::compareTo);
+        long minStartTime = Long.MAX_VALUE;
+        long maxEndTime = Long.MIN_VALUE;
+        long totalDuration = 0;
+        for (Integer id : subTasksIdList) {
+            SubTask subTask = subTasks.get(id);
+            if (!subTask.isScheduled()) {
+                continue;
+            }
+            minStartTime = Math.min(minStartTime, subTask.getStartEpochMilli());
+            maxEndTime = Math.max(maxEndTime, subTask.getEndEpochMilli());
+            totalDuration += subTask.getDurationMillis();
+        }
 
-        Duration totalDuration = subTasksIdList.stream()
-                .map(subTasks::get)
-                .filter(subTask -> subTask.getStartTime() != null && subTask.getEndTime() != null)
-                .map(SubTask::getDuration)
-                .reduce(Duration.ZERO, Duration::plus);
-
-        if (minStartTime.isPresent() && maxEndTime.isPresent()) {
-            LocalDateTime startTime = minStartTime.get();
-            LocalDateTime endTime = maxEndTime.get();
-            epic.setStartTime(startTime);
-            epic.setEndTime(endTime);
-            epic.setDuration(totalDuration);
+        if (minStartTime != Long.MAX_VALUE) {
+            epic.setTime(minStartTime, maxEndTime, totalDuration);
         } else {
             epic.resetTime();
         }
     }
 
+    private static Task createTimeProbe(LocalDateTime startTime) {
+        return new Task(null, null, null, startTime, Duration.ZERO);
+    }
+
+    private static TimeSlot toTimeSlot(long startEpochMilli, long durationMillis) {
+        return new TimeSlot(Task.toLocalDateTime(startEpochMilli), Task.toLocalDateTime(startEpochMilli + durationMillis));
+    }
+
     private int generateId() {
         return ++idCounter;
     }
 
     private boolean isIntersectByTime(Task firstTask, Task secondTask) {
-        LocalDateTime firstStartTime = firstTask.getStartTime();
-        LocalDateTime firstEndTime = firstTask.getEndTime();
-        LocalDateTime secondStartTime = secondTask.getStartTime();
-        LocalDateTime secondEndTime = secondTask.getEndTime();
-
-        if (firstStartTime == null || firstEndTime == null || secondStartTime == null || secondEndTime == null) {
+        if (!firstTask.isScheduled() || !secondTask.isScheduled()) {
             return false;
         }
 
-        return !firstEndTime.isBefore(secondStartTime) && !secondEndTime.isBefore(firstStartTime);
+        return firstTask.getEndEpochMilli() >= secondTask.getStartEpochMilli()
+                && secondTask.getEndEpochMilli() >= firstTask.getStartEpochMilli();
     }
 }
\ No newline at end of file
@@ -15,6 +15,10 @@ public class Manager {
         return new InMemoryHistoryManager();
     }
 
+    public static AccessStatisticsManager getDefaultAccessStatistics() {
+        return new InMemoryAccessStatisticsManager();
+    }
+
     public static TaskManager getFileBacked(File file) {
         return new FileBackedTaskManager(file);
     }
@@ -0,0 +1,56 @@
+package manager;
+
+import tasks.Task;
+import tasks.Type;
+
+public class Mutation {
+
+    public enum Action {
+        CREATE,
+        UPDATE,
+        DELETE
+    }
+
+    private final Action action;
+    private final Type type;
+    private final Task task;
+    private final int id;
+
+    private Mutation(Action action, Type type, Task task, int id) {
+        if (type == Type.EPIC) {
+            throw new IllegalArgumentException("Пакетные изменения эпиков не поддерживаются");
+        }
+        this.action = action;
+        this.type = type;
+        this.task = task;
+        this.id = id;
+    }
+
+    public static Mutation create(Task task) {
+        return new Mutation(Action.CREATE, task.getType(), task, 0);
+    }
+
+    public static Mutation update(Task task) {
+        return new Mutation(Action.UPDATE, task.getType(), task, task.getId());
+    }
+
+    public static Mutation delete(Type type, int id) {
+        return new Mutation(Action.DELETE, type, null, id);
+    }
+
+    public Action getAction() {
+        return action;
+    }
+
+    public Type getType() {
+        return type;
+    }
+
+    public Task getTask() {
+        return task;
+    }
+
+    public int getId() {
+        return id;
+    }
+}
@@ -0,0 +1,38 @@
+package manager;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.function.ToLongFunction;
+
+public class Page<T> {
+
+    private final List<T> items;
+    private final Long nextCursor;
+
+    public Page(List<T> items, Long nextCursor) {
+        this.items = items;
+        this.nextCursor = nextCursor;
+    }
+
+    static <T> Page<T> of(Iterator<T> iterator, int limit, ToLongFunction<T> cursorOf) {
+        List<T> items = new ArrayList<>(Math.max(limit, 0));
+        while (iterator.hasNext() && items.size() < limit) {
+            items.add(iterator.next());
+        }
+        Long nextCursor = iterator.hasNext() && !items.isEmpty() ? cursorOf.applyAsLong(items.getLast()) : null;
+        return new Page<>(items, nextCursor);
+    }
+
+    public List<T> getItems() {
+        return items;
+    }
+
+    public Long getNextCursor() {
+        return nextCursor;
+    }
+
+    public boolean hasNext() {
+        return nextCursor != null;
+    }
+}
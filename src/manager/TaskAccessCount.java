@@ -0,0 +1,42 @@
+package manager;
+
+import java.util.Objects;
+
+public class TaskAccessCount {
+
+    private final int id;
+    private final long count;
+
+    public TaskAccessCount(int id, long count) {
+        this.id = id;
+        this.count = count;
+    }
+
+    public int getId() {
+        return id;
+    }
+
+    public long getCount() {
+        return count;
+    }
+
+    @Override
+    public boolean equals(Object object) {
+        if (object == null || getClass() != object.getClass()) return false;
+        TaskAccessCount that = (TaskAccessCount) object;
+        return id == that.id && count == that.count;
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(id, count);
+    }
+
+    @Override
+    public String toString() {
+        return "TaskAccessCount{" +
+                "id=" + id +
+                ", count=" + count +
+                '}';
+    }
+}
@@ -1,10 +1,16 @@
 package manager;
 
 import tasks.Epic;
+import tasks.Status;
 import tasks.SubTask;
 import tasks.Task;
+import tasks.Type;
 
+import java.time.Duration;
+import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Optional;
+import java.util.function.Consumer;
 
 public interface TaskManager {
 
@@ -20,6 +26,8 @@ public interface TaskManager {
 
     boolean updateSubTask(SubTask newSubTask);
 
+    void setStatusForEpicSubTasks(int epicId, Status status);
+
     Task getTask(int id);
 
     Epic getEpic(int id);
@@ -32,6 +40,24 @@ public interface TaskManager {
 
     List<SubTask> getSubTasks();
 
+    Page<Task> getTasksPage(Long cursor, int limit);
+
+    Page<Epic> getEpicsPage(Long cursor, int limit);
+
+    Page<SubTask> getSubTasksPage(Long cursor, int limit);
+
+    List<Task> getTasksByIds(List<Integer> ids, boolean addToHistory);
+
+    List<Epic> getEpicsByIds(List<Integer> ids, boolean addToHistory);
+
+    List<SubTask> getSubTasksByIds(List<Integer> ids, boolean addToHistory);
+
+    List<Task> getTasksByStatus(Status status);
+
+    List<Epic> getEpicsByStatus(Status status);
+
+    List<SubTask> getSubTasksByStatus(Status status);
+
     void deleteTask(int id);
 
     void deleteEpic(int id);
@@ -46,7 +72,45 @@ public interface TaskManager {
 
     List<SubTask> getSubTasksByEpic(int id);
 
+    List<SubTask> getSubTasksByEpic(int id, int offset, int limit);
+
     List<Task> getHistory();
 
+    long getVersion(Type type);
+
+    long getEntityVersion(int id);
+
+    long getHistoryVersion();
+
+    long getChangeSequence();
+
+    Optional<List<Change>> getChangesSince(long sequence);
+
+    void addChangeListener(Consumer<Change> listener);
+
+    void removeChangeListener(Consumer<Change> listener);
+
+    Page<Task> getHistoryPage(Long cursor, int limit);
+
     List<Task> getPrioritizedTasks();
+
+    Page<Task> getPrioritizedTasksPage(Long cursor, int limit);
+
+    List<Task> getPrioritizedTasks(LocalDateTime from, LocalDateTime to);
+
+    List<Task> getUpcoming(LocalDateTime after, int limit);
+
+    Optional<TimeSlot> findFreeSlot(Duration duration, LocalDateTime notBefore, LocalDateTime notAfter);
+
+    List<TimeSlot> findFreeSlots(Duration duration, LocalDateTime notBefore, LocalDateTime notAfter, int limit);
+
+    List<Integer> applyBatch(List<Mutation> mutations);
+
+    List<Task> suggestTasks(String prefix, int limit);
+
+    List<Task> search(String query, int offset, int limit);
+
+    List<TaskAccessCount> getHotTasks(int limit);
+
+    List<TaskAccessCount> getHotTasksForCurrentHour(int limit);
 }
@@ -0,0 +1,78 @@
+package manager;
+
+import tasks.Task;
+
+import java.util.*;
+
+class TaskNameIndex {
+
+    private static final Comparator<NameEntry> ENTRY_ORDER = Comparator.comparing(NameEntry::getName)
+            .thenComparingInt(NameEntry::getId);
+
+    private final NavigableSet<NameEntry> entries = new TreeSet<>(ENTRY_ORDER);
+
+    synchronized void add(Task task) {
+        if (task.getName() != null) {
+            entries.add(new NameEntry(normalize(task.getName()), task.getId()));
+        }
+    }
+
+    synchronized void remove(Task task) {
+        if (task != null && task.getName() != null) {
+            entries.remove(new NameEntry(normalize(task.getName()), task.getId()));
+        }
+    }
+
+    synchronized void replace(Task oldTask, Task newTask) {
+        if (oldTask != null && Objects.equals(oldTask.getName(), newTask.getName())) {
+            return;
+        }
+        remove(oldTask);
+        add(newTask);
+    }
+
+    synchronized void clear() {
+        entries.clear();
+    }
+
+    synchronized List<Integer> findByPrefix(String prefix, int limit) {
+        List<Integer> ids = new ArrayList<>();
+        if (limit <= 0) {
+            return ids;
+        }
+        String normalizedPrefix = normalize(prefix);
+        Iterator<NameEntry> iterator = entries.tailSet(new NameEntry(normalizedPrefix, Integer.MIN_VALUE), true)
+                .iterator();
+        while (iterator.hasNext() && ids.size() < limit) {
+            NameEntry entry = iterator.next();
+            if (!entry.getName().startsWith(normalizedPrefix)) {
+                break;
+            }
+            ids.add(entry.getId());
+        }
+        return ids;
+    }
+
+    private static String normalize(String name) {
+        return name.strip().toLowerCase(Locale.ROOT).replace('ё', 'е');
+    }
+
+    private static class NameEntry {
+
+        private final String name;
+        private final int id;
+
+        NameEntry(String name, int id) {
+            this.name = name;
+            this.id = id;
+        }
+
+        String getName() {
+            return name;
+        }
+
+        int getId() {
+            return id;
+        }
+    }
+}
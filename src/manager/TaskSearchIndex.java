@@ -0,0 +1,97 @@
+package manager;
+
+import tasks.Task;
+
+import java.util.*;
+import java.util.regex.Pattern;
+
+class TaskSearchIndex {
+
+    private static final Pattern TOKEN_SEPARATOR = Pattern.compile("[^\\p{L}\\p{Nd}]+");
+    private static final int NAME_WEIGHT = 2;
+    private static final int DESCRIPTION_WEIGHT = 1;
+
+    private final Map<String, Map<Integer, Integer>> postings = new HashMap<>();
+    private final Map<Integer, Set<String>> tokensById = new HashMap<>();
+
+    synchronized void add(Task task) {
+        Map<String, Integer> weights = new HashMap<>();
+        tokenize(task.getName()).forEach(token -> weights.merge(token, NAME_WEIGHT, Integer::sum));
+        tokenize(task.getDescription()).forEach(token -> weights.merge(token, DESCRIPTION_WEIGHT, Integer::sum));
+        if (weights.isEmpty()) {
+            return;
+        }
+        weights.forEach((token, weight) -> postings.computeIfAbsent(token, key -> new HashMap<>())
+                .put(task.getId(), weight));
+        tokensById.put(task.getId(), weights.keySet());
+    }
+
+    synchronized void remove(Task task) {
+        if (task == null) {
+            return;
+        }
+        Set<String> tokens = tokensById.remove(task.getId());
+        if (tokens == null) {
+            return;
+        }
+        for (String token : tokens) {
+            Map<Integer, Integer> ids = postings.get(token);
+            ids.remove(task.getId());
+            if (ids.isEmpty()) {
+                postings.remove(token);
+            }
+        }
+    }
+
+    synchronized void replace(Task oldTask, Task newTask) {
+        if (oldTask != null && Objects.equals(oldTask.getName(), newTask.getName())
+                && Objects.equals(oldTask.getDescription(), newTask.getDescription())) {
+            return;
+        }
+        remove(oldTask);
+        add(newTask);
+    }
+
+    synchronized List<Integer> search(String query, int offset, int limit) {
+        if (offset < 0 || limit <= 0) {
+            return new ArrayList<>();
+        }
+
+        Map<Integer, Double> scores = new HashMap<>();
+        for (String token : new HashSet<>(tokenize(query))) {
+            Map<Integer, Integer> ids = postings.get(token);
+            if (ids == null) {
+                continue;
+            }
+            double idf = Math.log(1 + (double) tokensById.size() / ids.size());
+            ids.forEach((id, weight) -> scores.merge(id, weight * idf, Double::sum));
+        }
+
+        Comparator<Map.Entry<Integer, Double>> byRank = Map.Entry.<Integer, Double>comparingByValue().reversed()
+                .thenComparing(Map.Entry.comparingByKey());
+        int requiredSize = (int) Math.min(Integer.MAX_VALUE, (long) offset + limit);
+        PriorityQueue<Map.Entry<Integer, Double>> topEntries = new PriorityQueue<>(byRank.reversed());
+        for (Map.Entry<Integer, Double> entry : scores.entrySet()) {
+            topEntries.add(entry);
+            if (topEntries.size() > requiredSize) {
+                topEntries.poll();
+            }
+        }
+
+        List<Map.Entry<Integer, Double>> rankedEntries = new ArrayList<>(topEntries);
+        rankedEntries.sort(byRank);
+        return rankedEntries.stream()
+                .skip(offset)
+                .map(Map.Entry::getKey)
+                .toList();
+    }
+
+    static List<String> tokenize(String text) {
+        if (text == null || text.isBlank()) {
+            return List.of();
+        }
+        return Arrays.stream(TOKEN_SEPARATOR.split(text.toLowerCase(Locale.ROOT).replace('ё', 'е')))
+                .filter(token -> !token.isEmpty())
+                .toList();
+    }
+}
@@ -0,0 +1,47 @@
+package manager;
+
+import tasks.Status;
+import tasks.Task;
+import tasks.Type;
+
+import java.util.*;
+
+class TaskStatusIndex {
+
+    private final Map<Type, Map<Status, Set<Integer>>> idsByTypeAndStatus = new EnumMap<>(Type.class);
+
+    TaskStatusIndex() {
+        for (Type type : Type.values()) {
+            Map<Status, Set<Integer>> idsByStatus = new EnumMap<>(Status.class);
+            for (Status status : Status.values()) {
+                idsByStatus.put(status, new TreeSet<>());
+            }
+            idsByTypeAndStatus.put(type, idsByStatus);
+        }
+    }
+
+    synchronized void add(Task task) {
+        if (task.getStatus() != null) {
+            idsByTypeAndStatus.get(task.getType()).get(task.getStatus()).add(task.getId());
+        }
+    }
+
+    synchronized void remove(Task task) {
+        if (task != null && task.getStatus() != null) {
+            idsByTypeAndStatus.get(task.getType()).get(task.getStatus()).remove(task.getId());
+        }
+    }
+
+    synchronized void replace(Task oldTask, Task newTask) {
+        remove(oldTask);
+        add(newTask);
+    }
+
+    synchronized void clear(Type type) {
+        idsByTypeAndStatus.get(type).values().forEach(Set::clear);
+    }
+
+    synchronized List<Integer> getIds(Type type, Status status) {
+        return new ArrayList<>(idsByTypeAndStatus.get(type).get(status));
+    }
+}
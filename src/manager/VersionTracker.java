@@ -0,0 +1,115 @@
+package manager;
+
+import tasks.Task;
+import tasks.Type;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Consumer;
+
+class VersionTracker {
+
+    private final long initialVersion;
+    private final int changeLogCapacity;
+    private long version;
+    private long historyVersion;
+    private long lastDroppedSequence;
+    private final Map<Type, Long> collectionVersions = new EnumMap<>(Type.class);
+    private final Map<Integer, Long> entityVersions = new HashMap<>();
+    private final Deque<Change> changeLog = new ArrayDeque<>();
+    private final List<Consumer<Change>> changeListeners = new CopyOnWriteArrayList<>();
+
+    VersionTracker(long initialVersion, int changeLogCapacity) {
+        this.initialVersion = initialVersion;
+        this.changeLogCapacity = changeLogCapacity;
+        version = initialVersion;
+        historyVersion = initialVersion;
+        lastDroppedSequence = initialVersion;
+        for (Type type : Type.values()) {
+            collectionVersions.put(type, initialVersion);
+        }
+    }
+
+    synchronized void entityChanged(Task oldTask, Task newTask) {
+        long newVersion = ++version;
+        entityVersions.put(newTask.getId(), newVersion);
+        collectionVersions.put(newTask.getType(), newVersion);
+        log(new Change(newVersion, oldTask == null ? Change.Action.CREATED : Change.Action.UPDATED, newTask));
+    }
+
+    synchronized void entityRemoved(Task task) {
+        long newVersion = ++version;
+        entityVersions.remove(task.getId());
+        collectionVersions.put(task.getType(), newVersion);
+        log(new Change(newVersion, Change.Action.DELETED, task));
+    }
+
+    synchronized void historyChanged() {
+        historyVersion = ++version;
+    }
+
+    synchronized long getCollectionVersion(Type type) {
+        return collectionVersions.get(type);
+    }
+
+    synchronized long getEntityVersion(int id) {
+        return entityVersions.getOrDefault(id, initialVersion);
+    }
+
+    synchronized long getHistoryVersion() {
+        return historyVersion;
+    }
+
+    synchronized long getVersion() {
+        return version;
+    }
+
+    synchronized Optional<List<Change>> getChangesSince(long sequence) {
+        if (sequence < lastDroppedSequence || sequence > version) {
+            return Optional.empty();
+        }
+        Map<Integer, Change> lastChanges = new LinkedHashMap<>();
+        Iterator<Change> iterator = changeLog.descendingIterator();
+        while (iterator.hasNext()) {
+            Change change = iterator.next();
+            if (change.getSequence() <= sequence) {
+                break;
+            }
+            Change laterChange = lastChanges.get(change.getId());
+            if (laterChange == null) {
+                lastChanges.put(change.getId(), change);
+            } else if (change.getAction() == Change.Action.CREATED && laterChange.getAction() == Change.Action.UPDATED) {
+                lastChanges.put(change.getId(), new Change(laterChange.getSequence(), Change.Action.CREATED,
+                        laterChange.getTask()));
+            }
+        }
+        List<Change> changes = new ArrayList<>(lastChanges.values());
+        changes.sort((first, second) -> Long.compare(first.getSequence(), second.getSequence()));
+        return Optional.of(changes);
+    }
+
+    void addChangeListener(Consumer<Change> listener) {
+        changeListeners.add(listener);
+    }
+
+    void removeChangeListener(Consumer<Change> listener) {
+        changeListeners.remove(listener);
+    }
+
+    private void log(Change change) {
+        changeLog.addLast(change);
+        if (changeLog.size() > changeLogCapacity) {
+            lastDroppedSequence = changeLog.removeFirst().getSequence();
+        }
+        changeListeners.forEach(listener -> listener.accept(change));
+    }
+}
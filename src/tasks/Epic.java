@@ -2,11 +2,12 @@ package tasks;
 
 import java.time.LocalDateTime;
 import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
 
 public class Epic extends Task {
 
     private ArrayList<Integer> subTaskIdList = new ArrayList<>();
-    private LocalDateTime endTime;
 
     public Epic() {
 
@@ -16,19 +17,36 @@ public class Epic extends Task {
         super(name, description, Status.NEW, null, null);
     }
 
+    protected Epic(Epic epic) {
+        super(epic);
+        this.subTaskIdList = new ArrayList<>(epic.subTaskIdList);
+    }
+
+    @Override
+    public Epic copy() {
+        return new Epic(this);
+    }
+
     public ArrayList<Integer> getSubTaskIdList() {
         return new ArrayList<>(subTaskIdList);
     }
 
+    public List<Integer> getSubTaskIds() {
+        return Collections.unmodifiableList(subTaskIdList);
+    }
+
     public void deleteSubTaskId(Integer id) {
+        checkModifiable();
         subTaskIdList.remove(id);
     }
 
     public void deleteAllSubTaskId() {
+        checkModifiable();
         subTaskIdList.clear();
     }
 
     public void addSubTaskId(int id) {
+        checkModifiable();
         subTaskIdList.add(id);
     }
 
@@ -37,22 +55,25 @@ public class Epic extends Task {
         return Type.EPIC;
     }
 
-    @Override
-    public LocalDateTime getEndTime() {
-        if (this.getStartTime() == null || this.getDuration() == null) {
-            return null;
-        }
-        return endTime;
+    public void setEndTime(LocalDateTime endTime) {
+        setEndEpochMilli(toEpochMilli(endTime));
     }
 
-    public void setEndTime(LocalDateTime endTime) {
-        this.endTime = endTime;
+    public void setTime(long startEpochMilli, long endEpochMilli, long durationMillis) {
+        setStartEpochMilli(startEpochMilli);
+        setDurationMillis(durationMillis);
+        setEndEpochMilli(endEpochMilli);
     }
 
     public void resetTime() {
         this.setStartTime(null);
         this.setDuration(null);
-        this.endTime = null;
+        setEndEpochMilli(NO_TIME);
+    }
+
+    @Override
+    protected void updateEndEpochMilli() {
+        // Время окончания эпика задаётся по подзадачам и не выводится из startTime и duration
     }
 
     @Override
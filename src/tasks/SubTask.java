@@ -16,6 +16,16 @@ public class SubTask extends Task {
         this.epicId = epicId;
     }
 
+    protected SubTask(SubTask subTask) {
+        super(subTask);
+        this.epicId = subTask.epicId;
+    }
+
+    @Override
+    public SubTask copy() {
+        return new SubTask(this);
+    }
+
     public int getEpicId() {
         return epicId;
     }
@@ -2,16 +2,20 @@ package tasks;
 
 import java.time.Duration;
 import java.time.LocalDateTime;
-import java.util.Objects;
+import java.time.ZoneOffset;
 
 public class Task {
 
+    public static final long NO_TIME = Long.MIN_VALUE;
+
     private int id;
     private String name;
     private String description;
     private Status status;
-    private LocalDateTime startTime;
-    private Duration duration;
+    private long startEpochMilli = NO_TIME;
+    private long durationMillis = NO_TIME;
+    private long endEpochMilli = NO_TIME;
+    private volatile boolean isReadOnly;
 
     public Task() {
 
@@ -21,8 +25,31 @@ public class Task {
         this.name = name;
         this.description = description;
         this.status = status;
-        this.duration = duration;
-        this.startTime = startTime;
+        this.startEpochMilli = toEpochMilli(startTime);
+        this.durationMillis = duration == null ? NO_TIME : duration.toMillis();
+        this.endEpochMilli = computeEndEpochMilli(startEpochMilli, durationMillis);
+    }
+
+    protected Task(Task task) {
+        this.id = task.id;
+        this.name = task.name;
+        this.description = task.description;
+        this.status = task.status;
+        this.startEpochMilli = task.startEpochMilli;
+        this.durationMillis = task.durationMillis;
+        this.endEpochMilli = task.endEpochMilli;
+    }
+
+    public Task copy() {
+        return new Task(this);
+    }
+
+    public void freeze() {
+        isReadOnly = true;
+    }
+
+    public boolean isReadOnly() {
+        return isReadOnly;
     }
 
     public int getId() {
@@ -30,6 +57,7 @@ public class Task {
     }
 
     public void setId(int id) {
+        checkModifiable();
         this.id = id;
     }
 
@@ -38,6 +66,7 @@ public class Task {
     }
 
     public void setName(String name) {
+        checkModifiable();
         this.name = name;
     }
 
@@ -46,6 +75,7 @@ public class Task {
     }
 
     public void setDescription(String description) {
+        checkModifiable();
         this.description = description;
     }
 
@@ -54,6 +84,7 @@ public class Task {
     }
 
     public void setStatus(Status status) {
+        checkModifiable();
         this.status = status;
     }
 
@@ -62,40 +93,108 @@ public class Task {
     }
 
     public LocalDateTime getEndTime() {
-        if (this.startTime == null || this.duration == null) {
+        if (!isScheduled()) {
             return null;
         }
-        return startTime.plus(duration);
+        return toLocalDateTime(endEpochMilli);
     }
 
     public LocalDateTime getStartTime() {
-        return startTime;
+        return toLocalDateTime(startEpochMilli);
     }
 
     public Duration getDuration() {
-        return duration;
+        return durationMillis == NO_TIME ? null : Duration.ofMillis(durationMillis);
     }
 
     public void setDuration(Duration duration) {
-        this.duration = duration;
+        checkModifiable();
+        this.durationMillis = duration == null ? NO_TIME : duration.toMillis();
+        updateEndEpochMilli();
     }
 
     public void setStartTime(LocalDateTime startTime) {
-        this.startTime = startTime;
+        checkModifiable();
+        this.startEpochMilli = toEpochMilli(startTime);
+        updateEndEpochMilli();
+    }
+
+    public long getStartEpochMilli() {
+        return startEpochMilli;
+    }
+
+    public long getEndEpochMilli() {
+        return endEpochMilli;
+    }
+
+    public long getDurationMillis() {
+        return durationMillis;
+    }
+
+    public boolean isScheduled() {
+        return startEpochMilli != NO_TIME && durationMillis != NO_TIME && endEpochMilli != NO_TIME;
+    }
+
+    protected void checkModifiable() {
+        if (isReadOnly) {
+            throw new UnsupportedOperationException("Задача с id " + id + " доступна только для чтения");
+        }
+    }
+
+    protected void updateEndEpochMilli() {
+        endEpochMilli = computeEndEpochMilli(startEpochMilli, durationMillis);
+    }
+
+    private static long computeEndEpochMilli(long startEpochMilli, long durationMillis) {
+        if (startEpochMilli == NO_TIME || durationMillis == NO_TIME) {
+            return NO_TIME;
+        }
+        return startEpochMilli + durationMillis;
+    }
+
+    protected void setStartEpochMilli(long startEpochMilli) {
+        checkModifiable();
+        this.startEpochMilli = startEpochMilli;
+        updateEndEpochMilli();
+    }
+
+    protected void setDurationMillis(long durationMillis) {
+        checkModifiable();
+        this.durationMillis = durationMillis;
+        updateEndEpochMilli();
+    }
+
+    protected void setEndEpochMilli(long endEpochMilli) {
+        checkModifiable();
+        this.endEpochMilli = endEpochMilli;
+    }
+
+    public static long toEpochMilli(LocalDateTime dateTime) {
+        if (dateTime == null) {
+            return NO_TIME;
+        }
+        return dateTime.toInstant(ZoneOffset.UTC).toEpochMilli();
+    }
+
+    public static LocalDateTime toLocalDateTime(long epochMilli) {
+        if (epochMilli == NO_TIME) {
+            return null;
+        }
+        return LocalDateTime.ofEpochSecond(Math.floorDiv(epochMilli, 1000),
+                Math.floorMod(epochMilli, 1000) * 1_000_000, ZoneOffset.UTC);
     }
 
     @Override
     public boolean equals(Object object) {
+        if (this == object) return true;
         if (object == null || getClass() != object.getClass()) return false;
         Task task = (Task) object;
-        return id == task.id && Objects.equals(name, task.name) && Objects.equals(description, task.description)
-                && status == task.status && Objects.equals(startTime, task.startTime)
-                && Objects.equals(duration, task.duration);
+        return id == task.id;
     }
 
     @Override
     public int hashCode() {
-        return Objects.hash(id, name, description, status, startTime, duration);
+        return Integer.hashCode(id);
     }
 
     @Override
@@ -105,8 +204,8 @@ public class Task {
                 ", name='" + name + '\'' +
                 ", description='" + description + '\'' +
                 ", status=" + status +
-                ", startTime=" + startTime +
-                ", duration=" + duration +
+                ", startTime=" + getStartTime() +
+                ", duration=" + getDuration() +
                 '}';
     }
-}
\ No newline at end of file
+}
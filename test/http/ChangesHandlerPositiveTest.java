@@ -0,0 +1,105 @@
+package http;
+
+import com.google.gson.JsonArray;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParser;
+import manager.Manager;
+import manager.TaskManager;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import tasks.Status;
+import tasks.Task;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.time.LocalDateTime;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+
+public class ChangesHandlerPositiveTest {
+
+    TaskManager taskManager;
+    HttpTaskServer httpTaskServer;
+    HttpClient httpClient;
+    URI url;
+    HttpResponse.BodyHandler<String> handler;
+
+    @BeforeEach
+    void beforeEach() {
+        taskManager = Manager.getDefault();
+        try {
+            httpTaskServer = new HttpTaskServer(taskManager);
+        } catch (IOException e) {
+            throw new RuntimeException(e);
+        }
+        httpTaskServer.start();
+        httpClient = HttpClient.newHttpClient();
+        url = URI.create("http://localhost:8080/changes");
+        handler = HttpResponse.BodyHandlers.ofString();
+    }
+
+    @AfterEach
+    void afterEach() {
+        httpTaskServer.stop(1);
+    }
+
+    @Test
+    void getChangesSinceSequenceTest() throws IOException, InterruptedException {
+        LocalDateTime startTime = LocalDateTime.parse("2025-03-16T14:30:00.000");
+        int firstTaskId = taskManager.createTask(new Task("First", "Description", Status.NEW, startTime,
+                Duration.ofHours(1)));
+        long since = taskManager.getChangeSequence();
+        int secondTaskId = taskManager.createTask(new Task("Second", "Description", Status.NEW,
+                startTime.plusHours(2), Duration.ofHours(1)));
+        Task updatedTask = new Task("Second", "Description", Status.DONE, startTime.plusHours(2), Duration.ofHours(1));
+        updatedTask.setId(secondTaskId);
+        taskManager.updateTask(updatedTask);
+        taskManager.deleteTask(firstTaskId);
+
+        HttpRequest request = HttpRequest.newBuilder()
+                .GET()
+                .uri(url.resolve("/changes?since=" + since))
+                .version(HttpClient.Version.HTTP_1_1)
+                .header("Accept", "*/*")
+                .build();
+
+        HttpResponse<String> response = httpClient.send(request, handler);
+        JsonObject body = JsonParser.parseString(response.body()).getAsJsonObject();
+        JsonArray changes = body.getAsJsonArray("changes");
+
+        assertEquals(200, response.statusCode(), "Код ответа должен быть 200");
+        assertEquals(taskManager.getChangeSequence(), body.get("sequence").getAsLong());
+        assertEquals(2, changes.size(), "Изменения одной задачи должны схлопываться в одно");
+        JsonObject createdChange = changes.get(0).getAsJsonObject();
+        assertEquals("CREATED", createdChange.get("action").getAsString());
+        assertEquals(secondTaskId, createdChange.get("id").getAsInt());
+        assertEquals("DONE", createdChange.getAsJsonObject("task").get("status").getAsString(),
+                "В изменении должно быть последнее состояние задачи");
+        JsonObject deletedChange = changes.get(1).getAsJsonObject();
+        assertEquals("DELETED", deletedChange.get("action").getAsString());
+        assertEquals("TASK", deletedChange.get("type").getAsString());
+        assertEquals(firstTaskId, deletedChange.get("id").getAsInt());
+        assertFalse(deletedChange.has("task"), "Для удаления не должно передаваться состояние задачи");
+    }
+
+    @Test
+    void getChangesWithoutNewChangesTest() throws IOException, InterruptedException {
+        HttpRequest request = HttpRequest.newBuilder()
+                .GET()
+                .uri(url.resolve("/changes?since=" + taskManager.getChangeSequence()))
+                .version(HttpClient.Version.HTTP_1_1)
+                .header("Accept", "*/*")
+                .build();
+
+        HttpResponse<String> response = httpClient.send(request, handler);
+
+        assertEquals(200, response.statusCode(), "Код ответа должен быть 200");
+        assertEquals("{\"sequence\":" + taskManager.getChangeSequence() + ",\"changes\":[]}", response.body());
+    }
+}
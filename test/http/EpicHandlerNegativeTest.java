@@ -4,11 +4,13 @@ import com.google.gson.Gson;
 import com.google.gson.GsonBuilder;
 import http.adapter.DurationAdapter;
 import http.adapter.LocalDateTimeAdapter;
+import http.adapter.TaskAdapterFactory;
 import manager.Manager;
 import manager.TaskManager;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
+import tasks.Epic;
 
 import java.io.IOException;
 import java.net.URI;
@@ -19,6 +21,7 @@ import java.time.Duration;
 import java.time.LocalDateTime;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 
 public class EpicHandlerNegativeTest {
 
@@ -44,6 +47,7 @@ public class EpicHandlerNegativeTest {
         gson = new GsonBuilder()
                 .registerTypeAdapter(LocalDateTime.class, new LocalDateTimeAdapter())
                 .registerTypeAdapter(Duration.class, new DurationAdapter())
+                .registerTypeAdapterFactory(new TaskAdapterFactory())
                 .serializeNulls()
                 .create();
     }
@@ -168,4 +172,82 @@ public class EpicHandlerNegativeTest {
         assertEquals(404, response.statusCode(), "Код ответа должен быть 404");
         assertEquals(expectedResponseBody, response.body(), "В теле ответа должно быть сообщение о том что эпик не найден");
     }
+
+    @Test
+    void setStatusForNotFoundEpicTest() throws IOException, InterruptedException {
+        HttpRequest request = HttpRequest.newBuilder()
+                .POST(HttpRequest.BodyPublishers.ofString("{\"status\":\"DONE\"}"))
+                .uri(url.resolve("/epics/100/status"))
+                .version(HttpClient.Version.HTTP_1_1)
+                .header("Accept", "*/*")
+                .header("Content-Type", "application/json")
+                .build();
+
+        HttpResponse<String> response = httpClient.send(request, handler);
+
+        assertEquals(404, response.statusCode(), "Код ответа должен быть 404");
+    }
+
+    @Test
+    void setUnknownStatusForEpicTest() throws IOException, InterruptedException {
+        int epicId = taskManager.createEpic(new Epic("EpicName", "EpicDescription"));
+        HttpRequest request = HttpRequest.newBuilder()
+                .POST(HttpRequest.BodyPublishers.ofString("{\"status\":\"CLOSED\"}"))
+                .uri(url.resolve("/epics/" + epicId + "/status"))
+                .version(HttpClient.Version.HTTP_1_1)
+                .header("Accept", "*/*")
+                .header("Content-Type", "application/json")
+                .build();
+
+        HttpResponse<String> response = httpClient.send(request, handler);
+
+        assertEquals(400, response.statusCode(), "Код ответа должен быть 400");
+        assertEquals("{\"errorMessage\":\"Некорректный статус: CLOSED\"}", response.body(),
+                "В теле ответа должно быть сообщение о некорректном статусе");
+    }
+
+    @Test
+    void getEpicWithUnknownExpandTest() throws IOException, InterruptedException {
+        int epicId = taskManager.createEpic(new Epic("EpicName", "EpicDescription"));
+        HttpRequest request = HttpRequest.newBuilder()
+                .GET()
+                .uri(url.resolve("/epics/" + epicId + "?expand=history"))
+                .version(HttpClient.Version.HTTP_1_1)
+                .header("Accept", "*/*")
+                .build();
+
+        HttpResponse<String> response = httpClient.send(request, handler);
+
+        assertEquals(400, response.statusCode(), "Код ответа должен быть 400");
+        assertEquals("{\"errorMessage\":\"Неизвестное значение параметра expand: history\"}", response.body(),
+                "В теле ответа должно быть сообщение об ошибке");
+    }
+
+    @Test
+    void getEpicsByIdsWithInvalidHistoryFlagTest() throws IOException, InterruptedException {
+        HttpRequest request = HttpRequest.newBuilder()
+                .GET()
+                .uri(url.resolve("/epics?ids=1&history=yes"))
+                .version(HttpClient.Version.HTTP_1_1)
+                .header("Accept", "*/*")
+                .build();
+
+        HttpResponse<String> response = httpClient.send(request, handler);
+
+        assertEquals(400, response.statusCode(), "Код ответа должен быть 400");
+    }
+
+    @Test
+    void getEpicSubTasksWithUnknownFieldShouldNotChangeHistoryTest() throws IOException, InterruptedException {
+        int epicId = taskManager.createEpic(new Epic("EpicName", "EpicDescription"));
+
+        HttpResponse<String> response = httpClient.send(HttpRequest.newBuilder()
+                .GET()
+                .uri(url.resolve("/epics/" + epicId + "/subtasks?fields=id,priority"))
+                .version(HttpClient.Version.HTTP_1_1)
+                .build(), handler);
+
+        assertEquals(400, response.statusCode(), "Код ответа должен быть 400");
+        assertTrue(taskManager.getHistory().isEmpty(), "Некорректный запрос не должен попадать в историю");
+    }
 }
@@ -5,6 +5,7 @@ import com.google.gson.GsonBuilder;
 import com.google.gson.reflect.TypeToken;
 import http.adapter.DurationAdapter;
 import http.adapter.LocalDateTimeAdapter;
+import http.adapter.TaskAdapterFactory;
 import manager.Manager;
 import manager.TaskManager;
 import org.junit.jupiter.api.AfterEach;
@@ -25,6 +26,8 @@ import java.util.List;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertTrue;
+import static tasks.TaskAssertions.assertTaskEquals;
+import static tasks.TaskAssertions.assertTaskListEquals;
 
 public class EpicHandlerPositiveTest {
 
@@ -50,6 +53,7 @@ public class EpicHandlerPositiveTest {
         gson = new GsonBuilder()
                 .registerTypeAdapter(LocalDateTime.class, new LocalDateTimeAdapter())
                 .registerTypeAdapter(Duration.class, new DurationAdapter())
+                .registerTypeAdapterFactory(new TaskAdapterFactory())
                 .serializeNulls()
                 .create();
     }
@@ -79,7 +83,7 @@ public class EpicHandlerPositiveTest {
 
         assertEquals(200, response.statusCode(), "Код ответа должен быть 200");
         assertEquals(expectedResponseBody, response.body(), "Тело ответа должно содержать все данные");
-        assertEquals(expectedEpic, actualEpic, "Эпик из менеджера должна совпадать с эпиком из тела ответа");
+        assertTaskEquals(expectedEpic, actualEpic, "Эпик из менеджера должна совпадать с эпиком из тела ответа");
     }
 
     @Test
@@ -137,7 +141,7 @@ public class EpicHandlerPositiveTest {
 
         assertEquals(200, response.statusCode(), "Код ответа должен быть 200");
         assertEquals(expectedResponseBody, response.body(), "Тело ответа должно соответствовать структуре и данным хранящимся в менеджере");
-        assertEquals(expectedListOfAllEpics, actualListOfAllEpics, "Список эпиков в менеджере должен соответствовать списку в ответе");
+        assertTaskListEquals(expectedListOfAllEpics, actualListOfAllEpics, "Список эпиков в менеджере должен соответствовать списку в ответе");
     }
 
     @Test
@@ -164,7 +168,7 @@ public class EpicHandlerPositiveTest {
 
         assertEquals(200, response.statusCode(), "Код ответа должен быть 200");
         assertEquals(expectedResponseBody, actualResponseBody, "Тело ответа должно соответствовать структуре и данным хранящимся в менеджере");
-        assertEquals(expectedEpic, actualEpic, "Эпик из менеджера должен соответствовать эпику из ответа");
+        assertTaskEquals(expectedEpic, actualEpic, "Эпик из менеджера должен соответствовать эпику из ответа");
     }
 
     @Test
@@ -224,6 +228,75 @@ public class EpicHandlerPositiveTest {
 
         assertEquals(200, response.statusCode(), "Код ответа должен быть 200");
         assertEquals(expectedResponseBody, actualResponseBody, "Тело ответа должно соответствовать структуре и данным хранящимся в менеджере");
-        assertEquals(expectedSubTasksByEpicId, actualSubTasksByEpicId, "Список подзадач в менеджере должен соответствовать списку в ответе");
+        assertTaskListEquals(expectedSubTasksByEpicId, actualSubTasksByEpicId, "Список подзадач в менеджере должен соответствовать списку в ответе");
+    }
+
+    @Test
+    void setStatusForEpicSubTasksTest() throws IOException, InterruptedException {
+        int epicId = taskManager.createEpic(new Epic("EpicName", "EpicDescription"));
+        LocalDateTime dateTime = LocalDateTime.parse("2025-03-16T14:30");
+        taskManager.createSubTask(new SubTask("SubTask1", "Description", Status.NEW, epicId, dateTime, Duration.ofHours(1)));
+        taskManager.createSubTask(new SubTask("SubTask2", "Description", Status.IN_PROGRESS, epicId,
+                dateTime.plusHours(2), Duration.ofHours(1)));
+
+        HttpRequest request = HttpRequest.newBuilder()
+                .POST(HttpRequest.BodyPublishers.ofString("{\"status\":\"DONE\"}"))
+                .uri(url.resolve("/epics/" + epicId + "/status"))
+                .version(HttpClient.Version.HTTP_1_1)
+                .header("Accept", "*/*")
+                .header("Content-Type", "application/json")
+                .build();
+
+        HttpResponse<String> response = httpClient.send(request, handler);
+
+        assertEquals(201, response.statusCode(), "Код ответа должен быть 201");
+        assertEquals(Status.DONE, taskManager.getEpic(epicId).getStatus(), "Статус эпика должен пересчитываться");
+        assertEquals(2, taskManager.getSubTasksByStatus(Status.DONE).size(), "Все подзадачи эпика должны получить статус");
+    }
+
+    @Test
+    void getEpicWithSubTasksTest() throws IOException, InterruptedException {
+        int epicId = taskManager.createEpic(new Epic("EpicName", "EpicDescription"));
+        LocalDateTime dateTime = LocalDateTime.parse("2025-03-16T14:30");
+        taskManager.createSubTask(new SubTask("SubTask1", "Description", Status.NEW, epicId, dateTime, Duration.ofHours(1)));
+        taskManager.createSubTask(new SubTask("SubTask2", "Description", Status.NEW, epicId,
+                dateTime.plusHours(2), Duration.ofHours(1)));
+
+        HttpRequest request = HttpRequest.newBuilder()
+                .GET()
+                .uri(url.resolve("/epics/" + epicId + "?expand=subtasks&offset=1&limit=1"))
+                .version(HttpClient.Version.HTTP_1_1)
+                .header("Accept", "*/*")
+                .build();
+
+        HttpResponse<String> response = httpClient.send(request, handler);
+        String expectedResponseBody = "{\"epic\":{\"subTaskIdList\":[2,3],\"endTime\":\"2025-03-16T17:30\",\"id\":1," +
+                "\"name\":\"EpicName\",\"description\":\"EpicDescription\",\"status\":\"NEW\"," +
+                "\"startTime\":\"2025-03-16T14:30\",\"duration\":\"PT2H\"}," +
+                "\"subTasks\":[{\"epicId\":1,\"id\":3,\"name\":\"SubTask2\",\"description\":\"Description\"," +
+                "\"status\":\"NEW\",\"startTime\":\"2025-03-16T16:30\",\"duration\":\"PT1H\"}],\"offset\":1,\"total\":2}";
+
+        assertEquals(200, response.statusCode(), "Код ответа должен быть 200");
+        assertEquals(expectedResponseBody, response.body(), "В ответе должен быть эпик и страница его подзадач");
+    }
+
+    @Test
+    void getEpicWithFieldsTest() throws IOException, InterruptedException {
+        int epicId = taskManager.createEpic(new Epic("EpicName", "EpicDescription"));
+        taskManager.createSubTask(new SubTask("SubTask1", "Description", Status.NEW, epicId,
+                LocalDateTime.parse("2025-03-16T14:30"), Duration.ofHours(1)));
+
+        HttpRequest request = HttpRequest.newBuilder()
+                .GET()
+                .uri(url.resolve("/epics/" + epicId + "?fields=id,subTaskIdList,epicId"))
+                .version(HttpClient.Version.HTTP_1_1)
+                .header("Accept", "*/*")
+                .build();
+
+        HttpResponse<String> response = httpClient.send(request, handler);
+
+        assertEquals(200, response.statusCode(), "Код ответа должен быть 200");
+        assertEquals("{\"subTaskIdList\":[2],\"id\":1}", response.body(),
+                "Поля, которых нет у эпика, не должны попадать в ответ");
     }
 }
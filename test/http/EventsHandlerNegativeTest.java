@@ -0,0 +1,70 @@
+package http;
+
+import manager.Manager;
+import manager.TaskManager;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+public class EventsHandlerNegativeTest {
+
+    TaskManager taskManager;
+    HttpTaskServer httpTaskServer;
+    HttpClient httpClient;
+    URI url;
+    HttpResponse.BodyHandler<String> handler;
+
+    @BeforeEach
+    void beforeEach() {
+        taskManager = Manager.getDefault();
+        try {
+            httpTaskServer = new HttpTaskServer(taskManager);
+        } catch (IOException e) {
+            throw new RuntimeException(e);
+        }
+        httpTaskServer.start();
+        httpClient = HttpClient.newHttpClient();
+        url = URI.create("http://localhost:8080/events");
+        handler = HttpResponse.BodyHandlers.ofString();
+    }
+
+    @AfterEach
+    void afterEach() {
+        httpTaskServer.stop(1);
+    }
+
+    @Test
+    void subscribeWithInvalidLastEventIdTest() throws IOException, InterruptedException {
+        HttpRequest request = HttpRequest.newBuilder()
+                .GET()
+                .uri(url)
+                .version(HttpClient.Version.HTTP_1_1)
+                .header("Last-Event-ID", "abc")
+                .build();
+
+        HttpResponse<String> response = httpClient.send(request, handler);
+
+        assertEquals(400, response.statusCode(), "Код ответа должен быть 400");
+    }
+
+    @Test
+    void postEventsTest() throws IOException, InterruptedException {
+        HttpRequest request = HttpRequest.newBuilder()
+                .POST(HttpRequest.BodyPublishers.noBody())
+                .uri(url)
+                .version(HttpClient.Version.HTTP_1_1)
+                .build();
+
+        HttpResponse<String> response = httpClient.send(request, handler);
+
+        assertEquals(405, response.statusCode(), "Код ответа должен быть 405");
+    }
+}
@@ -0,0 +1,169 @@
+package http;
+
+import manager.Manager;
+import manager.TaskManager;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.Timeout;
+import tasks.Status;
+import tasks.Task;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.net.InetSocketAddress;
+import java.net.Socket;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class EventsHandlerPositiveTest {
+
+    TaskManager taskManager;
+    HttpTaskServer httpTaskServer;
+    HttpClient httpClient;
+    URI url;
+
+    @BeforeEach
+    void beforeEach() {
+        taskManager = Manager.getDefault();
+        try {
+            httpTaskServer = new HttpTaskServer(taskManager);
+        } catch (IOException e) {
+            throw new RuntimeException(e);
+        }
+        httpTaskServer.start();
+        httpClient = HttpClient.newHttpClient();
+        url = URI.create("http://localhost:8080/events");
+    }
+
+    @AfterEach
+    void afterEach() {
+        httpTaskServer.stop(1);
+    }
+
+    @Test
+    @Timeout(10)
+    void receiveTaskChangeEventsTest() throws IOException, InterruptedException {
+        HttpRequest request = HttpRequest.newBuilder()
+                .GET()
+                .uri(url)
+                .version(HttpClient.Version.HTTP_1_1)
+                .header("Accept", "text/event-stream")
+                .build();
+
+        HttpResponse<InputStream> response = httpClient.send(request, HttpResponse.BodyHandlers.ofInputStream());
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(response.body(), StandardCharsets.UTF_8))) {
+            assertEquals(200, response.statusCode(), "Код ответа должен быть 200");
+            assertEquals("text/event-stream;charset=utf-8", response.headers().firstValue("Content-Type").orElseThrow());
+            assertEquals(": connected", reader.readLine(), "Подписчик должен получить приветствие");
+
+            int taskId = taskManager.createTask(new Task("Task Name", "Task Description", Status.NEW,
+                    LocalDateTime.parse("2025-03-16T14:30:00.000"), Duration.ofHours(1)));
+            taskManager.deleteTask(taskId);
+
+            assertEquals("", reader.readLine());
+            assertTrue(reader.readLine().startsWith("id: "), "Событие должно содержать номер изменения");
+            assertEquals("event: change", reader.readLine());
+            String createdData = reader.readLine();
+            assertTrue(createdData.contains("\"action\":\"CREATED\"") && createdData.contains("\"name\":\"Task Name\""),
+                    "Событие создания должно содержать задачу");
+            assertEquals("", reader.readLine());
+            assertTrue(reader.readLine().startsWith("id: "));
+            assertEquals("event: change", reader.readLine());
+            assertTrue(reader.readLine().contains("\"action\":\"DELETED\""), "Должно прийти событие удаления");
+        }
+    }
+
+    @Test
+    @Timeout(10)
+    void replayMissedEventsAfterReconnectTest() throws IOException, InterruptedException {
+        long lastEventId = taskManager.getChangeSequence();
+        taskManager.createTask(new Task("Missed Task", "Task Description", Status.NEW,
+                LocalDateTime.parse("2025-03-16T14:30:00.000"), Duration.ofHours(1)));
+        HttpRequest request = HttpRequest.newBuilder()
+                .GET()
+                .uri(url)
+                .version(HttpClient.Version.HTTP_1_1)
+                .header("Accept", "text/event-stream")
+                .header("Last-Event-ID", String.valueOf(lastEventId))
+                .build();
+
+        HttpResponse<InputStream> response = httpClient.send(request, HttpResponse.BodyHandlers.ofInputStream());
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(response.body(), StandardCharsets.UTF_8))) {
+            assertEquals(": connected", reader.readLine());
+            assertEquals("", reader.readLine());
+            assertEquals("id: " + taskManager.getChangeSequence(), reader.readLine(),
+                    "Пропущенное событие должно быть отправлено после переподключения");
+            assertEquals("event: change", reader.readLine());
+            assertTrue(reader.readLine().contains("\"name\":\"Missed Task\""));
+        }
+    }
+
+    @Test
+    @Timeout(30)
+    void stalledSubscribersShouldNotBlockOtherSubscribersTest() throws Exception {
+        List<Socket> stalledSockets = new ArrayList<>();
+        try {
+            for (int i = 0; i < 3; i++) {
+                Socket socket = new Socket();
+                socket.setReceiveBufferSize(4096);
+                socket.connect(new InetSocketAddress("localhost", 8080));
+                socket.getOutputStream().write(("GET /events HTTP/1.1\r\nHost: localhost\r\n"
+                        + "Accept: text/event-stream\r\n\r\n").getBytes(StandardCharsets.US_ASCII));
+                socket.getOutputStream().flush();
+                stalledSockets.add(socket);
+            }
+            HttpResponse<InputStream> response = httpClient.send(HttpRequest.newBuilder()
+                    .GET()
+                    .uri(url)
+                    .version(HttpClient.Version.HTTP_1_1)
+                    .header("Accept", "text/event-stream")
+                    .build(), HttpResponse.BodyHandlers.ofInputStream());
+            BufferedReader reader = new BufferedReader(new InputStreamReader(response.body(), StandardCharsets.UTF_8));
+            assertEquals(": connected", reader.readLine(), "Подписчик должен получить приветствие");
+            CompletableFuture<Boolean> lastEventReceived = CompletableFuture.supplyAsync(() -> {
+                try {
+                    String line;
+                    while ((line = reader.readLine()) != null) {
+                        if (line.contains("\"name\":\"Last Task\"")) {
+                            return true;
+                        }
+                    }
+                    return false;
+                } catch (IOException e) {
+                    return false;
+                }
+            });
+
+            String description = "x".repeat(16 * 1024);
+            for (int i = 0; i < 200; i++) {
+                taskManager.createTask(new Task("Task " + i, description, Status.NEW,
+                        LocalDateTime.parse("2025-03-16T14:30:00.000").plusHours(i * 2L), Duration.ofHours(1)));
+            }
+            taskManager.createTask(new Task("Last Task", "Task Description", Status.NEW,
+                    LocalDateTime.parse("2025-03-16T14:30:00.000").minusDays(1), Duration.ofHours(1)));
+
+            assertTrue(lastEventReceived.get(20, TimeUnit.SECONDS),
+                    "Читающий подписчик должен получить все события, пока другие подписчики не читают поток");
+            reader.close();
+        } finally {
+            for (Socket socket : stalledSockets) {
+                socket.close();
+            }
+        }
+    }
+}
@@ -4,6 +4,7 @@ import com.google.gson.Gson;
 import com.google.gson.GsonBuilder;
 import http.adapter.DurationAdapter;
 import http.adapter.LocalDateTimeAdapter;
+import http.adapter.TaskAdapterFactory;
 import manager.Manager;
 import manager.TaskManager;
 import org.junit.jupiter.api.AfterEach;
@@ -44,6 +45,7 @@ public class HistoryHandlerNegativeTest {
         gson = new GsonBuilder()
                 .registerTypeAdapter(LocalDateTime.class, new LocalDateTimeAdapter())
                 .registerTypeAdapter(Duration.class, new DurationAdapter())
+                .registerTypeAdapterFactory(new TaskAdapterFactory())
                 .serializeNulls()
                 .create();
     }
@@ -4,6 +4,7 @@ import com.google.gson.Gson;
 import com.google.gson.GsonBuilder;
 import http.adapter.DurationAdapter;
 import http.adapter.LocalDateTimeAdapter;
+import http.adapter.TaskAdapterFactory;
 import manager.Manager;
 import manager.TaskManager;
 import org.junit.jupiter.api.AfterEach;
@@ -44,6 +45,7 @@ public class PrioritizedHandlerNegativeTest {
         gson = new GsonBuilder()
                 .registerTypeAdapter(LocalDateTime.class, new LocalDateTimeAdapter())
                 .registerTypeAdapter(Duration.class, new DurationAdapter())
+                .registerTypeAdapterFactory(new TaskAdapterFactory())
                 .serializeNulls()
                 .create();
     }
@@ -71,4 +73,36 @@ public class PrioritizedHandlerNegativeTest {
         assertEquals(400, response.statusCode(), "Код ответа должен быть 400");
         assertEquals(expectedResponseBody, response.body(), "В теле ответа должно быть сообщение об ошибке в запросе");
     }
+
+    @Test
+    void getFreeSlotsWithoutRequiredParametersTest() throws IOException, InterruptedException {
+        URI badRequestUrl = url.resolve("/prioritized/free-slots?duration=PT1H");
+        HttpRequest request = HttpRequest.newBuilder()
+                .GET()
+                .uri(badRequestUrl)
+                .version(HttpClient.Version.HTTP_1_1)
+                .header("Accept", "*/*")
+                .build();
+
+        HttpResponse<String> response = httpClient.send(request, handler);
+
+        String expectedResponseBody = "{\"errorMessage\":\"Обязательные параметры: duration, from, to\"}";
+
+        assertEquals(400, response.statusCode(), "Код ответа должен быть 400");
+        assertEquals(expectedResponseBody, response.body(), "В теле ответа должно быть сообщение об ошибке в запросе");
+    }
+
+    @Test
+    void getPrioritizedPageWithTimeRangeTest() throws IOException, InterruptedException {
+        HttpRequest request = HttpRequest.newBuilder()
+                .GET()
+                .uri(url.resolve("/prioritized?limit=2&from=2025-03-16T14:30"))
+                .version(HttpClient.Version.HTTP_1_1)
+                .header("Accept", "*/*")
+                .build();
+
+        HttpResponse<String> response = httpClient.send(request, handler);
+
+        assertEquals(400, response.statusCode(), "Код ответа должен быть 400");
+    }
 }
@@ -3,6 +3,7 @@ package http;
 import com.google.gson.*;
 import http.adapter.DurationAdapter;
 import http.adapter.LocalDateTimeAdapter;
+import http.adapter.TaskAdapterFactory;
 import manager.Manager;
 import manager.TaskManager;
 import org.junit.jupiter.api.AfterEach;
@@ -23,6 +24,8 @@ import java.time.LocalDateTime;
 import java.util.List;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static tasks.TaskAssertions.assertTaskEquals;
+import static tasks.TaskAssertions.assertTaskListEquals;
 
 public class PrioritizedHandlerPositiveTest {
 
@@ -48,6 +51,7 @@ public class PrioritizedHandlerPositiveTest {
         gson = new GsonBuilder()
                 .registerTypeAdapter(LocalDateTime.class, new LocalDateTimeAdapter())
                 .registerTypeAdapter(Duration.class, new DurationAdapter())
+                .registerTypeAdapterFactory(new TaskAdapterFactory())
                 .serializeNulls()
                 .create();
     }
@@ -95,8 +99,78 @@ public class PrioritizedHandlerPositiveTest {
 
         assertEquals(200, response.statusCode(), "Код ответа должен быть 200");
         assertEquals(expectedResponseBody, actualResponseBody, "Тело ответа должно соответствовать структуре и данным из менеджера");
-        assertEquals(expectedTask, actualTask, "Задача из тела ответа соответствует задаче в менеджере");
-        assertEquals(expectedSubTask, actualSubTask, "Подзадача из тела ответа соответствует подзадаче в менеджере");
-        assertEquals(expectedPrioritizedList, actualPrioritizedList, "Список задач из ответа соответствует списку задач в менеджере");
+        assertTaskEquals(expectedTask, actualTask, "Задача из тела ответа соответствует задаче в менеджере");
+        assertTaskEquals(expectedSubTask, actualSubTask, "Подзадача из тела ответа соответствует подзадаче в менеджере");
+        assertTaskListEquals(expectedPrioritizedList, actualPrioritizedList, "Список задач из ответа соответствует списку задач в менеджере");
     }
-}
\ No newline at end of file
+
+    @Test
+    void getFreeSlotsTest() throws IOException, InterruptedException {
+        LocalDateTime startTime = LocalDateTime.parse("2025-03-16T10:00");
+        taskManager.createTask(new Task("Name1", "Description1", Status.NEW, startTime, Duration.ofHours(1)));
+        taskManager.createTask(new Task("Name2", "Description2", Status.NEW, startTime.plusHours(3), Duration.ofHours(1)));
+
+        URI freeSlotsUrl = url.resolve("/prioritized/free-slots?duration=PT1H&from=2025-03-16T10:00&to=2025-03-16T18:00");
+        HttpRequest request = HttpRequest.newBuilder()
+                .GET()
+                .uri(freeSlotsUrl)
+                .version(HttpClient.Version.HTTP_1_1)
+                .header("Accept", "*/*")
+                .build();
+
+        HttpResponse<String> response = httpClient.send(request, handler);
+
+        String expectedResponseBody = "[{\"startTime\":\"2025-03-16T11:01\",\"endTime\":\"2025-03-16T12:01\"}," +
+                "{\"startTime\":\"2025-03-16T14:01\",\"endTime\":\"2025-03-16T15:01\"}]";
+
+        assertEquals(200, response.statusCode(), "Код ответа должен быть 200");
+        assertEquals(expectedResponseBody, response.body(), "В ответе свободные промежутки между задачами");
+    }
+
+    @Test
+    void getPrioritizedTasksInRangeTest() throws IOException, InterruptedException {
+        LocalDateTime startTime = LocalDateTime.parse("2025-03-16T10:00");
+        taskManager.createTask(new Task("Name1", "Description1", Status.NEW, startTime, Duration.ofHours(1)));
+        taskManager.createTask(new Task("Name2", "Description2", Status.NEW, startTime.plusDays(7), Duration.ofHours(1)));
+
+        URI rangeUrl = url.resolve("/prioritized?from=2025-03-16T00:00&to=2025-03-22T23:59");
+        HttpRequest request = HttpRequest.newBuilder()
+                .GET()
+                .uri(rangeUrl)
+                .version(HttpClient.Version.HTTP_1_1)
+                .header("Accept", "*/*")
+                .build();
+
+        HttpResponse<String> response = httpClient.send(request, handler);
+
+        String expectedResponseBody = "[{\"id\":1,\"name\":\"Name1\",\"description\":\"Description1\",\"status\":\"NEW\"," +
+                "\"startTime\":\"2025-03-16T10:00\",\"duration\":\"PT1H\"}]";
+
+        assertEquals(200, response.statusCode(), "Код ответа должен быть 200");
+        assertEquals(expectedResponseBody, response.body(), "В ответе только задачи из запрошенного диапазона");
+    }
+
+    @Test
+    void getUpcomingTasksTest() throws IOException, InterruptedException {
+        LocalDateTime startTime = LocalDateTime.parse("2025-03-16T10:00");
+        taskManager.createTask(new Task("Name1", "Description1", Status.NEW, startTime, Duration.ofHours(1)));
+        taskManager.createTask(new Task("Name2", "Description2", Status.NEW, startTime.plusHours(2), Duration.ofHours(1)));
+        taskManager.createTask(new Task("Name3", "Description3", Status.NEW, startTime.plusHours(4), Duration.ofHours(1)));
+
+        URI upcomingUrl = url.resolve("/prioritized/upcoming?after=2025-03-16T10:30&limit=1");
+        HttpRequest request = HttpRequest.newBuilder()
+                .GET()
+                .uri(upcomingUrl)
+                .version(HttpClient.Version.HTTP_1_1)
+                .header("Accept", "*/*")
+                .build();
+
+        HttpResponse<String> response = httpClient.send(request, handler);
+
+        String expectedResponseBody = "[{\"id\":2,\"name\":\"Name2\",\"description\":\"Description2\",\"status\":\"NEW\"," +
+                "\"startTime\":\"2025-03-16T12:00\",\"duration\":\"PT1H\"}]";
+
+        assertEquals(200, response.statusCode(), "Код ответа должен быть 200");
+        assertEquals(expectedResponseBody, response.body(), "В ответе ближайшая задача после указанного времени");
+    }
+}
@@ -0,0 +1,109 @@
+package http;
+
+import manager.Manager;
+import manager.TaskManager;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import tasks.Status;
+import tasks.Task;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.URLEncoder;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.LocalDateTime;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+public class SearchHandlerPositiveTest {
+
+    TaskManager taskManager;
+    HttpTaskServer httpTaskServer;
+    HttpClient httpClient;
+    URI url;
+    HttpResponse.BodyHandler<String> handler;
+
+    @BeforeEach
+    void beforeEach() {
+        taskManager = Manager.getDefault();
+        try {
+            httpTaskServer = new HttpTaskServer(taskManager);
+        } catch (IOException e) {
+            throw new RuntimeException(e);
+        }
+        httpTaskServer.start();
+        httpClient = HttpClient.newHttpClient();
+        url = URI.create("http://localhost:8080/search");
+        handler = HttpResponse.BodyHandlers.ofString();
+    }
+
+    @AfterEach
+    void afterEach() {
+        httpTaskServer.stop(1);
+    }
+
+    @Test
+    void searchTasksTest() throws IOException, InterruptedException {
+        LocalDateTime startTime = LocalDateTime.parse("2025-03-16T14:30:00.000");
+        taskManager.createTask(new Task("Купить молоко", "Зайти в магазин", Status.NEW, startTime, Duration.ofHours(1)));
+        taskManager.createTask(new Task("Позвонить маме", "Спросить про молоко", Status.NEW, startTime.plusHours(2),
+                Duration.ofHours(1)));
+
+        HttpRequest request = HttpRequest.newBuilder()
+                .GET()
+                .uri(url.resolve("/search?q=" + URLEncoder.encode("молоко", StandardCharsets.UTF_8) + "&limit=1"))
+                .version(HttpClient.Version.HTTP_1_1)
+                .header("Accept", "*/*")
+                .build();
+
+        HttpResponse<String> response = httpClient.send(request, handler);
+        String expectedResponseBody = "[{\"id\":1,\"name\":\"Купить молоко\",\"description\":\"Зайти в магазин\"," +
+                "\"status\":\"NEW\",\"startTime\":\"2025-03-16T14:30\",\"duration\":\"PT1H\"}]";
+
+        assertEquals(200, response.statusCode(), "Код ответа должен быть 200");
+        assertEquals(expectedResponseBody, response.body(), "В ответе должна быть наиболее релевантная задача");
+    }
+
+    @Test
+    void searchWithoutMatchesTest() throws IOException, InterruptedException {
+        HttpRequest request = HttpRequest.newBuilder()
+                .GET()
+                .uri(url.resolve("/search?q=" + URLEncoder.encode("хлеб", StandardCharsets.UTF_8)))
+                .version(HttpClient.Version.HTTP_1_1)
+                .header("Accept", "*/*")
+                .build();
+
+        HttpResponse<String> response = httpClient.send(request, handler);
+
+        assertEquals(200, response.statusCode(), "Код ответа должен быть 200");
+        assertEquals("[]", response.body(), "Список найденных задач должен быть пустым");
+    }
+
+    @Test
+    void searchWithMatchingEtagTest() throws IOException, InterruptedException {
+        taskManager.createTask(new Task("Купить молоко", "Зайти в магазин", Status.NEW,
+                LocalDateTime.parse("2025-03-16T14:30:00.000"), Duration.ofHours(1)));
+        URI searchUrl = url.resolve("/search?q=" + URLEncoder.encode("молоко", StandardCharsets.UTF_8));
+        HttpResponse<String> firstResponse = httpClient.send(HttpRequest.newBuilder()
+                .GET()
+                .uri(searchUrl)
+                .version(HttpClient.Version.HTTP_1_1)
+                .build(), handler);
+        String etag = firstResponse.headers().firstValue("ETag").orElseThrow();
+
+        HttpResponse<String> response = httpClient.send(HttpRequest.newBuilder()
+                .GET()
+                .uri(searchUrl)
+                .version(HttpClient.Version.HTTP_1_1)
+                .header("If-None-Match", etag)
+                .build(), handler);
+
+        assertEquals(304, response.statusCode(), "Код ответа должен быть 304");
+        assertEquals("", response.body(), "Ответ 304 не должен содержать тело");
+    }
+}
@@ -0,0 +1,69 @@
+package http;
+
+import manager.Manager;
+import manager.TaskManager;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import tasks.Status;
+import tasks.Task;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.time.LocalDateTime;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+public class StatsHandlerPositiveTest {
+
+    TaskManager taskManager;
+    HttpTaskServer httpTaskServer;
+    HttpClient httpClient;
+    URI url;
+    HttpResponse.BodyHandler<String> handler;
+
+    @BeforeEach
+    void beforeEach() {
+        taskManager = Manager.getDefault();
+        try {
+            httpTaskServer = new HttpTaskServer(taskManager);
+        } catch (IOException e) {
+            throw new RuntimeException(e);
+        }
+        httpTaskServer.start();
+        httpClient = HttpClient.newHttpClient();
+        url = URI.create("http://localhost:8080/stats/hot");
+        handler = HttpResponse.BodyHandlers.ofString();
+    }
+
+    @AfterEach
+    void afterEach() {
+        httpTaskServer.stop(1);
+    }
+
+    @Test
+    void getHotTasksTest() throws IOException, InterruptedException {
+        LocalDateTime startTime = LocalDateTime.parse("2025-03-16T14:30:00.000");
+        int firstTaskId = taskManager.createTask(new Task("Name1", "Description1", Status.NEW, startTime, Duration.ofHours(1)));
+        int secondTaskId = taskManager.createTask(new Task("Name2", "Description2", Status.NEW, startTime.plusHours(2), Duration.ofHours(1)));
+        taskManager.getTask(firstTaskId);
+        taskManager.getTask(secondTaskId);
+        taskManager.getTask(secondTaskId);
+
+        HttpRequest request = HttpRequest.newBuilder()
+                .GET()
+                .uri(url.resolve("/stats/hot?limit=1"))
+                .version(HttpClient.Version.HTTP_1_1)
+                .header("Accept", "*/*")
+                .build();
+
+        HttpResponse<String> response = httpClient.send(request, handler);
+
+        assertEquals(200, response.statusCode(), "Код ответа должен быть 200");
+        assertEquals("[{\"id\":2,\"count\":2}]", response.body(), "В ответе самая просматриваемая задача");
+    }
+}
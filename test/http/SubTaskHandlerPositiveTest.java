@@ -5,6 +5,7 @@ import com.google.gson.GsonBuilder;
 import com.google.gson.reflect.TypeToken;
 import http.adapter.DurationAdapter;
 import http.adapter.LocalDateTimeAdapter;
+import http.adapter.TaskAdapterFactory;
 import manager.Manager;
 import manager.TaskManager;
 import org.junit.jupiter.api.AfterEach;
@@ -25,6 +26,8 @@ import java.util.List;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertTrue;
+import static tasks.TaskAssertions.assertTaskEquals;
+import static tasks.TaskAssertions.assertTaskListEquals;
 
 public class SubTaskHandlerPositiveTest {
 
@@ -50,6 +53,7 @@ public class SubTaskHandlerPositiveTest {
         gson = new GsonBuilder()
                 .registerTypeAdapter(LocalDateTime.class, new LocalDateTimeAdapter())
                 .registerTypeAdapter(Duration.class, new DurationAdapter())
+                .registerTypeAdapterFactory(new TaskAdapterFactory())
                 .serializeNulls()
                 .create();
     }
@@ -81,7 +85,7 @@ public class SubTaskHandlerPositiveTest {
 
         assertEquals(200, response.statusCode(), "Код ответа должен быть 200");
         assertEquals(expectedResponseBody, response.body(), "Тело ответа должно содержать все данные");
-        assertEquals(expectedSubTask, actualSubTask, "Задача из менеджера должна совпадать с задачей из тела ответа");
+        assertTaskEquals(expectedSubTask, actualSubTask, "Задача из менеджера должна совпадать с задачей из тела ответа");
     }
 
     @Test
@@ -150,7 +154,7 @@ public class SubTaskHandlerPositiveTest {
 
         assertEquals(200, response.statusCode(), "Код ответа должен быть 200");
         assertEquals(expectedResponseBody, response.body(), "Тело ответа должно соответствовать структуре и данным хранящимся в менеджере");
-        assertEquals(expectedListOfAllSubTasks, actualListOfAllSubTasks, "Список задач в менеджере должен соответствовать списку в ответе");
+        assertTaskListEquals(expectedListOfAllSubTasks, actualListOfAllSubTasks, "Список задач в менеджере должен соответствовать списку в ответе");
     }
 
     @Test
@@ -178,7 +182,7 @@ public class SubTaskHandlerPositiveTest {
 
         assertEquals(200, response.statusCode(), "Код ответа должен быть 200");
         assertEquals(expectedResponseBody, actualResponseBody, "Тело ответа должно соответствовать структуре и данным хранящимся в менеджере");
-        assertEquals(expectedSubTask, actualSubTask, "Задача из менеджера должна соответствовать задачи из ответа");
+        assertTaskEquals(expectedSubTask, actualSubTask, "Задача из менеджера должна соответствовать задачи из ответа");
     }
 
     @Test
@@ -204,4 +208,49 @@ public class SubTaskHandlerPositiveTest {
         assertEquals(201, response.statusCode(), "Код ответа должен быть 201");
         assertTrue(expectedSubTasks.isEmpty(), "Список задач в менеджере пустой после удаления");
     }
-}
\ No newline at end of file
+
+    @Test
+    void applySubTasksBatchTest() throws IOException, InterruptedException {
+        int epicId = taskManager.createEpic(new Epic("EpicName", "EpicDescription"));
+        String requestBody = "[{\"action\":\"CREATE\",\"task\":{\"name\":\"SubTask1\",\"description\":\"Description\"," +
+                "\"status\":\"DONE\",\"epicId\":" + epicId + ",\"startTime\":\"2025-03-16T14:30\",\"duration\":\"PT1H\"}}," +
+                "{\"action\":\"CREATE\",\"task\":{\"name\":\"SubTask2\",\"description\":\"Description\"," +
+                "\"status\":\"DONE\",\"epicId\":" + epicId + ",\"startTime\":\"2025-03-16T16:30\",\"duration\":\"PT1H\"}}]";
+        HttpRequest request = HttpRequest.newBuilder()
+                .POST(HttpRequest.BodyPublishers.ofString(requestBody))
+                .uri(url.resolve("/subtasks/batch"))
+                .version(HttpClient.Version.HTTP_1_1)
+                .header("Accept", "*/*")
+                .header("Content-Type", "application/json")
+                .build();
+
+        HttpResponse<String> response = httpClient.send(request, handler);
+
+        assertEquals(200, response.statusCode(), "Код ответа должен быть 200");
+        assertEquals("[2,3]", response.body(), "В ответе должны быть id созданных подзадач");
+        assertEquals(Status.DONE, taskManager.getEpic(epicId).getStatus(), "Статус эпика должен пересчитываться");
+    }
+
+    @Test
+    void getSubTasksByIdsTest() throws IOException, InterruptedException {
+        int epicId = taskManager.createEpic(new Epic("EpicName", "EpicDescription"));
+        LocalDateTime dateTime = LocalDateTime.parse("2025-03-16T14:30");
+        int subTaskId = taskManager.createSubTask(new SubTask("SubTask1", "Description", Status.NEW, epicId, dateTime,
+                Duration.ofHours(1)));
+
+        HttpRequest request = HttpRequest.newBuilder()
+                .GET()
+                .uri(url.resolve("/subtasks?ids=" + subTaskId + "," + epicId))
+                .version(HttpClient.Version.HTTP_1_1)
+                .header("Accept", "*/*")
+                .build();
+
+        HttpResponse<String> response = httpClient.send(request, handler);
+        String expectedResponseBody = "[{\"epicId\":1,\"id\":2,\"name\":\"SubTask1\",\"description\":\"Description\"," +
+                "\"status\":\"NEW\",\"startTime\":\"2025-03-16T14:30\",\"duration\":\"PT1H\"}]";
+
+        assertEquals(200, response.statusCode(), "Код ответа должен быть 200");
+        assertEquals(expectedResponseBody, response.body(), "В ответе должны быть только подзадачи");
+        assertTrue(taskManager.getHistory().isEmpty(), "По умолчанию история не должна меняться");
+    }
+}
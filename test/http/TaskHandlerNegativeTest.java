@@ -4,6 +4,10 @@ import com.google.gson.Gson;
 import com.google.gson.GsonBuilder;
 import http.adapter.DurationAdapter;
 import http.adapter.LocalDateTimeAdapter;
+import http.adapter.TaskAdapterFactory;
+import http.log.AsyncAppender;
+import http.log.LogLevel;
+import http.log.RequestLogger;
 import manager.Manager;
 import manager.TaskManager;
 import org.junit.jupiter.api.AfterEach;
@@ -12,15 +16,25 @@ import org.junit.jupiter.api.Test;
 import tasks.Status;
 import tasks.Task;
 
+import java.io.ByteArrayOutputStream;
+import java.io.File;
 import java.io.IOException;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Proxy;
 import java.net.URI;
 import java.net.http.HttpClient;
 import java.net.http.HttpRequest;
 import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
 import java.time.Duration;
 import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.List;
+import java.util.zip.GZIPOutputStream;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 
 public class TaskHandlerNegativeTest {
 
@@ -46,6 +60,7 @@ public class TaskHandlerNegativeTest {
         gson = new GsonBuilder()
                 .registerTypeAdapter(LocalDateTime.class, new LocalDateTimeAdapter())
                 .registerTypeAdapter(Duration.class, new DurationAdapter())
+                .registerTypeAdapterFactory(new TaskAdapterFactory())
                 .serializeNulls()
                 .create();
     }
@@ -157,4 +172,331 @@ public class TaskHandlerNegativeTest {
         assertEquals(404, response.statusCode(), "Код ответа должен быть 404");
         assertEquals(expectedResponseBody, response.body(), "В теле ответа должно быть сообщение о том что задача не найдена");
     }
+
+    @Test
+    void getTasksByUnknownStatusTest() throws IOException, InterruptedException {
+        HttpRequest request = HttpRequest.newBuilder()
+                .GET()
+                .uri(url.resolve("/tasks?status=CLOSED"))
+                .version(HttpClient.Version.HTTP_1_1)
+                .header("Accept", "*/*")
+                .build();
+
+        HttpResponse<String> response = httpClient.send(request, handler);
+
+        assertEquals(400, response.statusCode(), "Код ответа должен быть 400");
+        assertEquals("{\"errorMessage\":\"Некорректный статус: CLOSED\"}", response.body(),
+                "В теле ответа должно быть сообщение о некорректном статусе");
+    }
+
+    @Test
+    void suggestTasksWithoutPrefixTest() throws IOException, InterruptedException {
+        HttpRequest request = HttpRequest.newBuilder()
+                .GET()
+                .uri(url.resolve("/tasks/suggest"))
+                .version(HttpClient.Version.HTTP_1_1)
+                .header("Accept", "*/*")
+                .build();
+
+        HttpResponse<String> response = httpClient.send(request, handler);
+
+        assertEquals(400, response.statusCode(), "Код ответа должен быть 400");
+        assertEquals("{\"errorMessage\":\"Не указан префикс названия задачи\"}", response.body(),
+                "В теле ответа должно быть сообщение об ошибке");
+    }
+
+    @Test
+    void applyIntersectedTasksBatchTest() throws IOException, InterruptedException {
+        String task = "{\"name\":\"Task\",\"description\":\"Description\",\"status\":\"NEW\"," +
+                "\"startTime\":\"2025-03-16T14:30\",\"duration\":\"PT1H\"}";
+        String requestBody = "[{\"action\":\"CREATE\",\"task\":" + task + "},{\"action\":\"CREATE\",\"task\":" + task + "}]";
+        HttpRequest request = HttpRequest.newBuilder()
+                .POST(HttpRequest.BodyPublishers.ofString(requestBody))
+                .uri(url.resolve("/tasks/batch"))
+                .version(HttpClient.Version.HTTP_1_1)
+                .header("Accept", "*/*")
+                .header("Content-Type", "application/json")
+                .build();
+
+        HttpResponse<String> response = httpClient.send(request, handler);
+
+        assertEquals(406, response.statusCode(), "Код ответа должен быть 406");
+        assertTrue(taskManager.getTasks().isEmpty(), "Задачи из пакета с ошибкой не должны создаваться");
+    }
+
+    @Test
+    void applyInvalidTasksBatchTest() throws IOException, InterruptedException {
+        HttpRequest request = HttpRequest.newBuilder()
+                .POST(HttpRequest.BodyPublishers.ofString("[{\"action\":\"DELETE\"}]"))
+                .uri(url.resolve("/tasks/batch"))
+                .version(HttpClient.Version.HTTP_1_1)
+                .header("Accept", "*/*")
+                .header("Content-Type", "application/json")
+                .build();
+
+        HttpResponse<String> response = httpClient.send(request, handler);
+
+        assertEquals(400, response.statusCode(), "Код ответа должен быть 400");
+    }
+
+    @Test
+    void getTasksByInvalidIdsTest() throws IOException, InterruptedException {
+        HttpRequest request = HttpRequest.newBuilder()
+                .GET()
+                .uri(url.resolve("/tasks?ids=1,abc"))
+                .version(HttpClient.Version.HTTP_1_1)
+                .header("Accept", "*/*")
+                .build();
+
+        HttpResponse<String> response = httpClient.send(request, handler);
+
+        assertEquals(400, response.statusCode(), "Код ответа должен быть 400");
+        assertEquals("{\"errorMessage\":\"Некорректный список id: 1,abc\"}", response.body(),
+                "В теле ответа должно быть сообщение об ошибке");
+    }
+
+    @Test
+    void getTasksPageWithInvalidCursorTest() throws IOException, InterruptedException {
+        HttpRequest request = HttpRequest.newBuilder()
+                .GET()
+                .uri(url.resolve("/tasks?cursor=not-a-cursor"))
+                .version(HttpClient.Version.HTTP_1_1)
+                .header("Accept", "*/*")
+                .build();
+
+        HttpResponse<String> response = httpClient.send(request, handler);
+
+        assertEquals(400, response.statusCode(), "Код ответа должен быть 400");
+    }
+
+    @Test
+    void getTasksWithUnknownFieldTest() throws IOException, InterruptedException {
+        HttpRequest request = HttpRequest.newBuilder()
+                .GET()
+                .uri(url.resolve("/tasks?fields=id,priority"))
+                .version(HttpClient.Version.HTTP_1_1)
+                .header("Accept", "*/*")
+                .build();
+
+        HttpResponse<String> response = httpClient.send(request, handler);
+
+        assertEquals(400, response.statusCode(), "Код ответа должен быть 400");
+        assertEquals("{\"errorMessage\":\"Неизвестное поле: priority\"}", response.body(),
+                "В теле ответа должно быть сообщение об ошибке");
+    }
+
+    @Test
+    void createTaskWithUnsupportedContentEncodingTest() throws IOException, InterruptedException {
+        HttpRequest request = HttpRequest.newBuilder()
+                .POST(HttpRequest.BodyPublishers.ofString("{}"))
+                .uri(url)
+                .version(HttpClient.Version.HTTP_1_1)
+                .header("Accept", "*/*")
+                .header("Content-Type", "application/json")
+                .header("Content-Encoding", "br")
+                .build();
+
+        HttpResponse<String> response = httpClient.send(request, handler);
+
+        assertEquals(415, response.statusCode(), "Код ответа должен быть 415");
+    }
+
+    @Test
+    void createTaskWithBrokenGzipBodyTest() throws IOException, InterruptedException {
+        HttpRequest request = HttpRequest.newBuilder()
+                .POST(HttpRequest.BodyPublishers.ofString("not gzip"))
+                .uri(url)
+                .version(HttpClient.Version.HTTP_1_1)
+                .header("Accept", "*/*")
+                .header("Content-Type", "application/json")
+                .header("Content-Encoding", "gzip")
+                .build();
+
+        HttpResponse<String> response = httpClient.send(request, handler);
+
+        assertEquals(400, response.statusCode(), "Код ответа должен быть 400");
+    }
+
+    @Test
+    void createTaskWithOversizedGzipBodyTest() throws IOException, InterruptedException {
+        ByteArrayOutputStream compressedBody = new ByteArrayOutputStream();
+        try (GZIPOutputStream gzip = new GZIPOutputStream(compressedBody)) {
+            byte[] chunk = new byte[64 * 1024];
+            Arrays.fill(chunk, (byte) ' ');
+            for (int i = 0; i < 256; i++) {
+                gzip.write(chunk);
+            }
+        }
+        HttpRequest request = HttpRequest.newBuilder()
+                .POST(HttpRequest.BodyPublishers.ofByteArray(compressedBody.toByteArray()))
+                .uri(url)
+                .version(HttpClient.Version.HTTP_1_1)
+                .header("Accept", "*/*")
+                .header("Content-Type", "application/json")
+                .header("Content-Encoding", "gzip")
+                .build();
+
+        HttpResponse<String> response = httpClient.send(request, handler);
+
+        assertEquals(413, response.statusCode(), "Код ответа должен быть 413");
+        assertTrue(taskManager.getTasks().isEmpty(), "Задача не должна быть создана");
+    }
+
+    @Test
+    void waitForTaskVersionWithInvalidTimeoutTest() throws IOException, InterruptedException {
+        int taskId = taskManager.createTask(new Task("Task Name", "Task Description", Status.NEW,
+                LocalDateTime.parse("2025-03-16T14:30:00.000"), Duration.ofHours(1)));
+        HttpRequest request = HttpRequest.newBuilder()
+                .GET()
+                .uri(url.resolve("/tasks/" + taskId + "?waitForVersion=1&timeout=1h"))
+                .version(HttpClient.Version.HTTP_1_1)
+                .header("Accept", "*/*")
+                .build();
+
+        HttpResponse<String> response = httpClient.send(request, handler);
+
+        assertEquals(400, response.statusCode(), "Код ответа должен быть 400");
+    }
+
+    @Test
+    void putTaskTest() throws IOException, InterruptedException {
+        HttpRequest request = HttpRequest.newBuilder()
+                .PUT(HttpRequest.BodyPublishers.ofString("{}"))
+                .uri(url.resolve("/tasks/1"))
+                .version(HttpClient.Version.HTTP_1_1)
+                .header("Accept", "*/*")
+                .build();
+
+        HttpResponse<String> response = httpClient.send(request, handler);
+
+        assertEquals(405, response.statusCode(), "Код ответа должен быть 405");
+    }
+
+    @Test
+    void getTaskWithUnknownPathTest() throws IOException, InterruptedException {
+        HttpRequest request = HttpRequest.newBuilder()
+                .GET()
+                .uri(url.resolve("/tasks/1/unknown"))
+                .version(HttpClient.Version.HTTP_1_1)
+                .header("Accept", "*/*")
+                .build();
+
+        HttpResponse<String> response = httpClient.send(request, handler);
+
+        assertEquals(400, response.statusCode(), "Код ответа должен быть 400");
+        assertEquals("{\"errorMessage\":\"Ошибка в запросе\"}", response.body());
+    }
+
+    @Test
+    void getTaskWithInvalidIdTest() throws IOException, InterruptedException {
+        HttpRequest request = HttpRequest.newBuilder()
+                .GET()
+                .uri(url.resolve("/tasks/abc"))
+                .version(HttpClient.Version.HTTP_1_1)
+                .header("Accept", "*/*")
+                .build();
+
+        HttpResponse<String> response = httpClient.send(request, handler);
+
+        assertEquals(400, response.statusCode(), "Код ответа должен быть 400");
+    }
+
+    @Test
+    void getTaskWithUnknownFieldShouldNotChangeHistoryTest() throws IOException, InterruptedException {
+        int taskId = taskManager.createTask(new Task("Task Name", "Task Description", Status.NEW,
+                LocalDateTime.parse("2025-03-16T14:30:00.000"), Duration.ofHours(1)));
+        long historyVersion = taskManager.getHistoryVersion();
+
+        HttpResponse<String> response = httpClient.send(HttpRequest.newBuilder()
+                .GET()
+                .uri(url.resolve("/tasks/" + taskId + "?fields=id,priority"))
+                .version(HttpClient.Version.HTTP_1_1)
+                .build(), handler);
+
+        assertEquals(400, response.statusCode(), "Код ответа должен быть 400");
+        assertTrue(taskManager.getHistory().isEmpty(), "Некорректный запрос не должен попадать в историю");
+        assertTrue(taskManager.getHotTasks(10).isEmpty(), "Некорректный запрос не должен учитываться в статистике");
+        assertEquals(historyVersion, taskManager.getHistoryVersion(), "Версия истории не должна меняться");
+    }
+
+    @Test
+    void getTasksByIdsWithUnknownFieldShouldNotChangeHistoryTest() throws IOException, InterruptedException {
+        int taskId = taskManager.createTask(new Task("Task Name", "Task Description", Status.NEW,
+                LocalDateTime.parse("2025-03-16T14:30:00.000"), Duration.ofHours(1)));
+
+        HttpResponse<String> response = httpClient.send(HttpRequest.newBuilder()
+                .GET()
+                .uri(url.resolve("/tasks?ids=" + taskId + "&history=true&fields=id,priority"))
+                .version(HttpClient.Version.HTTP_1_1)
+                .build(), handler);
+
+        assertEquals(400, response.statusCode(), "Код ответа должен быть 400");
+        assertTrue(taskManager.getHistory().isEmpty(), "Некорректный запрос не должен попадать в историю");
+        assertTrue(taskManager.getHotTasks(10).isEmpty(), "Некорректный запрос не должен учитываться в статистике");
+    }
+
+    @Test
+    void waitForTaskVersionWithInvalidTimeoutShouldNotChangeHistoryTest() throws IOException, InterruptedException {
+        int taskId = taskManager.createTask(new Task("Task Name", "Task Description", Status.NEW,
+                LocalDateTime.parse("2025-03-16T14:30:00.000"), Duration.ofHours(1)));
+
+        HttpResponse<String> response = httpClient.send(HttpRequest.newBuilder()
+                .GET()
+                .uri(url.resolve("/tasks/" + taskId + "?waitForVersion=1&timeout=soon"))
+                .version(HttpClient.Version.HTTP_1_1)
+                .build(), handler);
+
+        assertEquals(400, response.statusCode(), "Код ответа должен быть 400");
+        assertTrue(taskManager.getHistory().isEmpty(), "Некорректный запрос не должен попадать в историю");
+    }
+
+    @Test
+    void accessLogShouldNotContainDecodedPathTest() throws IOException, InterruptedException {
+        httpTaskServer.stop(0);
+        File logFile = File.createTempFile("access", ".log");
+        logFile.deleteOnExit();
+        httpTaskServer = new HttpTaskServer(taskManager,
+                new RequestLogger(LogLevel.INFO, AsyncAppender.toFile(logFile)));
+        httpTaskServer.start();
+
+        HttpResponse<String> response = httpClient.send(HttpRequest.newBuilder()
+                .GET()
+                .uri(url.resolve("/tasks%0A2025-01-01T00:00:00Z%20level=INFO%20method=DELETE"))
+                .version(HttpClient.Version.HTTP_1_1)
+                .build(), handler);
+        httpTaskServer.stop(0);
+        List<String> lines = Files.readAllLines(logFile.toPath(), StandardCharsets.UTF_8);
+
+        assertEquals(400, response.statusCode(), "Код ответа должен быть 400");
+        assertTrue(lines.stream().noneMatch(line -> line.startsWith("2025-01-01")),
+                "Путь запроса не должен порождать поддельные записи журнала");
+        assertTrue(lines.stream().anyMatch(line -> line.contains("path=/tasks%0A2025-01-01T00:00:00Z%20level=INFO%20method=DELETE status=400")),
+                "Путь должен попадать в журнал в исходном закодированном виде");
+    }
+
+    @Test
+    void unexpectedExceptionShouldReturnInternalServerErrorTest() throws IOException, InterruptedException {
+        httpTaskServer.stop(0);
+        TaskManager failingTaskManager = (TaskManager) Proxy.newProxyInstance(TaskManager.class.getClassLoader(),
+                new Class<?>[]{TaskManager.class}, (proxy, method, args) -> {
+                    if (method.getName().equals("getTasks")) {
+                        throw new IllegalStateException("Сбой менеджера");
+                    }
+                    try {
+                        return method.invoke(taskManager, args);
+                    } catch (InvocationTargetException e) {
+                        throw e.getCause();
+                    }
+                });
+        httpTaskServer = new HttpTaskServer(failingTaskManager);
+        httpTaskServer.start();
+
+        HttpResponse<String> response = httpClient.send(HttpRequest.newBuilder()
+                .GET()
+                .uri(url)
+                .version(HttpClient.Version.HTTP_1_1)
+                .build(), handler);
+
+        assertEquals(500, response.statusCode(), "Код ответа должен быть 500");
+    }
 }
@@ -5,6 +5,10 @@ import com.google.gson.GsonBuilder;
 import com.google.gson.reflect.TypeToken;
 import http.adapter.DurationAdapter;
 import http.adapter.LocalDateTimeAdapter;
+import http.adapter.TaskAdapterFactory;
+import http.log.AsyncAppender;
+import http.log.LogLevel;
+import http.log.RequestLogger;
 import manager.Manager;
 import manager.TaskManager;
 import org.junit.jupiter.api.AfterEach;
@@ -13,17 +17,28 @@ import org.junit.jupiter.api.Test;
 import tasks.Status;
 import tasks.Task;
 
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.File;
 import java.io.IOException;
 import java.net.URI;
 import java.net.http.HttpClient;
 import java.net.http.HttpRequest;
 import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
 import java.time.Duration;
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertTrue;
+import static tasks.TaskAssertions.assertTaskEquals;
+import static tasks.TaskAssertions.assertTaskListEquals;
 
 public class TaskHandlerPositiveTest {
 
@@ -49,6 +64,7 @@ public class TaskHandlerPositiveTest {
         gson = new GsonBuilder()
                 .registerTypeAdapter(LocalDateTime.class, new LocalDateTimeAdapter())
                 .registerTypeAdapter(Duration.class, new DurationAdapter())
+                .registerTypeAdapterFactory(new TaskAdapterFactory())
                 .serializeNulls()
                 .create();
     }
@@ -79,7 +95,7 @@ public class TaskHandlerPositiveTest {
 
         assertEquals(200, response.statusCode(), "Код ответа должен быть 200");
         assertEquals(expectedResponseBody, response.body(), "Тело ответа должно содержать все данные");
-        assertEquals(expectedTask, actualTask, "Задача из менеджера должна совпадать с задачей из тела ответа");
+        assertTaskEquals(expectedTask, actualTask, "Задача из менеджера должна совпадать с задачей из тела ответа");
     }
 
     @Test
@@ -146,7 +162,7 @@ public class TaskHandlerPositiveTest {
 
         assertEquals(200, response.statusCode(), "Код ответа должен быть 200");
         assertEquals(expectedResponseBody, response.body(), "Тело ответа должно соответствовать структуре и данным хранящимся в менеджере");
-        assertEquals(expectedListOfAllTasks, actualListOfAllTasks, "Список задач в менеджере должен соответствовать списку в ответе");
+        assertTaskListEquals(expectedListOfAllTasks, actualListOfAllTasks, "Список задач в менеджере должен соответствовать списку в ответе");
     }
 
     @Test
@@ -173,7 +189,7 @@ public class TaskHandlerPositiveTest {
 
         assertEquals(200, response.statusCode(), "Код ответа должен быть 200");
         assertEquals(expectedResponseBody, actualResponseBody, "Тело ответа должно соответствовать структуре и данным хранящимся в менеджере");
-        assertEquals(expectedTask, actualTask, "Задача из менеджера должна соответствовать задачи из ответа");
+        assertTaskEquals(expectedTask, actualTask, "Задача из менеджера должна соответствовать задачи из ответа");
     }
 
     @Test
@@ -198,4 +214,474 @@ public class TaskHandlerPositiveTest {
         assertEquals(201, response.statusCode(), "Код ответа должен быть 201");
         assertTrue(expectedTasks.isEmpty(), "Список задач в менеджере пустой после удаления");
     }
+
+    @Test
+    void getTasksByStatusTest() throws IOException, InterruptedException {
+        LocalDateTime dateTime = LocalDateTime.parse("2025-03-16T14:30:00.000");
+        taskManager.createTask(new Task("Task Name", "Task Description", Status.NEW, dateTime, Duration.ofHours(1)));
+        taskManager.createTask(new Task("Task Name", "Task Description", Status.DONE, dateTime.plusMinutes(120), Duration.ofHours(1)));
+
+        HttpRequest request = HttpRequest.newBuilder()
+                .GET()
+                .uri(url.resolve("/tasks?status=DONE"))
+                .version(HttpClient.Version.HTTP_1_1)
+                .header("Accept", "*/*")
+                .build();
+
+        HttpResponse<String> response = httpClient.send(request, handler);
+        String expectedResponseBody = "[{\"id\":2,\"name\":\"Task Name\",\"description\":\"Task Description\"," +
+                "\"status\":\"DONE\",\"startTime\":\"2025-03-16T16:30\",\"duration\":\"PT1H\"}]";
+
+        assertEquals(200, response.statusCode(), "Код ответа должен быть 200");
+        assertEquals(expectedResponseBody, response.body(), "В ответе только задачи с указанным статусом");
+    }
+
+    @Test
+    void suggestTasksTest() throws IOException, InterruptedException {
+        LocalDateTime dateTime = LocalDateTime.parse("2025-03-16T14:30:00.000");
+        taskManager.createTask(new Task("Write report", "Task Description", Status.NEW, dateTime, Duration.ofHours(1)));
+        taskManager.createTask(new Task("Read book", "Task Description", Status.NEW, dateTime.plusMinutes(120), Duration.ofHours(1)));
+
+        HttpRequest request = HttpRequest.newBuilder()
+                .GET()
+                .uri(url.resolve("/tasks/suggest?prefix=wr"))
+                .version(HttpClient.Version.HTTP_1_1)
+                .header("Accept", "*/*")
+                .build();
+
+        HttpResponse<String> response = httpClient.send(request, handler);
+        String expectedResponseBody = "[{\"id\":1,\"name\":\"Write report\",\"description\":\"Task Description\"," +
+                "\"status\":\"NEW\",\"startTime\":\"2025-03-16T14:30\",\"duration\":\"PT1H\"}]";
+
+        assertEquals(200, response.statusCode(), "Код ответа должен быть 200");
+        assertEquals(expectedResponseBody, response.body(), "В ответе только задачи с указанным префиксом");
+    }
+
+    @Test
+    void applyTasksBatchTest() throws IOException, InterruptedException {
+        LocalDateTime dateTime = LocalDateTime.parse("2025-03-16T14:30:00.000");
+        int taskId = taskManager.createTask(new Task("Task Name", "Task Description", Status.NEW, dateTime, Duration.ofHours(1)));
+
+        String requestBody = "[{\"action\":\"CREATE\",\"task\":{\"name\":\"New Task\",\"description\":\"Description\"," +
+                "\"status\":\"NEW\",\"startTime\":\"2025-03-16T14:30\",\"duration\":\"PT1H\"}}," +
+                "{\"action\":\"DELETE\",\"id\":" + taskId + "}]";
+        HttpRequest request = HttpRequest.newBuilder()
+                .POST(HttpRequest.BodyPublishers.ofString(requestBody))
+                .uri(url.resolve("/tasks/batch"))
+                .version(HttpClient.Version.HTTP_1_1)
+                .header("Accept", "*/*")
+                .header("Content-Type", "application/json")
+                .build();
+
+        HttpResponse<String> response = httpClient.send(request, handler);
+
+        assertEquals(200, response.statusCode(), "Код ответа должен быть 200");
+        assertEquals("[2,1]", response.body(), "В ответе должны быть id изменённых задач");
+        assertEquals(List.of("New Task"), taskManager.getTasks().stream().map(Task::getName).toList(),
+                "В менеджере должна остаться только созданная задача");
+    }
+
+    @Test
+    void getTasksByIdsTest() throws IOException, InterruptedException {
+        LocalDateTime dateTime = LocalDateTime.parse("2025-03-16T14:30:00.000");
+        taskManager.createTask(new Task("Task1", "Task Description", Status.NEW, dateTime, Duration.ofHours(1)));
+        taskManager.createTask(new Task("Task2", "Task Description", Status.NEW, dateTime.plusMinutes(120), Duration.ofHours(1)));
+
+        HttpRequest request = HttpRequest.newBuilder()
+                .GET()
+                .uri(url.resolve("/tasks?ids=2,5&history=true"))
+                .version(HttpClient.Version.HTTP_1_1)
+                .header("Accept", "*/*")
+                .build();
+
+        HttpResponse<String> response = httpClient.send(request, handler);
+        String expectedResponseBody = "[{\"id\":2,\"name\":\"Task2\",\"description\":\"Task Description\"," +
+                "\"status\":\"NEW\",\"startTime\":\"2025-03-16T16:30\",\"duration\":\"PT1H\"}]";
+
+        assertEquals(200, response.statusCode(), "Код ответа должен быть 200");
+        assertEquals(expectedResponseBody, response.body(), "В ответе должны быть только найденные задачи");
+        assertEquals(List.of(2), taskManager.getHistory().stream().map(Task::getId).toList(),
+                "Запрошенная задача должна попасть в историю");
+    }
+
+    @Test
+    void getTasksPageTest() throws IOException, InterruptedException {
+        LocalDateTime dateTime = LocalDateTime.parse("2025-03-16T14:30:00.000");
+        for (int i = 0; i < 3; i++) {
+            taskManager.createTask(new Task("Task" + i, "Task Description", Status.NEW, dateTime.plusHours(2L * i),
+                    Duration.ofHours(1)));
+        }
+
+        HttpRequest firstRequest = HttpRequest.newBuilder()
+                .GET()
+                .uri(url.resolve("/tasks?limit=2"))
+                .version(HttpClient.Version.HTTP_1_1)
+                .header("Accept", "*/*")
+                .build();
+        HttpResponse<String> firstResponse = httpClient.send(firstRequest, handler);
+        String cursor = firstResponse.headers().firstValue("X-Next-Cursor").orElseThrow();
+
+        HttpRequest secondRequest = HttpRequest.newBuilder()
+                .GET()
+                .uri(url.resolve("/tasks?limit=2&cursor=" + cursor))
+                .version(HttpClient.Version.HTTP_1_1)
+                .header("Accept", "*/*")
+                .build();
+        HttpResponse<String> secondResponse = httpClient.send(secondRequest, handler);
+
+        List<Task> firstPage = gson.fromJson(firstResponse.body(), new TypeToken<List<Task>>() {
+        }.getType());
+        List<Task> secondPage = gson.fromJson(secondResponse.body(), new TypeToken<List<Task>>() {
+        }.getType());
+
+        assertEquals(200, firstResponse.statusCode(), "Код ответа должен быть 200");
+        assertEquals(List.of(1, 2), firstPage.stream().map(Task::getId).toList(), "Первая страница должна содержать 2 задачи");
+        assertEquals(List.of(3), secondPage.stream().map(Task::getId).toList(), "Вторая страница должна продолжать первую");
+        assertTrue(secondResponse.headers().firstValue("X-Next-Cursor").isEmpty(),
+                "У последней страницы не должно быть курсора");
+    }
+
+    @Test
+    void getTasksWithFieldsTest() throws IOException, InterruptedException {
+        LocalDateTime dateTime = LocalDateTime.parse("2025-03-16T14:30:00.000");
+        taskManager.createTask(new Task("Task Name", "Long Task Description", Status.NEW, dateTime, Duration.ofHours(1)));
+
+        HttpRequest request = HttpRequest.newBuilder()
+                .GET()
+                .uri(url.resolve("/tasks?fields=id,name,status,startTime"))
+                .version(HttpClient.Version.HTTP_1_1)
+                .header("Accept", "*/*")
+                .build();
+
+        HttpResponse<String> response = httpClient.send(request, handler);
+
+        assertEquals(200, response.statusCode(), "Код ответа должен быть 200");
+        assertEquals("[{\"id\":1,\"name\":\"Task Name\",\"status\":\"NEW\",\"startTime\":\"2025-03-16T14:30\"}]",
+                response.body(), "В ответе должны быть только запрошенные поля");
+    }
+
+    @Test
+    void getTasksWithGzipCompressionTest() throws IOException, InterruptedException {
+        LocalDateTime dateTime = LocalDateTime.parse("2025-03-16T14:30:00.000");
+        for (int i = 0; i < 20; i++) {
+            taskManager.createTask(new Task("Task" + i, "Task Description ".repeat(10), Status.NEW,
+                    dateTime.plusHours(2L * i), Duration.ofHours(1)));
+        }
+
+        HttpRequest request = HttpRequest.newBuilder()
+                .GET()
+                .uri(url)
+                .version(HttpClient.Version.HTTP_1_1)
+                .header("Accept", "*/*")
+                .header("Accept-Encoding", "deflate;q=0.5, gzip")
+                .build();
+
+        HttpResponse<byte[]> response = httpClient.send(request, HttpResponse.BodyHandlers.ofByteArray());
+        String responseBody;
+        try (GZIPInputStream inputStream = new GZIPInputStream(new ByteArrayInputStream(response.body()))) {
+            responseBody = new String(inputStream.readAllBytes(), StandardCharsets.UTF_8);
+        }
+        List<Task> tasks = gson.fromJson(responseBody, new TypeToken<List<Task>>() {
+        }.getType());
+
+        assertEquals(200, response.statusCode(), "Код ответа должен быть 200");
+        assertEquals("gzip", response.headers().firstValue("Content-Encoding").orElse(null),
+                "Ответ должен быть сжат gzip");
+        assertTrue(response.body().length < responseBody.length(), "Сжатый ответ должен быть меньше исходного");
+        assertEquals(20, tasks.size(), "После распаковки должны получиться все задачи");
+    }
+
+    @Test
+    void getSmallResponseWithoutCompressionTest() throws IOException, InterruptedException {
+        HttpRequest request = HttpRequest.newBuilder()
+                .GET()
+                .uri(url)
+                .version(HttpClient.Version.HTTP_1_1)
+                .header("Accept", "*/*")
+                .header("Accept-Encoding", "gzip")
+                .build();
+
+        HttpResponse<String> response = httpClient.send(request, handler);
+
+        assertEquals(200, response.statusCode(), "Код ответа должен быть 200");
+        assertTrue(response.headers().firstValue("Content-Encoding").isEmpty(), "Маленький ответ не должен сжиматься");
+        assertEquals("[]", response.body(), "Список задач должен быть пустым");
+    }
+
+    @Test
+    void applyGzipCompressedBatchTest() throws IOException, InterruptedException {
+        String requestBody = "[{\"action\":\"CREATE\",\"task\":{\"name\":\"New Task\",\"description\":\"Description\"," +
+                "\"status\":\"NEW\",\"startTime\":\"2025-03-16T14:30\",\"duration\":\"PT1H\"}}]";
+        ByteArrayOutputStream compressedBody = new ByteArrayOutputStream();
+        try (GZIPOutputStream outputStream = new GZIPOutputStream(compressedBody)) {
+            outputStream.write(requestBody.getBytes(StandardCharsets.UTF_8));
+        }
+        HttpRequest request = HttpRequest.newBuilder()
+                .POST(HttpRequest.BodyPublishers.ofByteArray(compressedBody.toByteArray()))
+                .uri(url.resolve("/tasks/batch"))
+                .version(HttpClient.Version.HTTP_1_1)
+                .header("Accept", "*/*")
+                .header("Content-Type", "application/json")
+                .header("Content-Encoding", "gzip")
+                .build();
+
+        HttpResponse<String> response = httpClient.send(request, handler);
+
+        assertEquals(200, response.statusCode(), "Код ответа должен быть 200");
+        assertEquals(List.of("New Task"), taskManager.getTasks().stream().map(Task::getName).toList(),
+                "Задача из сжатого тела запроса должна быть создана");
+    }
+
+    @Test
+    void getTasksNotModifiedTest() throws IOException, InterruptedException {
+        taskManager.createTask(new Task("Task Name", "Task Description", Status.NEW,
+                LocalDateTime.parse("2025-03-16T14:30:00.000"), Duration.ofHours(1)));
+        HttpRequest request = HttpRequest.newBuilder()
+                .GET()
+                .uri(url)
+                .version(HttpClient.Version.HTTP_1_1)
+                .header("Accept", "*/*")
+                .build();
+        HttpResponse<String> firstResponse = httpClient.send(request, handler);
+        String etag = firstResponse.headers().firstValue("ETag").orElseThrow();
+
+        HttpRequest conditionalRequest = HttpRequest.newBuilder()
+                .GET()
+                .uri(url)
+                .version(HttpClient.Version.HTTP_1_1)
+                .header("Accept", "*/*")
+                .header("If-None-Match", etag)
+                .build();
+        HttpResponse<String> notModifiedResponse = httpClient.send(conditionalRequest, handler);
+        taskManager.createTask(new Task("Another Task", "Task Description", Status.NEW,
+                LocalDateTime.parse("2025-03-16T16:30:00.000"), Duration.ofHours(1)));
+        HttpResponse<String> modifiedResponse = httpClient.send(conditionalRequest, handler);
+
+        assertEquals(304, notModifiedResponse.statusCode(), "Код ответа должен быть 304");
+        assertEquals("", notModifiedResponse.body(), "Ответ 304 не должен содержать тела");
+        assertEquals(200, modifiedResponse.statusCode(), "После изменения задач код ответа должен быть 200");
+        assertEquals(2, gson.fromJson(modifiedResponse.body(), List.class).size(), "В ответе должны быть обе задачи");
+    }
+
+    @Test
+    void getTaskByIdNotModifiedTest() throws IOException, InterruptedException {
+        int taskId = taskManager.createTask(new Task("Task Name", "Task Description", Status.NEW,
+                LocalDateTime.parse("2025-03-16T14:30:00.000"), Duration.ofHours(1)));
+        taskManager.createTask(new Task("Another Task", "Task Description", Status.NEW,
+                LocalDateTime.parse("2025-03-16T16:30:00.000"), Duration.ofHours(1)));
+        URI urlForGettingTask = url.resolve("/tasks/" + taskId);
+        HttpResponse<String> firstResponse = httpClient.send(HttpRequest.newBuilder()
+                .GET()
+                .uri(urlForGettingTask)
+                .version(HttpClient.Version.HTTP_1_1)
+                .build(), handler);
+        String etag = firstResponse.headers().firstValue("ETag").orElseThrow();
+        taskManager.deleteTask(taskId + 1);
+
+        HttpResponse<String> response = httpClient.send(HttpRequest.newBuilder()
+                .GET()
+                .uri(urlForGettingTask)
+                .version(HttpClient.Version.HTTP_1_1)
+                .header("If-None-Match", etag)
+                .build(), handler);
+
+        assertEquals(304, response.statusCode(), "Изменение другой задачи не должно менять ETag задачи");
+        assertEquals(List.of(taskId), taskManager.getHistory().stream().map(Task::getId).toList(),
+                "Просмотр задачи должен попадать в историю");
+    }
+
+    @Test
+    void cachedResponsesShouldFollowUpdatesTest() throws IOException, InterruptedException {
+        int taskId = taskManager.createTask(new Task("Task Name", "Task Description", Status.NEW,
+                LocalDateTime.parse("2025-03-16T14:30:00.000"), Duration.ofHours(1)));
+        HttpRequest listRequest = HttpRequest.newBuilder()
+                .GET()
+                .uri(url.resolve("/tasks?fields=id,name"))
+                .version(HttpClient.Version.HTTP_1_1)
+                .build();
+        HttpRequest taskRequest = HttpRequest.newBuilder()
+                .GET()
+                .uri(url.resolve("/tasks/" + taskId))
+                .version(HttpClient.Version.HTTP_1_1)
+                .build();
+        HttpResponse<String> firstListResponse = httpClient.send(listRequest, handler);
+        HttpResponse<String> firstTaskResponse = httpClient.send(taskRequest, handler);
+        HttpResponse<String> cachedListResponse = httpClient.send(listRequest, handler);
+
+        Task updatedTask = new Task("New Name", "Task Description", Status.DONE,
+                LocalDateTime.parse("2025-03-16T14:30:00.000"), Duration.ofHours(1));
+        updatedTask.setId(taskId);
+        taskManager.updateTask(updatedTask);
+        HttpResponse<String> updatedListResponse = httpClient.send(listRequest, handler);
+        HttpResponse<String> updatedTaskResponse = httpClient.send(taskRequest, handler);
+
+        assertEquals("[{\"id\":" + taskId + ",\"name\":\"Task Name\"}]", firstListResponse.body());
+        assertEquals(firstListResponse.body(), cachedListResponse.body(), "Повторный ответ должен совпадать с первым");
+        assertEquals("[{\"id\":" + taskId + ",\"name\":\"New Name\"}]", updatedListResponse.body(),
+                "После изменения задачи список должен содержать новые данные");
+        assertEquals("Task Name", gson.fromJson(firstTaskResponse.body(), Task.class).getName());
+        assertEquals(Status.DONE, gson.fromJson(updatedTaskResponse.body(), Task.class).getStatus(),
+                "После изменения задачи ответ по id должен содержать новые данные");
+    }
+
+    @Test
+    void waitForTaskVersionTest() throws Exception {
+        int taskId = taskManager.createTask(new Task("Task Name", "Task Description", Status.NEW,
+                LocalDateTime.parse("2025-03-16T14:30:00.000"), Duration.ofHours(1)));
+        URI urlForGettingTask = url.resolve("/tasks/" + taskId);
+        HttpResponse<String> firstResponse = httpClient.send(HttpRequest.newBuilder()
+                .GET()
+                .uri(urlForGettingTask)
+                .version(HttpClient.Version.HTTP_1_1)
+                .build(), handler);
+        String version = firstResponse.headers().firstValue("X-Entity-Version").orElseThrow();
+
+        CompletableFuture<HttpResponse<String>> waitingResponse = httpClient.sendAsync(HttpRequest.newBuilder()
+                .GET()
+                .uri(url.resolve("/tasks/" + taskId + "?waitForVersion=" + version + "&timeout=10s"))
+                .version(HttpClient.Version.HTTP_1_1)
+                .build(), handler);
+        String requestBody = "{\"id\":" + taskId + ",\"name\":\"Task Name\",\"description\":\"Task Description\"," +
+                "\"status\":\"DONE\",\"startTime\":\"2025-03-16T14:30\",\"duration\":\"PT1H\"}";
+        httpClient.send(HttpRequest.newBuilder()
+                .POST(HttpRequest.BodyPublishers.ofString(requestBody))
+                .uri(url)
+                .version(HttpClient.Version.HTTP_1_1)
+                .build(), handler);
+        HttpResponse<String> response = waitingResponse.get(10, TimeUnit.SECONDS);
+
+        assertEquals(200, response.statusCode(), "Код ответа должен быть 200");
+        assertEquals(Status.DONE, gson.fromJson(response.body(), Task.class).getStatus(),
+                "Ожидающий запрос должен получить изменённую задачу");
+        assertTrue(Long.parseLong(response.headers().firstValue("X-Entity-Version").orElseThrow())
+                > Long.parseLong(version), "Версия задачи должна увеличиться");
+    }
+
+    @Test
+    void waitForTaskVersionTimeoutTest() throws IOException, InterruptedException {
+        int taskId = taskManager.createTask(new Task("Task Name", "Task Description", Status.NEW,
+                LocalDateTime.parse("2025-03-16T14:30:00.000"), Duration.ofHours(1)));
+        long version = taskManager.getEntityVersion(taskId);
+
+        HttpResponse<String> response = httpClient.send(HttpRequest.newBuilder()
+                .GET()
+                .uri(url.resolve("/tasks/" + taskId + "?waitForVersion=" + version + "&timeout=100ms"))
+                .version(HttpClient.Version.HTTP_1_1)
+                .build(), handler);
+
+        assertEquals(304, response.statusCode(), "По истечении ожидания код ответа должен быть 304");
+    }
+
+    @Test
+    void waitForTaskVersionTimeoutShouldNotAddTaskToHistoryTest() throws IOException, InterruptedException {
+        int taskId = taskManager.createTask(new Task("Task Name", "Task Description", Status.NEW,
+                LocalDateTime.parse("2025-03-16T14:30:00.000"), Duration.ofHours(1)));
+        long version = taskManager.getEntityVersion(taskId);
+        long historyVersion = taskManager.getHistoryVersion();
+
+        HttpResponse<String> response = httpClient.send(HttpRequest.newBuilder()
+                .GET()
+                .uri(url.resolve("/tasks/" + taskId + "?waitForVersion=" + version + "&timeout=100ms"))
+                .version(HttpClient.Version.HTTP_1_1)
+                .build(), handler);
+
+        assertEquals(304, response.statusCode(), "По истечении ожидания код ответа должен быть 304");
+        assertTrue(taskManager.getHistory().isEmpty(), "Неизменившаяся задача не должна попадать в историю");
+        assertEquals(historyVersion, taskManager.getHistoryVersion(), "Версия истории не должна меняться");
+    }
+
+    @Test
+    void waitForChangedTaskVersionShouldAddTaskToHistoryOnceTest() throws IOException, InterruptedException {
+        int taskId = taskManager.createTask(new Task("Task Name", "Task Description", Status.NEW,
+                LocalDateTime.parse("2025-03-16T14:30:00.000"), Duration.ofHours(1)));
+        long historyVersion = taskManager.getHistoryVersion();
+
+        HttpResponse<String> response = httpClient.send(HttpRequest.newBuilder()
+                .GET()
+                .uri(url.resolve("/tasks/" + taskId + "?waitForVersion=0&timeout=10s"))
+                .version(HttpClient.Version.HTTP_1_1)
+                .build(), handler);
+
+        assertEquals(200, response.statusCode(), "Код ответа должен быть 200");
+        assertEquals(1, taskManager.getHistory().size(), "Отправленная задача должна попасть в историю");
+        assertEquals(taskId, taskManager.getHistory().getFirst().getId(), "В истории должна быть отправленная задача");
+        assertTrue(taskManager.getHistoryVersion() > historyVersion, "Версия истории должна увеличиться");
+    }
+
+    @Test
+    void waitForTaskVersionShouldCompleteOnServerStopTest() throws Exception {
+        int taskId = taskManager.createTask(new Task("Task Name", "Task Description", Status.NEW,
+                LocalDateTime.parse("2025-03-16T14:30:00.000"), Duration.ofHours(1)));
+        long version = taskManager.getEntityVersion(taskId);
+        CompletableFuture<HttpResponse<String>> waitingResponse = httpClient.sendAsync(HttpRequest.newBuilder()
+                .GET()
+                .uri(url.resolve("/tasks/" + taskId + "?waitForVersion=" + version + "&timeout=60s"))
+                .version(HttpClient.Version.HTTP_1_1)
+                .build(), handler);
+        Thread.sleep(200);
+
+        httpTaskServer.stop(0);
+        HttpResponse<String> response = waitingResponse.get(5, TimeUnit.SECONDS);
+
+        assertEquals(304, response.statusCode(), "При остановке сервера ожидающий запрос должен завершиться");
+    }
+
+    @Test
+    void accessLogTest() throws IOException, InterruptedException {
+        httpTaskServer.stop(0);
+        File logFile = File.createTempFile("access", ".log");
+        logFile.deleteOnExit();
+        httpTaskServer = new HttpTaskServer(taskManager,
+                new RequestLogger(LogLevel.INFO, AsyncAppender.toFile(logFile)));
+        httpTaskServer.start();
+
+        HttpResponse<String> response = httpClient.send(HttpRequest.newBuilder()
+                .GET()
+                .uri(url)
+                .version(HttpClient.Version.HTTP_1_1)
+                .build(), handler);
+        httpTaskServer.stop(0);
+        List<String> lines = Files.readAllLines(logFile.toPath(), StandardCharsets.UTF_8);
+
+        assertEquals(200, response.statusCode(), "Код ответа должен быть 200");
+        assertTrue(lines.stream().anyMatch(line -> line.contains("level=INFO method=GET path=/tasks status=200")),
+                "Журнал доступа должен содержать запись о запросе");
+        assertTrue(lines.stream().anyMatch(line -> line.contains("durationMicros=")),
+                "Запись журнала должна содержать время обработки запроса");
+        assertTrue(lines.stream().noneMatch(line -> line.contains("level=DEBUG")),
+                "Тела ответов не должны попадать в журнал на уровне INFO");
+    }
+
+    @Test
+    void debugLogShouldNotContainBodyByDefaultTest() throws IOException, InterruptedException {
+        httpTaskServer.stop(0);
+        File logFile = File.createTempFile("access", ".log");
+        logFile.deleteOnExit();
+        taskManager.createTask(new Task("SecretName", "Description", Status.NEW,
+                LocalDateTime.parse("2025-03-16T14:30:00.000"), Duration.ofHours(1)));
+        httpTaskServer = new HttpTaskServer(taskManager,
+                new RequestLogger(LogLevel.DEBUG, AsyncAppender.toFile(logFile)));
+        httpTaskServer.start();
+
+        HttpResponse<String> response = httpClient.send(HttpRequest.newBuilder()
+                .GET()
+                .uri(url)
+                .version(HttpClient.Version.HTTP_1_1)
+                .build(), handler);
+        HttpResponse<String> errorResponse = httpClient.send(HttpRequest.newBuilder()
+                .GET()
+                .uri(url.resolve("/tasks/999"))
+                .version(HttpClient.Version.HTTP_1_1)
+                .build(), handler);
+        httpTaskServer.stop(0);
+        List<String> lines = Files.readAllLines(logFile.toPath(), StandardCharsets.UTF_8);
+
+        assertTrue(response.body().contains("SecretName"), "Ответ должен содержать задачу");
+        assertEquals(404, errorResponse.statusCode(), "Код ответа должен быть 404");
+        assertTrue(lines.stream().anyMatch(line -> line.contains("level=DEBUG") && line.contains("байт")),
+                "На уровне DEBUG журнал должен содержать размер ответа");
+        assertTrue(lines.stream().noneMatch(line -> line.contains("SecretName")
+                        || line.contains(errorResponse.body())),
+                "Тела ответов не должны попадать в журнал без явного включения");
+    }
 }
@@ -7,6 +7,7 @@ import tasks.Epic;
 import tasks.Status;
 import tasks.SubTask;
 import tasks.Task;
+import tasks.Type;
 import utils.CSVTaskFormatUtils;
 
 import java.io.*;
@@ -17,6 +18,7 @@ import java.util.HashMap;
 import java.util.List;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
 public class FileBackedTaskManagerTest extends TaskManagerTest<FileBackedTaskManager> {
@@ -222,17 +224,17 @@ public class FileBackedTaskManagerTest extends TaskManagerTest<FileBackedTaskMan
 
     @Test
     public void tasksShouldBeWrittenInFileAfterUpdate() throws IOException {
-        Task firstTaskFromManager = taskManager.getTask(firstTaskId);
+        Task firstTaskFromManager = taskManager.getTask(firstTaskId).copy();
         firstTaskFromManager.setStatus(Status.DONE);
         taskManager.updateTask(firstTaskFromManager);
-        Task secondTaskFromManager = taskManager.getTask(secondTaskId);
+        Task secondTaskFromManager = taskManager.getTask(secondTaskId).copy();
         secondTaskFromManager.setStatus(Status.DONE);
         taskManager.updateTask(secondTaskFromManager);
 
-        SubTask firstSubTaskFromManager = taskManager.getSubTask(firstSubTaskId);
+        SubTask firstSubTaskFromManager = taskManager.getSubTask(firstSubTaskId).copy();
         firstSubTaskFromManager.setStatus(Status.DONE);
         taskManager.updateSubTask(firstSubTaskFromManager);
-        SubTask secondSubTaskFromManager = taskManager.getSubTask(secondSubTaskId);
+        SubTask secondSubTaskFromManager = taskManager.getSubTask(secondSubTaskId).copy();
         secondSubTaskFromManager.setStatus(Status.DONE);
         taskManager.updateSubTask(secondSubTaskFromManager);
 
@@ -519,4 +521,58 @@ public class FileBackedTaskManagerTest extends TaskManagerTest<FileBackedTaskMan
         assertTrue(subTasksFromRestoredManager.isEmpty(), "Список подзадач должен быть пуст");
         assertTrue(epicsFromRestoredManager.isEmpty(), "Список эпиков должен быть пуст");
     }
-}
\ No newline at end of file
+
+    @Test
+    public void shouldRestoreHistoryFromFile() {
+        taskManager.getTask(firstTaskId);
+        taskManager.getEpic(secondEpicId);
+        taskManager.getSubTask(thirdSubTaskId);
+        taskManager.getTask(firstTaskId);
+        taskManager.deleteEpic(secondEpicId);
+
+        FileBackedTaskManager restoredManager = FileBackedTaskManager.loadFromFile(file);
+
+        List<Integer> expectedHistoryIds = List.of(thirdSubTaskId, firstTaskId);
+        List<Integer> actualHistoryIds = restoredManager.getHistory().stream()
+                .map(Task::getId)
+                .toList();
+
+        assertEquals(expectedHistoryIds, actualHistoryIds,
+                "История просмотров должна восстанавливаться в исходном порядке");
+    }
+
+    @Test
+    public void historyFileShouldBeCompactedAfterManyViews() throws IOException {
+        for (int i = 0; i < 500; i++) {
+            taskManager.getTask(firstTaskId);
+            taskManager.getTask(secondTaskId);
+        }
+
+        File historyFile = new File(file.getPath() + ".history");
+        long historyRecords;
+        try (BufferedReader historyReader = new BufferedReader(new FileReader(historyFile))) {
+            historyRecords = historyReader.lines().count();
+        }
+
+        assertTrue(historyRecords <= 100, "Журнал истории должен периодически сжиматься");
+        assertFalse(new File(historyFile.getPath() + ".tmp").exists(), "Временный файл сжатия должен быть удалён");
+        assertEquals(List.of(firstTaskId, secondTaskId),
+                FileBackedTaskManager.loadFromFile(file).getHistory().stream().map(Task::getId).toList(),
+                "После сжатия история восстанавливается без потерь");
+    }
+
+    @Test
+    public void batchShouldBeWrittenInFile() {
+        taskManager.applyBatch(List.of(
+                Mutation.create(new Task("TaskName4", "TaskDescription4", Status.NEW,
+                        LocalDateTime.parse("2025-03-05T01:00"), Duration.ofMinutes(60))),
+                Mutation.delete(Type.TASK, firstTaskId)
+        ));
+
+        FileBackedTaskManager restoredManager = FileBackedTaskManager.loadFromFile(file);
+
+        assertEquals(List.of(secondTaskId, thirdTaskId, thirdSubTaskId + 1),
+                restoredManager.getTasks().stream().map(Task::getId).sorted().toList(),
+                "Изменения пакета должны сохраняться в файл");
+    }
+}
@@ -0,0 +1,106 @@
+package manager;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import tasks.Status;
+import tasks.Task;
+
+import java.time.*;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class InMemoryAccessStatisticsManagerTest {
+
+    private MutableClock clock;
+    private AccessStatisticsManager accessStatisticsManager;
+
+    @BeforeEach
+    void beforeEach() {
+        clock = new MutableClock(Instant.parse("2025-03-04T10:15:00Z"));
+        accessStatisticsManager = new InMemoryAccessStatisticsManager(clock);
+    }
+
+    @Test
+    void hotTasksShouldBeSortedByAccessCount() {
+        addViews(1, 3);
+        addViews(2, 5);
+        addViews(3, 1);
+
+        List<TaskAccessCount> expectedHotTasks = List.of(new TaskAccessCount(2, 5), new TaskAccessCount(1, 3));
+
+        assertEquals(expectedHotTasks, accessStatisticsManager.getHotTasks(2));
+    }
+
+    @Test
+    void deletedTaskShouldNotBeInHotTasks() {
+        addViews(1, 3);
+        addViews(2, 5);
+
+        accessStatisticsManager.remove(2);
+
+        assertEquals(List.of(new TaskAccessCount(1, 3)), accessStatisticsManager.getHotTasks(10));
+    }
+
+    @Test
+    void hourlyStatisticsShouldBeResetWhenHourChanges() {
+        addViews(1, 3);
+        clock.setInstant(Instant.parse("2025-03-04T11:05:00Z"));
+        addViews(2, 1);
+
+        assertEquals(List.of(new TaskAccessCount(2, 1)), accessStatisticsManager.getHotTasksForCurrentHour(10),
+                "Почасовая статистика содержит только просмотры текущего часа");
+        assertEquals(List.of(new TaskAccessCount(1, 3), new TaskAccessCount(2, 1)),
+                accessStatisticsManager.getHotTasks(10),
+                "Общая статистика не сбрасывается");
+    }
+
+    @Test
+    void topTasksShouldBeBoundedAndKeepMostViewed() {
+        for (int id = 1; id <= 1000; id++) {
+            addViews(id, 1);
+        }
+        addViews(500, 50);
+
+        List<TaskAccessCount> hotTasks = accessStatisticsManager.getHotTasks(1000);
+
+        assertTrue(hotTasks.size() <= 100, "Размер топа ограничен");
+        assertEquals(500, hotTasks.getFirst().getId(), "Самая просматриваемая задача на первом месте");
+    }
+
+    private void addViews(int id, int count) {
+        Task task = new Task("Name", "Description", Status.NEW, null, null);
+        task.setId(id);
+        for (int i = 0; i < count; i++) {
+            accessStatisticsManager.add(task);
+        }
+    }
+
+    private static class MutableClock extends Clock {
+        private Instant instant;
+
+        private MutableClock(Instant instant) {
+            this.instant = instant;
+        }
+
+        private void setInstant(Instant instant) {
+            this.instant = instant;
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return this;
+        }
+
+        @Override
+        public Instant instant() {
+            return instant;
+        }
+    }
+}
@@ -14,6 +14,8 @@ import java.util.Arrays;
 import java.util.List;
 
 import static org.junit.jupiter.api.Assertions.*;
+import static tasks.TaskAssertions.assertTaskEquals;
+import static tasks.TaskAssertions.assertTaskListEquals;
 
 class InMemoryHistoryManagerTest {
 
@@ -42,7 +44,7 @@ class InMemoryHistoryManagerTest {
         ArrayList<Task> actualTaskHistory = new ArrayList<>(historyManager.getHistory());
         ArrayList<Task> expectedTaskHistory = new ArrayList<>(Arrays.asList(task, epic, subTask));
 
-        assertEquals(expectedTaskHistory, actualTaskHistory);
+        assertTaskListEquals(expectedTaskHistory, actualTaskHistory);
     }
 
     @Test
@@ -58,7 +60,7 @@ class InMemoryHistoryManagerTest {
         epic.setId(11);
         Task expectedLastElement = epic;
 
-        assertEquals(expectedLastElement, actualLastElement);
+        assertTaskEquals(expectedLastElement, actualLastElement);
     }
 
     @Test
@@ -107,6 +109,25 @@ class InMemoryHistoryManagerTest {
         List<Task> actualHistory = historyManager.getHistory();
 
         assertEquals(1, actualHistory.size());
-        assertEquals(task2, actualHistory.get(0));
+        assertTaskEquals(task2, actualHistory.get(0));
     }
-}
\ No newline at end of file
+
+    @Test
+    void historyPageShouldSkipRemovedTasks() {
+        List<Task> tasks = new ArrayList<>();
+        for (int i = 1; i <= 4; i++) {
+            Task task = new Task("TaskName" + i, "TaskDescription", Status.NEW, startTime, duration);
+            task.setId(i);
+            tasks.add(task);
+            historyManager.add(task);
+        }
+
+        Page<Task> firstPage = historyManager.getHistoryPage(null, 2);
+        historyManager.remove(3);
+        Page<Task> secondPage = historyManager.getHistoryPage(firstPage.getNextCursor(), 2);
+
+        assertTaskListEquals(tasks.subList(0, 2), firstPage.getItems());
+        assertTaskListEquals(List.of(tasks.get(3)), secondPage.getItems());
+        assertFalse(secondPage.hasNext(), "Вторая страница должна быть последней");
+    }
+}
@@ -8,6 +8,7 @@ import tasks.Epic;
 import tasks.Status;
 import tasks.SubTask;
 import tasks.Task;
+import tasks.Type;
 
 import java.time.Duration;
 import java.time.LocalDateTime;
@@ -16,8 +17,13 @@ import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.HashMap;
 import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
 
 import static org.junit.jupiter.api.Assertions.*;
+import static tasks.TaskAssertions.assertTaskEquals;
+import static tasks.TaskAssertions.assertTaskListEquals;
 
 public abstract class TaskManagerTest<T extends TaskManager> {
 
@@ -44,9 +50,10 @@ public abstract class TaskManagerTest<T extends TaskManager> {
     void taskFromTaskManagerShouldBeEqualToOriginal() {
         Task expectedTask = new Task("Name", "Description", Status.NEW, startTime, duration);
         int taskId = taskManager.createTask(expectedTask);
+        expectedTask.setId(taskId);
         Task actualTask = taskManager.getTask(taskId);
 
-        assertEquals(expectedTask, actualTask);
+        assertTaskEquals(expectedTask, actualTask);
     }
 
     @Test
@@ -54,18 +61,33 @@ public abstract class TaskManagerTest<T extends TaskManager> {
         int epicId = taskManager.createEpic(new Epic("Name", "Description"));
         SubTask expectedSubTask = new SubTask("Name", "Description", Status.NEW, epicId, startTime, duration);
         int subTaskId = taskManager.createSubTask(expectedSubTask);
+        expectedSubTask.setId(subTaskId);
         SubTask actualSubTask = taskManager.getSubTask(subTaskId);
 
-        assertEquals(expectedSubTask, actualSubTask);
+        assertTaskEquals(expectedSubTask, actualSubTask);
     }
 
     @Test
     void epicFromTaskManagerShouldBeEqualToOriginal() {
         Epic expectedEpic = new Epic("Name", "Description");
         int epicId = taskManager.createEpic(expectedEpic);
+        expectedEpic.setId(epicId);
         Epic actualEpic = taskManager.getEpic(epicId);
 
-        assertEquals(expectedEpic, actualEpic);
+        assertTaskEquals(expectedEpic, actualEpic);
+    }
+
+    @Test
+    void shouldCreateTaskFromSnapshotWithoutChangingIt() {
+        int taskId = taskManager.createTask(new Task("Name", "Description", Status.NEW, startTime, duration));
+        Task snapshot = taskManager.getTask(taskId);
+        taskManager.deleteTask(taskId);
+
+        int newTaskId = assertDoesNotThrow(() -> taskManager.createTask(snapshot));
+
+        assertNotEquals(taskId, newTaskId);
+        assertEquals(taskId, snapshot.getId());
+        assertEquals(newTaskId, taskManager.getTask(newTaskId).getId());
     }
 
     @Test
@@ -142,7 +164,7 @@ public abstract class TaskManagerTest<T extends TaskManager> {
         taskManager.updateTask(updatedTask);
         Task actualTask = taskManager.getTask(taskId);
 
-        assertEquals(updatedTask, actualTask);
+        assertTaskEquals(updatedTask, actualTask);
     }
 
     @Test
@@ -177,7 +199,7 @@ public abstract class TaskManagerTest<T extends TaskManager> {
         taskManager.updateEpic(updatedEpic);
         Epic actualEpic = taskManager.getEpic(epicId);
 
-        assertEquals(updatedEpic, actualEpic);
+        assertTaskEquals(updatedEpic, actualEpic);
     }
 
     @Test
@@ -245,7 +267,7 @@ public abstract class TaskManagerTest<T extends TaskManager> {
 
         SubTask actualSubTask = taskManager.getSubTask(subTaskId);
 
-        assertEquals(updatedSubTask, actualSubTask);
+        assertTaskEquals(updatedSubTask, actualSubTask);
     }
 
     @Test
@@ -261,7 +283,7 @@ public abstract class TaskManagerTest<T extends TaskManager> {
     void epicStatusShouldChangeAfterSubTaskAdding() {
         int epicId = taskManager.createEpic(new Epic("Name", "Description"));
         SubTask originalSubTask = new SubTask("OriginalName", "OriginalDescription", Status.IN_PROGRESS, epicId, startTime, duration);
-        taskManager.createSubTask(originalSubTask);
+        originalSubTask.setId(taskManager.createSubTask(originalSubTask));
 
         Status actualStatusAfterAdding = taskManager.getEpic(epicId).getStatus();
         Status expectedStatusAfterAdding = Status.IN_PROGRESS;
@@ -287,8 +309,8 @@ public abstract class TaskManagerTest<T extends TaskManager> {
         int epicId = taskManager.createEpic(new Epic("Name", "Description"));
         SubTask firstSubTask = new SubTask("FirstName", "FirstDescription", Status.NEW, epicId, startTime, duration);
         SubTask secondSubTask = new SubTask("SecondName", "SecondDescription", Status.NEW, epicId, startTime.plusMinutes(240), duration);
-        taskManager.createSubTask(firstSubTask);
-        taskManager.createSubTask(secondSubTask);
+        firstSubTask.setId(taskManager.createSubTask(firstSubTask));
+        secondSubTask.setId(taskManager.createSubTask(secondSubTask));
 
         Status actualEpicStatus = taskManager.getEpic(epicId).getStatus();
         Status expectedEpicStatus = Status.NEW;
@@ -323,12 +345,12 @@ public abstract class TaskManagerTest<T extends TaskManager> {
         Task thirdTask = new Task("ThirdName", "ThirdDescription", Status.DONE, startTime.plusMinutes(240), duration);
         ArrayList<Task> expectedTasks = new ArrayList<>(Arrays.asList(firstTask, secondTask, thirdTask));
         for (Task task : expectedTasks) {
-            taskManager.createTask(task);
+            task.setId(taskManager.createTask(task));
         }
 
         ArrayList<Task> actualTasks = new ArrayList<>(taskManager.getTasks());
 
-        assertEquals(expectedTasks, actualTasks);
+        assertTaskListEquals(expectedTasks, actualTasks);
     }
 
     @Test
@@ -338,12 +360,12 @@ public abstract class TaskManagerTest<T extends TaskManager> {
         Epic thirdEpic = new Epic("ThirdName", "ThirdDescription");
         ArrayList<Epic> expectedEpics = new ArrayList<>(Arrays.asList(firstEpic, secondEpic, thirdEpic));
         for (Epic epic : expectedEpics) {
-            taskManager.createEpic(epic);
+            epic.setId(taskManager.createEpic(epic));
         }
 
         ArrayList<Epic> actualEpics = new ArrayList<>(taskManager.getEpics());
 
-        assertEquals(expectedEpics, actualEpics);
+        assertTaskListEquals(expectedEpics, actualEpics);
     }
 
     @Test
@@ -354,12 +376,12 @@ public abstract class TaskManagerTest<T extends TaskManager> {
         SubTask thirdSubTask = new SubTask("ThirdName", "ThirdDescription", Status.DONE, epicId, startTime.plusMinutes(240), duration);
         ArrayList<SubTask> expectedSubTasks = new ArrayList<>(Arrays.asList(firstSubTask, secondSubTask, thirdSubTask));
         for (SubTask subTask : expectedSubTasks) {
-            taskManager.createSubTask(subTask);
+            subTask.setId(taskManager.createSubTask(subTask));
         }
 
         ArrayList<SubTask> actualSubTasks = new ArrayList<>(taskManager.getSubTasks());
 
-        assertEquals(expectedSubTasks, actualSubTasks);
+        assertTaskListEquals(expectedSubTasks, actualSubTasks);
     }
 
     @Test
@@ -374,7 +396,7 @@ public abstract class TaskManagerTest<T extends TaskManager> {
         int taskIdForDeletion = 2;
 
         for (Integer key : originalTasks.keySet()) {
-            taskManager.createTask(originalTasks.get(key));
+            originalTasks.get(key).setId(taskManager.createTask(originalTasks.get(key)));
         }
 
         ArrayList<Task> tasksBeforeDeletion = new ArrayList<>(taskManager.getTasks());
@@ -392,7 +414,7 @@ public abstract class TaskManagerTest<T extends TaskManager> {
         int expectedSizeAfterDeletion = 2;
 
         assertEquals(expectedSizeAfterDeletion, actualSizeAfterDeletion);
-        assertEquals(expectedTasksAfterDeletion, actualTasksAfterDeletion);
+        assertTaskListEquals(expectedTasksAfterDeletion, actualTasksAfterDeletion);
     }
 
     @Test
@@ -401,14 +423,14 @@ public abstract class TaskManagerTest<T extends TaskManager> {
         Epic secondEpic = new Epic("SecondName", "SecondDescription");
         ArrayList<Epic> originalEpics = new ArrayList<>(Arrays.asList(firstEpic, secondEpic));
         for (Epic epic : originalEpics) {
-            taskManager.createEpic(epic);
+            epic.setId(taskManager.createEpic(epic));
         }
         int idOfFirstEpic = taskManager.getEpics().getFirst().getId();
         SubTask firstSubTask = new SubTask("FirstName", "FirstDescription", Status.NEW, idOfFirstEpic, startTime, duration);
         SubTask secondSubTask = new SubTask("SecondName", "SecondDescription", Status.IN_PROGRESS, idOfFirstEpic, startTime.plusMinutes(120), duration);
         ArrayList<SubTask> originalSubTasks = new ArrayList<>(Arrays.asList(firstSubTask, secondSubTask));
         for (SubTask subTask : originalSubTasks) {
-            taskManager.createSubTask(subTask);
+            subTask.setId(taskManager.createSubTask(subTask));
         }
 
         taskManager.deleteEpic(idOfFirstEpic);
@@ -421,7 +443,7 @@ public abstract class TaskManagerTest<T extends TaskManager> {
 
         assertTrue(subTasksAfterDeletion.isEmpty());
         assertEquals(expectedEpicsSize, actualEpicsSize);
-        assertEquals(expectedEpic, epicsAfterDeletion.getFirst());
+        assertTaskEquals(expectedEpic, epicsAfterDeletion.getFirst());
     }
 
     @Test
@@ -431,7 +453,7 @@ public abstract class TaskManagerTest<T extends TaskManager> {
         SubTask secondSubTask = new SubTask("SecondName", "SecondDescription", Status.IN_PROGRESS, epicId, startTime.plusMinutes(120), duration);
         ArrayList<SubTask> originalSubTasks = new ArrayList<>(Arrays.asList(firstSubTask, secondSubTask));
         for (SubTask subTask : originalSubTasks) {
-            taskManager.createSubTask(subTask);
+            subTask.setId(taskManager.createSubTask(subTask));
         }
 
         taskManager.deleteSubTask(2);
@@ -443,7 +465,7 @@ public abstract class TaskManagerTest<T extends TaskManager> {
         int expectedSubTasksSize = 1;
 
         assertEquals(expectedSubTasksSize, actualSubTasksSize);
-        assertEquals(expectedSubTasksAfterDeletion, subTasksAfterDeletion);
+        assertTaskListEquals(expectedSubTasksAfterDeletion, subTasksAfterDeletion);
     }
 
     @Test
@@ -453,7 +475,7 @@ public abstract class TaskManagerTest<T extends TaskManager> {
         Task thirdTask = new Task("ThirdName", "ThirdDescription", Status.DONE, startTime.plusMinutes(240), duration);
         ArrayList<Task> originalTasks = new ArrayList<>(Arrays.asList(firstTask, secondTask, thirdTask));
         for (Task task : originalTasks) {
-            taskManager.createTask(task);
+            task.setId(taskManager.createTask(task));
         }
 
         taskManager.deleteAllTasks();
@@ -468,14 +490,14 @@ public abstract class TaskManagerTest<T extends TaskManager> {
         Epic secondEpic = new Epic("SecondName", "SecondDescription");
         ArrayList<Epic> originalEpics = new ArrayList<>(Arrays.asList(firstEpic, secondEpic));
         for (Epic epic : originalEpics) {
-            taskManager.createEpic(epic);
+            epic.setId(taskManager.createEpic(epic));
         }
         int epicId = taskManager.getEpics().getFirst().getId();
         SubTask firstSubTask = new SubTask("FirstName", "FirstDescription", Status.NEW, epicId, startTime, duration);
         SubTask secondSubTask = new SubTask("SecondName", "SecondDescription", Status.IN_PROGRESS, epicId, startTime.plusMinutes(120), duration);
         ArrayList<SubTask> originalSubTasks = new ArrayList<>(Arrays.asList(firstSubTask, secondSubTask));
         for (SubTask subTask : originalSubTasks) {
-            taskManager.createSubTask(subTask);
+            subTask.setId(taskManager.createSubTask(subTask));
         }
 
         taskManager.deleteAllEpics();
@@ -492,14 +514,14 @@ public abstract class TaskManagerTest<T extends TaskManager> {
         Epic secondEpic = new Epic("SecondName", "SecondDescription");
         ArrayList<Epic> originalEpics = new ArrayList<>(Arrays.asList(firstEpic, secondEpic));
         for (Epic epic : originalEpics) {
-            taskManager.createEpic(epic);
+            epic.setId(taskManager.createEpic(epic));
         }
         int epicId = taskManager.getEpics().getFirst().getId();
         SubTask firstSubTask = new SubTask("FirstName", "FirstDescription", Status.NEW, epicId, startTime, duration);
         SubTask secondSubTask = new SubTask("SecondName", "SecondDescription", Status.IN_PROGRESS, epicId, startTime.plusMinutes(120), duration);
         ArrayList<SubTask> originalSubTasks = new ArrayList<>(Arrays.asList(firstSubTask, secondSubTask));
         for (SubTask subTask : originalSubTasks) {
-            taskManager.createSubTask(subTask);
+            subTask.setId(taskManager.createSubTask(subTask));
         }
 
         taskManager.deleteAllSubTasks();
@@ -514,7 +536,7 @@ public abstract class TaskManagerTest<T extends TaskManager> {
         Epic secondEpic = new Epic("SecondName", "SecondDescription");
         ArrayList<Epic> originalEpics = new ArrayList<>(Arrays.asList(firstEpic, secondEpic));
         for (Epic epic : originalEpics) {
-            taskManager.createEpic(epic);
+            epic.setId(taskManager.createEpic(epic));
         }
         int idOfFirstEpic = taskManager.getEpics().getFirst().getId();
         int idOfSecondEpic = taskManager.getEpics().getLast().getId();
@@ -522,7 +544,7 @@ public abstract class TaskManagerTest<T extends TaskManager> {
         SubTask secondSubTask = new SubTask("SecondName", "SecondDescription", Status.DONE, idOfSecondEpic, startTime.plusMinutes(120), duration);
         ArrayList<SubTask> originalSubTasks = new ArrayList<>(Arrays.asList(firstSubTask, secondSubTask));
         for (SubTask subTask : originalSubTasks) {
-            taskManager.createSubTask(subTask);
+            subTask.setId(taskManager.createSubTask(subTask));
         }
 
         taskManager.deleteAllSubTasks();
@@ -560,7 +582,7 @@ public abstract class TaskManagerTest<T extends TaskManager> {
         SubTask secondSubTask = new SubTask("SecondName", "SecondDescription", Status.DONE, epicId, startTime.plusMinutes(120), duration);
         ArrayList<SubTask> originalSubTasks = new ArrayList<>(Arrays.asList(firstSubTask, secondSubTask));
         for (SubTask subTask : originalSubTasks) {
-            taskManager.createSubTask(subTask);
+            subTask.setId(taskManager.createSubTask(subTask));
         }
 
         ArrayList<SubTask> actualSubTasksByEpicId = new ArrayList<>(taskManager.getSubTasksByEpic(epicId));
@@ -582,14 +604,14 @@ public abstract class TaskManagerTest<T extends TaskManager> {
         ArrayList<Task> actualHistory = new ArrayList<>(taskManager.getHistory());
         ArrayList<Task> expectedHistory = new ArrayList<>(Arrays.asList(task, epic, subTask));
 
-        assertEquals(expectedHistory, actualHistory);
+        assertTaskListEquals(expectedHistory, actualHistory);
     }
 
     @Test
     void shouldDeleteTaskFromTasksAndHistory() {
         Task task = new Task("TaskName", "TaskDescription", Status.NEW, startTime, duration);
         task.setId(1);
-        taskManager.createTask(task);
+        task.setId(taskManager.createTask(task));
         Task taskFromManager = taskManager.getTask(task.getId());
 
         assertTrue(taskManager.getTasks().contains(taskFromManager));
@@ -605,7 +627,7 @@ public abstract class TaskManagerTest<T extends TaskManager> {
     void shouldDeleteEpicFromEpicsAndHistory() {
         Epic epic = new Epic("Name", "Description");
         int epicId = taskManager.createEpic(epic);
-        Epic epicFromManager = taskManager.getEpic(epic.getId());
+        Epic epicFromManager = taskManager.getEpic(epicId);
 
         assertTrue(taskManager.getEpics().contains(epicFromManager));
         assertTrue(taskManager.getHistory().contains(epicFromManager));
@@ -660,16 +682,16 @@ public abstract class TaskManagerTest<T extends TaskManager> {
         assertEquals(4, prioritizedTasksAndSubTasks.size(),
                 "Кол-во элементов в списке соответствует кол-ву задач и подзадач");
 
-        assertEquals(firstTaskFromManager, prioritizedTasksAndSubTasks.get(0),
+        assertTaskEquals(firstTaskFromManager, prioritizedTasksAndSubTasks.get(0),
                 "Первая задача в списке соответствует самой ранней задаче");
 
-        assertEquals(secondTaskFromManager, prioritizedTasksAndSubTasks.get(1),
+        assertTaskEquals(secondTaskFromManager, prioritizedTasksAndSubTasks.get(1),
                 "Вторая задача в списке соответствует следующей задаче по startTime");
 
-        assertEquals(firstSubTaskFromManager, prioritizedTasksAndSubTasks.get(2),
+        assertTaskEquals(firstSubTaskFromManager, prioritizedTasksAndSubTasks.get(2),
                 "Третья задача в списке соответствует следующей задаче по startTime");
 
-        assertEquals(secondSubTaskFromManager, prioritizedTasksAndSubTasks.get(3),
+        assertTaskEquals(secondSubTaskFromManager, prioritizedTasksAndSubTasks.get(3),
                 "Четвёртая задача в списке соответствует самой поздней подзадаче");
     }
 
@@ -719,16 +741,16 @@ public abstract class TaskManagerTest<T extends TaskManager> {
         assertEquals(4, prioritizedTasksAndSubTasks.size(),
                 "Кол-во элементов в списке соответствует кол-ву задач и подзадач");
 
-        assertEquals(secondSubTaskFromManager, prioritizedTasksAndSubTasks.get(0),
+        assertTaskEquals(secondSubTaskFromManager, prioritizedTasksAndSubTasks.get(0),
                 "Задача с самым ранним startTime является самым первым в списке приоритезированных задач после обновления");
 
-        assertEquals(firstSubTaskFromManager, prioritizedTasksAndSubTasks.get(1),
+        assertTaskEquals(firstSubTaskFromManager, prioritizedTasksAndSubTasks.get(1),
                 "Вторая задача в списке является следующей задачей по startTime после обновления");
 
-        assertEquals(secondTaskFromManager, prioritizedTasksAndSubTasks.get(2),
+        assertTaskEquals(secondTaskFromManager, prioritizedTasksAndSubTasks.get(2),
                 "Третья задача в списке является следующей задачей по startTime после обновления");
 
-        assertEquals(firstTaskFromManager, prioritizedTasksAndSubTasks.get(3),
+        assertTaskEquals(firstTaskFromManager, prioritizedTasksAndSubTasks.get(3),
                 "Последняя задача в списке является задачей с самым поздним startTime после обновления");
     }
 
@@ -1011,8 +1033,8 @@ public abstract class TaskManagerTest<T extends TaskManager> {
         SubTask firstSubTask = new SubTask("Name", "Description", Status.NEW, epicId, null, duration);
         SubTask secondSubTask = new SubTask("Name", "Description", Status.NEW, epicId,
                 startTime.plusMinutes(120), null);
-        taskManager.createSubTask(firstSubTask);
-        taskManager.createSubTask(secondSubTask);
+        firstSubTask.setId(taskManager.createSubTask(firstSubTask));
+        secondSubTask.setId(taskManager.createSubTask(secondSubTask));
 
         Epic epic = taskManager.getEpic(epicId);
         LocalDateTime epicTime = epic.getEndTime();
@@ -1026,8 +1048,8 @@ public abstract class TaskManagerTest<T extends TaskManager> {
         SubTask firstSubTask = new SubTask("Name", "Description", Status.NEW, epicId, startTime, duration);
         SubTask secondSubTask = new SubTask("Name", "Description", Status.NEW, epicId,
                 startTime.plusMinutes(120), duration);
-        taskManager.createSubTask(firstSubTask);
-        taskManager.createSubTask(secondSubTask);
+        firstSubTask.setId(taskManager.createSubTask(firstSubTask));
+        secondSubTask.setId(taskManager.createSubTask(secondSubTask));
 
         SubTask updatedFirstSubTask = new SubTask("Name", "Description", Status.NEW, epicId,
                 null, duration);
@@ -1048,9 +1070,9 @@ public abstract class TaskManagerTest<T extends TaskManager> {
     void shouldBeAssertWhenTasksIsIntersectByTimeWhileCreate() {
         Task firstTask = new Task("Name1", "Description1", Status.NEW, startTime, duration);
         Task secondTask = new Task("Name2", "Description2", Status.NEW, startTime, duration);
-        taskManager.createTask(firstTask);
+        firstTask.setId(taskManager.createTask(firstTask));
         assertThrows(EntityIntersectionException.class, () -> {
-            taskManager.createTask(secondTask);
+            secondTask.setId(taskManager.createTask(secondTask));
         });
     }
 
@@ -1059,9 +1081,9 @@ public abstract class TaskManagerTest<T extends TaskManager> {
         int epicId = taskManager.createEpic(new Epic("Name", "Description"));
         SubTask firstSubTask = new SubTask("Name1", "Description1", Status.NEW, epicId, startTime, duration);
         SubTask secondSubTask = new SubTask("Name2", "Description2", Status.NEW, epicId, startTime, duration);
-        taskManager.createSubTask(firstSubTask);
+        firstSubTask.setId(taskManager.createSubTask(firstSubTask));
         assertThrows(EntityIntersectionException.class, () -> {
-            taskManager.createSubTask(secondSubTask);
+            secondSubTask.setId(taskManager.createSubTask(secondSubTask));
         });
     }
 
@@ -1069,8 +1091,8 @@ public abstract class TaskManagerTest<T extends TaskManager> {
     void shouldBeAssertWhenTasksIsIntersectByTimeWhileUpdate() {
         Task firstTask = new Task("Name", "Description", Status.NEW, startTime, duration);
         Task secondTask = new Task("Name", "Description", Status.NEW, startTime.plusMinutes(120), duration);
-        taskManager.createTask(firstTask);
-        taskManager.createTask(secondTask);
+        firstTask.setId(taskManager.createTask(firstTask));
+        secondTask.setId(taskManager.createTask(secondTask));
 
         firstTask.setStartTime(startTime.plusMinutes(120));
 
@@ -1084,8 +1106,8 @@ public abstract class TaskManagerTest<T extends TaskManager> {
         int epicId = taskManager.createEpic(new Epic("Name", "Description"));
         SubTask firstSubTask = new SubTask("Name", "Description", Status.NEW, epicId, startTime, duration);
         SubTask secondSubTask = new SubTask("Name", "Description", Status.NEW, epicId, startTime.plusMinutes(120), duration);
-        taskManager.createSubTask(firstSubTask);
-        taskManager.createSubTask(secondSubTask);
+        firstSubTask.setId(taskManager.createSubTask(firstSubTask));
+        secondSubTask.setId(taskManager.createSubTask(secondSubTask));
 
         firstSubTask.setStartTime(startTime.plusMinutes(120));
 
@@ -1098,10 +1120,10 @@ public abstract class TaskManagerTest<T extends TaskManager> {
     void shouldBeAssertWhenFirstTaskStartsBeforeSecondPartialIntersection() {
         Task firstTask = new Task("Name", "Description", Status.NEW, startTime, duration);
         Task secondTask = new Task("Name", "Description", Status.NEW, startTime.plusMinutes(30), duration);
-        taskManager.createTask(firstTask);
+        firstTask.setId(taskManager.createTask(firstTask));
 
         assertThrows(EntityIntersectionException.class, () -> {
-            taskManager.createTask(secondTask);
+            secondTask.setId(taskManager.createTask(secondTask));
         });
     }
 
@@ -1109,10 +1131,10 @@ public abstract class TaskManagerTest<T extends TaskManager> {
     void shouldBeAssertWhenSecondTaskStartsBeforeFirstPartialIntersection() {
         Task firstTask = new Task("First Task", "Description", Status.NEW, startTime.plusMinutes(30), duration);
         Task secondTask = new Task("Second Task", "Description", Status.NEW, startTime, duration);
-        taskManager.createTask(firstTask);
+        firstTask.setId(taskManager.createTask(firstTask));
 
         assertThrows(EntityIntersectionException.class, () -> {
-            taskManager.createTask(secondTask);
+            secondTask.setId(taskManager.createTask(secondTask));
         });
     }
 
@@ -1120,10 +1142,482 @@ public abstract class TaskManagerTest<T extends TaskManager> {
     void shouldBeAssertWhenOneTaskIsCompletelyInsideAnother() {
         Task firstTask = new Task("First Task", "Description", Status.NEW, startTime, duration);
         Task secondTask = new Task("Second Task", "Description", Status.NEW, startTime.plusMinutes(10), Duration.ofMinutes(10));
-        taskManager.createTask(firstTask);
+        firstTask.setId(taskManager.createTask(firstTask));
 
         assertThrows(EntityIntersectionException.class, () -> {
-            taskManager.createTask(secondTask);
+            secondTask.setId(taskManager.createTask(secondTask));
+        });
+    }
+
+    @Test
+    void entitiesFromManagerShouldBeReadOnly() {
+        int taskId = taskManager.createTask(new Task("Name", "Description", Status.NEW, startTime, duration));
+        int epicId = taskManager.createEpic(new Epic("Name", "Description"));
+
+        Task taskFromManager = taskManager.getTask(taskId);
+        Epic epicFromManager = taskManager.getEpic(epicId);
+
+        assertThrows(UnsupportedOperationException.class, () -> taskFromManager.setStatus(Status.DONE),
+                "Задачу из менеджера нельзя изменить напрямую");
+        assertThrows(UnsupportedOperationException.class, () -> epicFromManager.addSubTaskId(100),
+                "Эпик из менеджера нельзя изменить напрямую");
+    }
+
+    @Test
+    void updateShouldReplaceSnapshotWithoutChangingPreviousOne() {
+        int epicId = taskManager.createEpic(new Epic("Name", "Description"));
+        Epic epicBeforeUpdate = taskManager.getEpic(epicId);
+
+        Epic updatedEpic = epicBeforeUpdate.copy();
+        updatedEpic.setName("Updated name");
+        taskManager.updateEpic(updatedEpic);
+
+        assertEquals("Name", epicBeforeUpdate.getName(), "Ранее полученный эпик не меняется после обновления");
+        assertEquals("Updated name", taskManager.getEpic(epicId).getName(), "Менеджер возвращает новую версию эпика");
+    }
+
+    @Test
+    void concurrentReaderShouldSeeOnlyCompleteSnapshots() throws InterruptedException {
+        int taskId = taskManager.createTask(new Task("Name 0", "Description 0", Status.NEW, startTime, duration));
+        AtomicBoolean isUpdating = new AtomicBoolean(true);
+        AtomicReference<String> tornSnapshot = new AtomicReference<>();
+        Thread reader = new Thread(() -> {
+            while (isUpdating.get() && tornSnapshot.get() == null) {
+                for (Task taskFromManager : taskManager.getTasks()) {
+                    String version = taskFromManager.getName().substring("Name ".length());
+                    if (!taskFromManager.isReadOnly()
+                            || !taskFromManager.getDescription().equals("Description " + version)) {
+                        tornSnapshot.set(taskFromManager.toString());
+                    }
+                }
+            }
         });
+        reader.start();
+
+        for (int i = 1; i <= 200; i++) {
+            Task updatedTask = taskManager.getTasks().getFirst().copy();
+            updatedTask.setName("Name " + i);
+            updatedTask.setDescription("Description " + i);
+            taskManager.updateTask(updatedTask);
+        }
+        isUpdating.set(false);
+        reader.join();
+
+        assertNull(tornSnapshot.get(), "Читатель не должен видеть частично обновлённую задачу");
+        assertEquals("Name 200", taskManager.getTasks().getFirst().getName(), "Менеджер хранит последнюю версию задачи");
+        assertEquals(taskId, taskManager.getTasks().getFirst().getId(), "Id задачи не меняется при обновлении");
+    }
+
+    @Test
+    void concurrentIndexReadsShouldNotFailWhileWriting() throws InterruptedException {
+        AtomicBoolean isWriting = new AtomicBoolean(true);
+        AtomicReference<Throwable> readerError = new AtomicReference<>();
+        Thread reader = new Thread(() -> {
+            try {
+                while (isWriting.get()) {
+                    taskManager.getTasksByStatus(Status.NEW);
+                    taskManager.suggestTasks("name", 10);
+                    taskManager.search("description", 0, 10);
+                    taskManager.getHistory();
+                }
+            } catch (Throwable e) {
+                readerError.set(e);
+            }
+        });
+        reader.start();
+
+        for (int i = 0; i < 200; i++) {
+            int taskId = taskManager.createTask(new Task("Name " + i, "Description " + i, Status.NEW,
+                    startTime.plusMinutes(i * 120L), duration));
+            taskManager.getTask(taskId);
+            if (i % 2 == 0) {
+                taskManager.deleteTask(taskId);
+            }
+        }
+        isWriting.set(false);
+        reader.join();
+
+        assertNull(readerError.get(), "Чтение индексов не должно падать при параллельной записи");
+        assertEquals(100, taskManager.getTasksByStatus(Status.NEW).size(), "Индекс статусов содержит оставшиеся задачи");
+    }
+
+    @Test
+    void changingCreatedTaskShouldNotChangeTaskInManager() {
+        Task task = new Task("Name", "Description", Status.NEW, startTime, duration);
+        int taskId = taskManager.createTask(task);
+
+        task.setStatus(Status.DONE);
+
+        assertEquals(Status.NEW, taskManager.getTask(taskId).getStatus(),
+                "Менеджер хранит собственную копию задачи");
+    }
+
+    @Test
+    void shouldFindFreeSlotBetweenTasks() {
+        taskManager.createTask(new Task("Name", "Description", Status.NEW, startTime, duration));
+        taskManager.createTask(new Task("Name", "Description", Status.NEW, startTime.plusMinutes(90), duration));
+        taskManager.createTask(new Task("Name", "Description", Status.NEW, startTime.plusMinutes(240), duration));
+
+        Optional<TimeSlot> freeSlot = taskManager.findFreeSlot(Duration.ofMinutes(60), startTime, startTime.plusDays(1));
+
+        assertTrue(freeSlot.isPresent(), "Свободный промежуток должен быть найден");
+        assertEquals(startTime.plusMinutes(151), freeSlot.get().getStartTime(),
+                "Промежуток начинается после окончания задачи, за которой есть достаточно места");
+        assertEquals(startTime.plusMinutes(211), freeSlot.get().getEndTime());
+
+        Task taskInFreeSlot = new Task("Name", "Description", Status.NEW, freeSlot.get().getStartTime(), Duration.ofMinutes(60));
+        assertDoesNotThrow(() -> taskManager.createTask(taskInFreeSlot),
+                "Задача в найденном промежутке не пересекается с существующими");
+    }
+
+    @Test
+    void shouldNotFindFreeSlotWhenWindowIsBusy() {
+        taskManager.createTask(new Task("Name", "Description", Status.NEW, startTime, duration));
+
+        Optional<TimeSlot> freeSlot = taskManager.findFreeSlot(Duration.ofMinutes(30), startTime.plusMinutes(10),
+                startTime.plusMinutes(80));
+
+        assertTrue(freeSlot.isEmpty(), "В занятом окне свободного промежутка нет");
+    }
+
+    @Test
+    void shouldFindOneFreeSlotPerGap() {
+        taskManager.createTask(new Task("Name", "Description", Status.NEW, startTime.plusMinutes(120), duration));
+
+        List<TimeSlot> freeSlots = taskManager.findFreeSlots(Duration.ofMinutes(30), startTime,
+                startTime.plusMinutes(300), 10);
+
+        List<TimeSlot> expectedFreeSlots = List.of(
+                new TimeSlot(startTime, startTime.plusMinutes(30)),
+                new TimeSlot(startTime.plusMinutes(181), startTime.plusMinutes(211))
+        );
+        assertEquals(expectedFreeSlots, freeSlots);
+    }
+
+    @Test
+    void shouldReturnPrioritizedTasksInTimeRange() {
+        Task firstTask = new Task("Name1", "Description", Status.NEW, startTime, duration);
+        Task secondTask = new Task("Name2", "Description", Status.NEW, startTime.plusMinutes(120), duration);
+        Task thirdTask = new Task("Name3", "Description", Status.NEW, startTime.plusMinutes(240), duration);
+        firstTask.setId(taskManager.createTask(firstTask));
+        secondTask.setId(taskManager.createTask(secondTask));
+        thirdTask.setId(taskManager.createTask(thirdTask));
+
+        List<Task> tasksInRange = taskManager.getPrioritizedTasks(startTime.plusMinutes(30), startTime.plusMinutes(150));
+
+        assertEquals(List.of(firstTask, secondTask), tasksInRange,
+                "В диапазон попадают задачи, пересекающиеся с ним по времени");
+        assertEquals(List.of(thirdTask), taskManager.getPrioritizedTasks(startTime.plusMinutes(200), null),
+                "Диапазон без верхней границы содержит все задачи после начала");
+        assertEquals(taskManager.getPrioritizedTasks(), taskManager.getPrioritizedTasks(null, null),
+                "Без границ возвращаются все задачи");
+    }
+
+    @Test
+    void shouldReturnLimitedUpcomingTasks() {
+        Task firstTask = new Task("Name1", "Description", Status.NEW, startTime, duration);
+        Task secondTask = new Task("Name2", "Description", Status.NEW, startTime.plusMinutes(120), duration);
+        Task thirdTask = new Task("Name3", "Description", Status.NEW, startTime.plusMinutes(240), duration);
+        thirdTask.setId(taskManager.createTask(thirdTask));
+        firstTask.setId(taskManager.createTask(firstTask));
+        secondTask.setId(taskManager.createTask(secondTask));
+
+        assertEquals(List.of(secondTask), taskManager.getUpcoming(startTime.plusMinutes(1), 1),
+                "Возвращается не больше limit задач, начинающихся после указанного времени");
+        assertEquals(List.of(secondTask, thirdTask), taskManager.getUpcoming(startTime.plusMinutes(1), 10));
+        assertTrue(taskManager.getUpcoming(startTime.plusMinutes(300), 10).isEmpty());
+    }
+
+    @Test
+    void shouldFilterEntitiesByStatus() {
+        int firstTaskId = taskManager.createTask(new Task("Name", "Description", Status.NEW, startTime, duration));
+        int secondTaskId = taskManager.createTask(new Task("Name", "Description", Status.DONE, startTime.plusMinutes(120), duration));
+        int epicId = taskManager.createEpic(new Epic("Name", "Description"));
+        int subTaskId = taskManager.createSubTask(new SubTask("Name", "Description", Status.DONE, epicId,
+                startTime.plusMinutes(240), duration));
+
+        assertEquals(List.of(firstTaskId), taskManager.getTasksByStatus(Status.NEW).stream().map(Task::getId).toList());
+        assertEquals(List.of(secondTaskId), taskManager.getTasksByStatus(Status.DONE).stream().map(Task::getId).toList());
+        assertEquals(List.of(epicId), taskManager.getEpicsByStatus(Status.DONE).stream().map(Task::getId).toList(),
+                "Индекс статусов эпика обновляется вместе с подзадачами");
+        assertEquals(List.of(subTaskId), taskManager.getSubTasksByStatus(Status.DONE).stream().map(Task::getId).toList());
+
+        Task updatedTask = taskManager.getTask(firstTaskId).copy();
+        updatedTask.setStatus(Status.IN_PROGRESS);
+        taskManager.updateTask(updatedTask);
+        taskManager.deleteSubTask(subTaskId);
+
+        assertTrue(taskManager.getTasksByStatus(Status.NEW).isEmpty(), "Обновлённая задача удаляется из старого статуса");
+        assertEquals(List.of(firstTaskId), taskManager.getTasksByStatus(Status.IN_PROGRESS).stream().map(Task::getId).toList());
+        assertTrue(taskManager.getSubTasksByStatus(Status.DONE).isEmpty(), "Удалённая подзадача удаляется из индекса");
+        assertEquals(List.of(epicId), taskManager.getEpicsByStatus(Status.NEW).stream().map(Task::getId).toList());
+    }
+
+    @Test
+    void shouldSearchByNameAndDescription() {
+        int firstTaskId = taskManager.createTask(new Task("Купить молоко", "Зайти в магазин", Status.NEW, startTime, duration));
+        int secondTaskId = taskManager.createTask(new Task("Позвонить маме", "Обсудить покупку молока", Status.NEW,
+                startTime.plusMinutes(120), duration));
+        int epicId = taskManager.createEpic(new Epic("Переезд", "Собрать вещи и ЗАКАЗАТЬ машину"));
+
+        assertEquals(List.of(firstTaskId), taskManager.search("МОЛОКО", 0, 10).stream().map(Task::getId).toList(),
+                "Поиск должен быть регистронезависимым");
+        assertEquals(List.of(epicId), taskManager.search("заказать", 0, 10).stream().map(Task::getId).toList());
+        assertEquals(List.of(firstTaskId, secondTaskId),
+                taskManager.search("молоко молока", 0, 10).stream().map(Task::getId).toList(),
+                "Совпадение в названии должно ранжироваться выше совпадения в описании");
+        assertEquals(List.of(secondTaskId), taskManager.search("молоко молока", 1, 10).stream().map(Task::getId).toList());
+
+        Task updatedTask = taskManager.getTask(firstTaskId).copy();
+        updatedTask.setName("Купить хлеб");
+        taskManager.updateTask(updatedTask);
+        taskManager.deleteEpic(epicId);
+
+        assertTrue(taskManager.search("молоко", 0, 10).isEmpty(), "Индекс должен обновляться при изменении задачи");
+        assertEquals(List.of(firstTaskId), taskManager.search("хлеб", 0, 10).stream().map(Task::getId).toList());
+        assertTrue(taskManager.search("заказать", 0, 10).isEmpty(), "Индекс должен обновляться при удалении эпика");
+    }
+
+    @Test
+    void shouldSuggestTasksByNamePrefix() {
+        int firstTaskId = taskManager.createTask(new Task("Позвонить маме", "Description", Status.NEW, startTime, duration));
+        int secondTaskId = taskManager.createTask(new Task("Покупки", "Description", Status.NEW,
+                startTime.plusMinutes(120), duration));
+        int thirdTaskId = taskManager.createTask(new Task("Почта", "Description", Status.NEW,
+                startTime.plusMinutes(240), duration));
+        taskManager.createEpic(new Epic("Поездка", "Description"));
+
+        assertEquals(List.of(firstTaskId, secondTaskId, thirdTaskId), taskManager.suggestTasks("ПО", 10).stream()
+                .map(Task::getId).toList(), "Подсказки должны быть отсортированы по названию без учёта регистра");
+        assertEquals(List.of(firstTaskId), taskManager.suggestTasks("по", 1).stream().map(Task::getId).toList());
+        assertTrue(taskManager.suggestTasks("Поездка", 10).isEmpty(), "В подсказках должны быть только задачи");
+
+        Task updatedTask = taskManager.getTask(secondTaskId).copy();
+        updatedTask.setName("Уборка");
+        taskManager.updateTask(updatedTask);
+        taskManager.deleteTask(thirdTaskId);
+
+        assertTrue(taskManager.suggestTasks("пок", 10).isEmpty(), "Индекс должен обновляться при изменении задачи");
+        assertEquals(List.of(secondTaskId), taskManager.suggestTasks("убо", 10).stream().map(Task::getId).toList());
+    }
+
+    @Test
+    void applyBatchShouldCreateUpdateAndDeleteTasks() {
+        int firstTaskId = taskManager.createTask(new Task("Name1", "Description", Status.NEW, startTime, duration));
+        int secondTaskId = taskManager.createTask(new Task("Name2", "Description", Status.NEW,
+                startTime.plusMinutes(120), duration));
+        Task updatedTask = taskManager.getTask(firstTaskId).copy();
+        updatedTask.setStartTime(startTime.plusMinutes(120));
+        updatedTask.setStatus(Status.DONE);
+
+        List<Integer> ids = taskManager.applyBatch(List.of(
+                Mutation.delete(Type.TASK, secondTaskId),
+                Mutation.update(updatedTask),
+                Mutation.create(new Task("Name3", "Description", Status.NEW, startTime, duration))
+        ));
+
+        assertEquals(List.of(secondTaskId, firstTaskId, secondTaskId + 1), ids, "Должны вернуться id изменённых задач");
+        assertEquals(List.of(secondTaskId + 1, firstTaskId),
+                taskManager.getPrioritizedTasks().stream().map(Task::getId).toList(),
+                "Задача может занять время удалённой в том же пакете задачи");
+        assertEquals(Status.DONE, taskManager.getTask(firstTaskId).getStatus());
+        assertThrows(EntityNotFoundException.class, () -> taskManager.getTask(secondTaskId));
+    }
+
+    @Test
+    void applyBatchShouldRejectIntersectingTasksWithoutChanges() {
+        int existingTaskId = taskManager.createTask(new Task("Name", "Description", Status.NEW,
+                startTime.plusMinutes(240), duration));
+
+        assertThrows(EntityIntersectionException.class, () -> taskManager.applyBatch(List.of(
+                Mutation.create(new Task("Name1", "Description", Status.NEW, startTime, duration)),
+                Mutation.create(new Task("Name2", "Description", Status.NEW, startTime.plusMinutes(30), duration))
+        )), "Задачи пакета не должны пересекаться друг с другом");
+        assertThrows(EntityIntersectionException.class, () -> taskManager.applyBatch(List.of(
+                Mutation.create(new Task("Name1", "Description", Status.NEW, startTime, duration)),
+                Mutation.create(new Task("Name2", "Description", Status.NEW, startTime.plusMinutes(270), duration))
+        )), "Задачи пакета не должны пересекаться с существующими задачами");
+        assertThrows(EntityNotFoundException.class, () -> taskManager.applyBatch(List.of(
+                Mutation.create(new Task("Name1", "Description", Status.NEW, startTime, duration)),
+                Mutation.delete(Type.TASK, existingTaskId + 100)
+        )));
+
+        assertEquals(List.of(existingTaskId), taskManager.getTasks().stream().map(Task::getId).toList(),
+                "Пакет с ошибкой не должен применяться частично");
+    }
+
+    @Test
+    void applyBatchShouldRecalculateEpicOnce() {
+        int epicId = taskManager.createEpic(new Epic("Name", "Description"));
+        int subTaskId = taskManager.createSubTask(new SubTask("Name", "Description", Status.NEW, epicId, startTime, duration));
+
+        List<Integer> ids = taskManager.applyBatch(List.of(
+                Mutation.delete(Type.SUBTASK, subTaskId),
+                Mutation.create(new SubTask("Name1", "Description", Status.DONE, epicId,
+                        startTime.plusMinutes(120), duration)),
+                Mutation.create(new SubTask("Name2", "Description", Status.DONE, epicId,
+                        startTime.plusMinutes(240), duration))
+        ));
+
+        Epic epic = taskManager.getEpic(epicId);
+        assertEquals(ids.subList(1, 3), epic.getSubTaskIdList(), "В эпике должны остаться только новые подзадачи");
+        assertEquals(Status.DONE, epic.getStatus(), "Статус эпика должен пересчитываться после пакета");
+        assertEquals(startTime.plusMinutes(120), epic.getStartTime());
+        assertEquals(startTime.plusMinutes(300), epic.getEndTime());
+    }
+
+    @Test
+    void setStatusForEpicSubTasksShouldUpdateAllSubTasksAndEpic() {
+        int epicId = taskManager.createEpic(new Epic("Name", "Description"));
+        int firstSubTaskId = taskManager.createSubTask(new SubTask("Name1", "Description", Status.NEW, epicId,
+                startTime, duration));
+        int secondSubTaskId = taskManager.createSubTask(new SubTask("Name2", "Description", Status.IN_PROGRESS, epicId,
+                startTime.plusMinutes(120), duration));
+
+        taskManager.setStatusForEpicSubTasks(epicId, Status.DONE);
+
+        assertEquals(Status.DONE, taskManager.getSubTask(firstSubTaskId).getStatus());
+        assertEquals(Status.DONE, taskManager.getSubTask(secondSubTaskId).getStatus());
+        assertEquals(Status.DONE, taskManager.getEpic(epicId).getStatus(), "Статус эпика должен пересчитываться");
+        assertEquals(List.of(firstSubTaskId, secondSubTaskId),
+                taskManager.getSubTasksByStatus(Status.DONE).stream().map(Task::getId).toList());
+        assertEquals(startTime, taskManager.getEpic(epicId).getStartTime(), "Время эпика не должно меняться");
+        assertThrows(EntityNotFoundException.class, () -> taskManager.setStatusForEpicSubTasks(epicId + 100, Status.DONE));
+    }
+
+    @Test
+    void shouldReturnPageOfSubTasksByEpic() {
+        int epicId = taskManager.createEpic(new Epic("Name", "Description"));
+        List<Integer> subTaskIds = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            subTaskIds.add(taskManager.createSubTask(new SubTask("Name" + i, "Description", Status.NEW, epicId,
+                    startTime.plusMinutes(120L * i), duration)));
+        }
+
+        assertEquals(subTaskIds.subList(1, 3), taskManager.getSubTasksByEpic(epicId, 1, 2).stream()
+                .map(Task::getId).toList(), "Должна вернуться страница подзадач в порядке эпика");
+        assertEquals(subTaskIds.subList(3, 5), taskManager.getSubTasksByEpic(epicId, 3, 10).stream()
+                .map(Task::getId).toList());
+        assertTrue(taskManager.getSubTasksByEpic(epicId, 10, 2).isEmpty());
+        assertThrows(EntityNotFoundException.class, () -> taskManager.getSubTasksByEpic(epicId + 100, 0, 2));
+    }
+
+    @Test
+    void getByIdsShouldSkipUnknownIdsAndRecordHistoryOnlyOnRequest() {
+        int firstTaskId = taskManager.createTask(new Task("Name1", "Description", Status.NEW, startTime, duration));
+        int secondTaskId = taskManager.createTask(new Task("Name2", "Description", Status.NEW,
+                startTime.plusMinutes(120), duration));
+        int epicId = taskManager.createEpic(new Epic("Name", "Description"));
+
+        assertEquals(List.of(secondTaskId, firstTaskId),
+                taskManager.getTasksByIds(List.of(secondTaskId, epicId, firstTaskId), false).stream()
+                        .map(Task::getId).toList(), "Задачи должны возвращаться в порядке запроса без неизвестных id");
+        assertTrue(taskManager.getHistory().isEmpty(), "Без флага просмотр не должен попадать в историю");
+
+        assertEquals(List.of(epicId), taskManager.getEpicsByIds(List.of(epicId), true).stream()
+                .map(Task::getId).toList());
+        assertTrue(taskManager.getSubTasksByIds(List.of(firstTaskId), true).isEmpty());
+        assertEquals(List.of(epicId), taskManager.getHistory().stream().map(Task::getId).toList(),
+                "С флагом просмотр должен попадать в историю");
+    }
+
+    @Test
+    void tasksPagesShouldStayStableAfterInsert() {
+        List<Integer> taskIds = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            taskIds.add(taskManager.createTask(new Task("Name" + i, "Description", Status.NEW,
+                    startTime.plusMinutes(120L * i), duration)));
+        }
+
+        Page<Task> firstPage = taskManager.getTasksPage(null, 2);
+        int newTaskId = taskManager.createTask(new Task("New", "Description", Status.NEW,
+                startTime.minusMinutes(120), duration));
+        Page<Task> secondPage = taskManager.getTasksPage(firstPage.getNextCursor(), 2);
+        Page<Task> lastPage = taskManager.getTasksPage(secondPage.getNextCursor(), 10);
+
+        assertEquals(taskIds.subList(0, 2), firstPage.getItems().stream().map(Task::getId).toList());
+        assertEquals(taskIds.subList(2, 4), secondPage.getItems().stream().map(Task::getId).toList());
+        assertEquals(List.of(taskIds.get(4), newTaskId), lastPage.getItems().stream().map(Task::getId).toList(),
+                "Новая задача должна попасть в конец обхода, не сдвигая страницы");
+        assertFalse(lastPage.hasNext(), "У последней страницы не должно быть курсора");
+    }
+
+    @Test
+    void prioritizedAndHistoryPagesShouldFollowManagerOrder() {
+        int firstTaskId = taskManager.createTask(new Task("Name1", "Description", Status.NEW,
+                startTime.plusMinutes(240), duration));
+        int secondTaskId = taskManager.createTask(new Task("Name2", "Description", Status.NEW, startTime, duration));
+        int thirdTaskId = taskManager.createTask(new Task("Name3", "Description", Status.NEW,
+                startTime.plusMinutes(120), duration));
+        taskManager.getTask(firstTaskId);
+        taskManager.getTask(secondTaskId);
+        taskManager.getTask(thirdTaskId);
+
+        Page<Task> prioritizedPage = taskManager.getPrioritizedTasksPage(null, 2);
+        assertEquals(List.of(secondTaskId, thirdTaskId), prioritizedPage.getItems().stream().map(Task::getId).toList());
+        assertEquals(List.of(firstTaskId), taskManager.getPrioritizedTasksPage(prioritizedPage.getNextCursor(), 2)
+                .getItems().stream().map(Task::getId).toList());
+
+        Page<Task> historyPage = taskManager.getHistoryPage(null, 1);
+        taskManager.getTask(firstTaskId);
+        assertEquals(List.of(firstTaskId), historyPage.getItems().stream().map(Task::getId).toList());
+        assertEquals(List.of(secondTaskId, thirdTaskId, firstTaskId),
+                taskManager.getHistoryPage(historyPage.getNextCursor(), 10).getItems().stream().map(Task::getId).toList(),
+                "Повторно просмотренная задача должна оказаться в конце истории");
+    }
+
+    @Test
+    void versionsShouldGrowOnlyForChangedEntitiesAndCollections() {
+        int taskId = taskManager.createTask(new Task("Name", "Description", Status.NEW, startTime, duration));
+        int epicId = taskManager.createEpic(new Epic("Name", "Description"));
+        long taskVersion = taskManager.getEntityVersion(taskId);
+        long epicVersion = taskManager.getEntityVersion(epicId);
+        long tasksVersion = taskManager.getVersion(Type.TASK);
+        long historyVersion = taskManager.getHistoryVersion();
+
+        taskManager.getTask(taskId);
+        assertEquals(taskVersion, taskManager.getEntityVersion(taskId), "Просмотр не должен менять версию задачи");
+        assertTrue(taskManager.getHistoryVersion() > historyVersion, "Просмотр должен менять версию истории");
+
+        taskManager.createSubTask(new SubTask("Name", "Description", Status.DONE, epicId,
+                startTime.plusMinutes(120), duration));
+        assertEquals(tasksVersion, taskManager.getVersion(Type.TASK), "Подзадача не должна менять версию задач");
+        assertTrue(taskManager.getEntityVersion(epicId) > epicVersion, "Пересчёт эпика должен менять его версию");
+
+        Task updatedTask = new Task("New Name", "Description", Status.DONE, startTime, duration);
+        updatedTask.setId(taskId);
+        taskManager.updateTask(updatedTask);
+        assertTrue(taskManager.getEntityVersion(taskId) > taskVersion, "Изменение должно менять версию задачи");
+        assertTrue(taskManager.getVersion(Type.TASK) > tasksVersion, "Изменение должно менять версию задач");
+
+        long updatedTasksVersion = taskManager.getVersion(Type.TASK);
+        taskManager.deleteTask(taskId);
+        assertTrue(taskManager.getVersion(Type.TASK) > updatedTasksVersion, "Удаление должно менять версию задач");
+    }
+
+    @Test
+    void changeLogShouldReturnDeltasAndRequireResyncAfterTruncation() {
+        long since = taskManager.getChangeSequence();
+        int taskId = taskManager.createTask(new Task("Name", "Description", Status.NEW, startTime, duration));
+        int epicId = taskManager.createEpic(new Epic("Name", "Description"));
+
+        List<Change> changes = taskManager.getChangesSince(since).orElseThrow();
+        assertEquals(List.of(taskId, epicId), changes.stream().map(Change::getId).toList());
+        assertEquals(List.of(Change.Action.CREATED, Change.Action.CREATED),
+                changes.stream().map(Change::getAction).toList());
+
+        long afterCreate = taskManager.getChangeSequence();
+        taskManager.deleteTask(taskId);
+        assertEquals(List.of(Change.Action.DELETED), taskManager.getChangesSince(afterCreate).orElseThrow().stream()
+                .map(Change::getAction).toList());
+        assertTrue(taskManager.getChangesSince(taskManager.getChangeSequence()).orElseThrow().isEmpty());
+
+        for (int i = 0; i < 1000; i++) {
+            Epic updatedEpic = new Epic("Name" + i, "Description");
+            updatedEpic.setId(epicId);
+            taskManager.updateEpic(updatedEpic);
+        }
+        assertTrue(taskManager.getChangesSince(since).isEmpty(), "После усечения журнала нужна полная синхронизация");
+        assertTrue(taskManager.getChangesSince(afterCreate).isEmpty());
     }
-}
\ No newline at end of file
+}
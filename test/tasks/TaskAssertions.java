@@ -0,0 +1,51 @@
+package tasks;
+
+import java.util.List;
+import java.util.Objects;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public final class TaskAssertions {
+
+    private TaskAssertions() {
+
+    }
+
+    public static boolean isDeepEqual(Task first, Task second) {
+        if (first == second) {
+            return true;
+        }
+        if (first == null || second == null || first.getClass() != second.getClass()) {
+            return false;
+        }
+        boolean isEpicIdEqual = !(first instanceof SubTask firstSubTask)
+                || firstSubTask.getEpicId() == ((SubTask) second).getEpicId();
+        return first.getId() == second.getId()
+                && Objects.equals(first.getName(), second.getName())
+                && Objects.equals(first.getDescription(), second.getDescription())
+                && first.getStatus() == second.getStatus()
+                && Objects.equals(first.getStartTime(), second.getStartTime())
+                && Objects.equals(first.getDuration(), second.getDuration())
+                && isEpicIdEqual;
+    }
+
+    public static void assertTaskEquals(Task expected, Task actual, String message) {
+        assertTrue(isDeepEqual(expected, actual), message + " ==> expected: <" + expected + "> but was: <" + actual + ">");
+    }
+
+    public static void assertTaskEquals(Task expected, Task actual) {
+        assertTaskEquals(expected, actual, "Задачи должны совпадать по всем полям");
+    }
+
+    public static void assertTaskListEquals(List<? extends Task> expected, List<? extends Task> actual, String message) {
+        assertEquals(expected.size(), actual.size(), message);
+        for (int i = 0; i < expected.size(); i++) {
+            assertTaskEquals(expected.get(i), actual.get(i), message);
+        }
+    }
+
+    public static void assertTaskListEquals(List<? extends Task> expected, List<? extends Task> actual) {
+        assertTaskListEquals(expected, actual, "Списки задач должны совпадать по всем полям");
+    }
+}
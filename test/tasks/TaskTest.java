@@ -0,0 +1,53 @@
+package tasks;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TaskTest {
+
+    @Test
+    void endTimeShouldBeRecalculatedAfterTimeChange() {
+        LocalDateTime startTime = LocalDateTime.parse("2025-03-04T10:00");
+        Task task = new Task("Name", "Description", Status.NEW, startTime, Duration.ofMinutes(30));
+
+        assertEquals(LocalDateTime.parse("2025-03-04T10:30"), task.getEndTime());
+
+        task.setDuration(Duration.ofHours(2));
+        assertEquals(LocalDateTime.parse("2025-03-04T12:00"), task.getEndTime());
+
+        task.setStartTime(null);
+        assertNull(task.getEndTime());
+        assertFalse(task.isScheduled());
+    }
+
+    @Test
+    void timeShouldBeStoredWithMillisecondPrecision() {
+        LocalDateTime startTime = LocalDateTime.parse("2023-12-19T14:30:45.123");
+        Task task = new Task("Name", "Description", Status.NEW, startTime, Duration.ofSeconds(90));
+
+        assertEquals(startTime, task.getStartTime());
+        assertEquals(Duration.ofSeconds(90), task.getDuration());
+        assertEquals(startTime.plusSeconds(90), task.getEndTime());
+        assertTrue(task.isScheduled());
+    }
+
+    @Test
+    void tasksWithSameIdShouldBeEqualAfterMutation() {
+        Task task = new Task("Name", "Description", Status.NEW, null, null);
+        task.setId(1);
+        Task sameTask = new Task("Other name", "Other description", Status.DONE, null, null);
+        sameTask.setId(1);
+        int hashCodeBeforeMutation = task.hashCode();
+
+        task.setName("Updated name");
+        task.setStatus(Status.IN_PROGRESS);
+
+        assertEquals(task, sameTask, "Задачи с одинаковым id равны");
+        assertEquals(hashCodeBeforeMutation, task.hashCode(), "hashCode не меняется при изменении полей");
+        assertFalse(TaskAssertions.isDeepEqual(task, sameTask), "Содержимое задач различается");
+    }
+}